@@ -84,7 +84,8 @@ public class CheCorsFilter implements Filter {
                                                          "Authorization," +
                                                          "Access-Control-Request-Method," +
                                                          "Access-Control-Request-Headers");
-            filterParams.put(PARAM_CORS_EXPOSED_HEADERS, "JAXRS-Body-Provided");
+            filterParams.put(PARAM_CORS_EXPOSED_HEADERS, "JAXRS-Body-Provided," +
+                                                         "X-Next-Page-Token");
             filterParams.put(PARAM_CORS_SUPPORT_CREDENTIALS, "true");
             // preflight cache is available for 10 minutes
             filterParams.put(PARAM_CORS_PREFLIGHT_MAXAGE, "10");
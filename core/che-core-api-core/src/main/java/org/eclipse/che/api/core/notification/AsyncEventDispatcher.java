@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers events to wrapped subscriber asynchronously. Events are put in bounded queue and delivered by tasks submitted to
+ * shared executor. At most one task per subscriber is running at any time, so events are delivered in order they were published.
+ * <p/>
+ * Event published by asynchronous subscriber, i.e. from delivery thread, never waits for space in queue, the oldest pending event
+ * is dropped instead whatever backpressure policy is. Otherwise all delivery threads may wait for queues which are drained only by
+ * the same threads.
+ */
+class AsyncEventDispatcher implements EventSubscriber<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventDispatcher.class);
+
+    /** Max number of events delivered by single task, after that task is re-submitted to let other subscribers get their events. */
+    private static final int MAX_EVENTS_PER_TASK = 64;
+    /** Set while current thread delivers events to any asynchronous subscriber. */
+    private static final ThreadLocal<Boolean> DELIVERING = ThreadLocal.withInitial(() -> false);
+
+    private final EventSubscriber<Object>     subscriber;
+    private final BackpressurePolicy          backpressure;
+    private final Executor                    executor;
+    private final BlockingQueue<PendingEvent> queue;
+    private final AtomicBoolean               scheduled;
+    private final AtomicLong                  delivered;
+    private final AtomicLong                  dropped;
+    private final AtomicLong                  totalLatencyNanos;
+    private final AtomicLong                  maxLatencyNanos;
+
+    @SuppressWarnings("unchecked")
+    AsyncEventDispatcher(EventSubscriber<?> subscriber, BackpressurePolicy backpressure, int queueCapacity, Executor executor) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException(String.format("Invalid queue capacity %d", queueCapacity));
+        }
+        this.subscriber = (EventSubscriber<Object>)subscriber;
+        this.backpressure = backpressure;
+        this.executor = executor;
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        scheduled = new AtomicBoolean();
+        delivered = new AtomicLong();
+        dropped = new AtomicLong();
+        totalLatencyNanos = new AtomicLong();
+        maxLatencyNanos = new AtomicLong();
+    }
+
+    EventSubscriber<?> getSubscriber() {
+        return subscriber;
+    }
+
+    @Override
+    public void onEvent(Object event) {
+        final PendingEvent pending = new PendingEvent(event);
+        try {
+            switch (backpressure) {
+                case DROP_OLDEST:
+                    offerDroppingOldest(pending);
+                    break;
+                case COALESCE:
+                    for (PendingEvent queued : queue) {
+                        if (queued.event.equals(event)) {
+                            dropped.incrementAndGet();
+                            return;
+                        }
+                    }
+                    put(pending);
+                    break;
+                default:
+                    put(pending);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.incrementAndGet();
+            LOG.warn("Interrupted while waiting for space in queue of {}, event {} is dropped", subscriber, event);
+            return;
+        }
+        schedule();
+    }
+
+    private void put(PendingEvent pending) throws InterruptedException {
+        if (DELIVERING.get()) {
+            if (!queue.offer(pending)) {
+                LOG.debug("Queue of {} is full, event {} published from delivery thread drops the oldest event", subscriber, pending.event);
+                offerDroppingOldest(pending);
+            }
+        } else {
+            queue.put(pending);
+        }
+    }
+
+    private void offerDroppingOldest(PendingEvent pending) {
+        while (!queue.offer(pending)) {
+            if (queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    AsyncSubscriberStats getStats() {
+        final long deliveredEvents = delivered.get();
+        return new AsyncSubscriberStats(subscriber.toString(),
+                                        queue.size(),
+                                        deliveredEvents,
+                                        dropped.get(),
+                                        deliveredEvents == 0 ? 0 : totalLatencyNanos.get() / 1e6 / deliveredEvents,
+                                        maxLatencyNanos.get() / 1e6);
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                LOG.warn("Unable deliver events to {}, event service is stopped", subscriber);
+            }
+        }
+    }
+
+    private void deliver() {
+        DELIVERING.set(true);
+        try {
+            PendingEvent pending;
+            for (int i = 0; i < MAX_EVENTS_PER_TASK && (pending = queue.poll()) != null; i++) {
+                final long latency = System.nanoTime() - pending.publishedNanos;
+                totalLatencyNanos.addAndGet(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                delivered.incrementAndGet();
+                try {
+                    LOG.debug("Publish event {} for {}", pending.event, subscriber);
+                    subscriber.onEvent(pending.event);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+        } finally {
+            DELIVERING.set(false);
+            scheduled.set(false);
+        }
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncEventDispatcher{" +
+               "subscriber=" + subscriber +
+               ", backpressure=" + backpressure +
+               '}';
+    }
+
+    private static class PendingEvent {
+        final Object event;
+        final long   publishedNanos;
+
+        PendingEvent(Object event) {
+            this.event = event;
+            this.publishedNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks {@link EventSubscriber} which must receive events asynchronously. Events for such subscriber are put in its own bounded
+ * queue and delivered by shared pool of threads of {@link EventService}, so publisher is not blocked by slow subscriber. Events
+ * are delivered to subscriber one by one in order they were published.
+ *
+ * @see EventService#subscribe(EventSubscriber, BackpressurePolicy, int)
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface AsyncSubscriber {
+    /** Max number of events that wait for delivery to subscriber. */
+    int queueCapacity() default 1024;
+
+    /** What to do when queue of subscriber is full. */
+    BackpressurePolicy backpressure() default BackpressurePolicy.BLOCK;
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Snapshot of statistics of asynchronous delivery of events to one subscriber.
+ *
+ * @see EventService#getAsyncSubscriberStats()
+ */
+public class AsyncSubscriberStats {
+    private final String subscriber;
+    private final int    queueDepth;
+    private final long   deliveredEvents;
+    private final long   droppedEvents;
+    private final double averageLatencyMillis;
+    private final double maxLatencyMillis;
+
+    public AsyncSubscriberStats(String subscriber,
+                                int queueDepth,
+                                long deliveredEvents,
+                                long droppedEvents,
+                                double averageLatencyMillis,
+                                double maxLatencyMillis) {
+        this.subscriber = subscriber;
+        this.queueDepth = queueDepth;
+        this.deliveredEvents = deliveredEvents;
+        this.droppedEvents = droppedEvents;
+        this.averageLatencyMillis = averageLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+    }
+
+    /** String representation of subscriber. */
+    public String getSubscriber() {
+        return subscriber;
+    }
+
+    /** Number of events waiting for delivery. */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** Number of events passed to subscriber. */
+    public long getDeliveredEvents() {
+        return deliveredEvents;
+    }
+
+    /** Number of events that were never delivered because of {@link BackpressurePolicy}, either dropped or coalesced. */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    /** Average time between publishing of event and start of its processing by subscriber. */
+    public double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    /** Max time between publishing of event and start of its processing by subscriber. */
+    public double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncSubscriberStats{" +
+               "subscriber='" + subscriber + '\'' +
+               ", queueDepth=" + queueDepth +
+               ", deliveredEvents=" + deliveredEvents +
+               ", droppedEvents=" + droppedEvents +
+               ", averageLatencyMillis=" + averageLatencyMillis +
+               ", maxLatencyMillis=" + maxLatencyMillis +
+               '}';
+    }
+}
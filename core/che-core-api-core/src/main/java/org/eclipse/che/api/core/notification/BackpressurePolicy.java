@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Defines what happens with event published for asynchronous subscriber when its queue of pending events is full.
+ *
+ * @see AsyncSubscriber
+ */
+public enum BackpressurePolicy {
+    /**
+     * Publisher is blocked until there is space in queue. Publisher which is itself asynchronous subscriber isn't blocked, the oldest
+     * pending event is removed as with {@link #DROP_OLDEST}.
+     */
+    BLOCK,
+    /** The oldest pending event is removed from queue to make space for the new one. */
+    DROP_OLDEST,
+    /**
+     * Event is not added to queue if an equal event is already waiting for delivery, otherwise publisher is blocked until there is
+     * space in queue, see {@link #BLOCK}. Suitable for events that notify about state change when subscriber is interested only in
+     * the fact of change.
+     */
+    COALESCE
+}
@@ -13,20 +13,27 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +47,9 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * By default events are delivered to subscribers synchronously in the thread that publishes event. Subscriber annotated with
+ * {@link AsyncSubscriber} or subscribed with {@link #subscribe(EventSubscriber, BackpressurePolicy, int)} receives events
+ * asynchronously from shared pool of threads.
  *
  * @author andrew00x
  */
@@ -51,12 +61,18 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private static final int ASYNC_DELIVERY_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]                 typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>           subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, AsyncEventDispatcher> asyncDispatchers;
+
+    private volatile ExecutorService asyncExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        asyncDispatchers = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -134,7 +150,51 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe event listener which receives events asynchronously, publisher of event doesn't wait while the subscriber
+     * processes event. Events are delivered in order they were published. The event to subscribe to is inferred by checking the
+     * generic type arguments of the given subscriber.
+     *
+     * @param subscriber
+     *         event subscriber
+     * @param backpressure
+     *         what to do if subscriber doesn't keep up with published events and its queue is full
+     * @param queueCapacity
+     *         max number of events waiting for delivery to subscriber
+     * @see AsyncSubscriber
+     */
+    public void subscribe(EventSubscriber<?> subscriber, BackpressurePolicy backpressure, int queueCapacity) {
+        final Class<?> eventType = getEventType(subscriber);
+        doSubscribe(asyncDispatchers.computeIfAbsent(subscriber,
+                                                     s -> new AsyncEventDispatcher(s, backpressure, queueCapacity, getAsyncExecutor())),
+                    eventType);
+    }
+
+    /** Returns statistics of delivery of events to asynchronous subscribers. */
+    public List<AsyncSubscriberStats> getAsyncSubscriberStats() {
+        return asyncDispatchers.values()
+                               .stream()
+                               .map(AsyncEventDispatcher::getStats)
+                               .collect(toList());
+    }
+
+    /** Stops threads that deliver events to asynchronous subscribers, events that are not delivered yet are lost. */
+    @PreDestroy
+    public void stop() {
+        final ExecutorService executor = asyncExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+        final AsyncSubscriber async = subscriber.getClass().getAnnotation(AsyncSubscriber.class);
+        if (async != null) {
+            subscriber = asyncDispatchers.computeIfAbsent(subscriber, s -> new AsyncEventDispatcher(s,
+                                                                                                    async.backpressure(),
+                                                                                                    async.queueCapacity(),
+                                                                                                    getAsyncExecutor()));
+        }
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
             Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
@@ -146,6 +206,22 @@ public class EventService {
         entries.add(subscriber);
     }
 
+    private ExecutorService getAsyncExecutor() {
+        ExecutorService executor = asyncExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = asyncExecutor;
+                if (executor == null) {
+                    asyncExecutor = executor = Executors.newFixedThreadPool(ASYNC_DELIVERY_THREADS,
+                                                                            new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                                                                      .setDaemon(true)
+                                                                                                      .build());
+                }
+            }
+        }
+        return executor;
+    }
+
     /**
      * Unsubscribe event listener.
      *
@@ -156,7 +232,8 @@ public class EventService {
         final Class<?> eventType = getEventType(subscriber);
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
-            boolean changed = entries.remove(subscriber);
+            final AsyncEventDispatcher asyncDispatcher = asyncDispatchers.remove(subscriber);
+            boolean changed = entries.remove(asyncDispatcher != null ? asyncDispatcher : subscriber);
             if (changed) {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
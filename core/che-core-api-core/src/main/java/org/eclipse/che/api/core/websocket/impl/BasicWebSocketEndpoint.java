@@ -52,6 +52,7 @@ public class BasicWebSocketEndpoint {
         LOG.info("Endpoint: {}", endpointId);
 
         session.setMaxIdleTimeout(0);
+        WebSocketTransmissionEncoding.negotiate(session);
 
         registry.add(endpointId, session);
         reSender.resend(endpointId);
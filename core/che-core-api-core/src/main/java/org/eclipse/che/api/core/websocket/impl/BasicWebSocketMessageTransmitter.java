@@ -17,9 +17,10 @@ import org.slf4j.Logger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.io.IOException;
 import java.util.Optional;
 
+import static org.eclipse.che.api.core.websocket.impl.WebSocketTransmissionEncoding.encode;
+import static org.eclipse.che.api.core.websocket.impl.WebSocketTransmissionEncoding.isCompact;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -27,6 +28,10 @@ import static org.slf4j.LoggerFactory.getLogger;
  * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them.
  * If WEB SOCKET session is not opened adds messages to re-sender to try to send
  * them when session will be opened again.
+ * <p/>
+ * Messages are sent asynchronously through {@link OutboundMessageQueues},
+ * so a slow session doesn't delay delivery to other sessions. Each session
+ * receives transmissions in encoding negotiated on its handshake.
  *
  * @author Dmitry Kuleshov
  */
@@ -37,18 +42,21 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     private final WebSocketSessionRegistry       registry;
     private final PendingMessagesReSender        resender;
     private final WebSocketTransmissionValidator validator;
+    private final OutboundMessageQueues          queues;
 
     @Inject
     public BasicWebSocketMessageTransmitter(WebSocketSessionRegistry registry,
                                             PendingMessagesReSender resender,
-                                            WebSocketTransmissionValidator validator) {
+                                            WebSocketTransmissionValidator validator,
+                                            OutboundMessageQueues queues) {
         this.registry = registry;
         this.resender = resender;
         this.validator = validator;
+        this.queues = queues;
     }
 
     @Override
-    public synchronized void transmit(String protocol, String message, Integer endpointId) {
+    public void transmit(String protocol, String message, Integer endpointId) {
         final WebSocketTransmission transmission = newDto(WebSocketTransmission.class).withProtocol(protocol).withMessage(message);
         validator.validate(transmission);
 
@@ -61,32 +69,37 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
         } else {
             LOG.debug("Session registered and open, sending message");
 
-            try {
-                sessionOptional.get().getBasicRemote().sendText(transmission.toString());
-            } catch (IOException e) {
-                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-            }
+            final Session session = sessionOptional.get();
+            queues.send(session, encode(transmission, session));
         }
     }
 
     @Override
-    public synchronized void transmit(String protocol, String message) {
+    public void transmit(String protocol, String message) {
         final WebSocketTransmission transmission = newDto(WebSocketTransmission.class).withProtocol(protocol).withMessage(message);
         validator.validate(transmission);
 
-        LOG.debug("Broadcasting a web socket transmission: ", transmission.toString());
+        LOG.debug("Broadcasting a web socket transmission: {}", transmission);
 
-        registry.getSessions()
-                .stream()
-                .filter(Session::isOpen)
-                .map(Session::getBasicRemote)
-                .forEach(it -> {
-                    try {
-                        it.sendText(transmission.toString());
-                    } catch (IOException e) {
-                        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-                    }
-                });
+        // serialize each encoding at most once, the same text is sent to every session
+        String text = null;
+        String compactText = null;
+        for (Session session : registry.getSessions()) {
+            if (!session.isOpen()) {
+                continue;
+            }
+            if (isCompact(session)) {
+                if (compactText == null) {
+                    compactText = encode(transmission, true);
+                }
+                queues.send(session, compactText);
+            } else {
+                if (text == null) {
+                    text = encode(transmission, false);
+                }
+                queues.send(session, text);
+            }
+        }
     }
 
 }
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.slf4j.Logger;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static javax.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Queue of messages which are sent to a single WEB SOCKET session one by one
+ * with asynchronous remote endpoint, so slow client doesn't block senders.
+ *
+ * <p>Only one message is sent at a time. When sending of a message is started,
+ * either the thread which started it or the thread which gets its completion
+ * sends the next message, whichever of them finishes its part later.
+ */
+class OutboundMessageQueue {
+    private static final Logger LOG = getLogger(OutboundMessageQueue.class);
+
+    /** Defines what happens to a message which is sent to a session with full queue. */
+    enum OverflowPolicy {
+        /** The oldest queued message is dropped to free space for a new one. */
+        DROP_OLDEST,
+        /** The new message is dropped. */
+        DROP_NEWEST,
+        /** All queued messages are dropped and session is closed, so client reconnects. */
+        CLOSE_SESSION
+    }
+
+    private final Session        session;
+    private final int            capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final Queue<Message> queue;
+
+    private Message inFlight;
+
+    private long sent;
+    private long dropped;
+    private long failed;
+    private long lastLagNanos;
+    private long maxLagNanos;
+
+    OutboundMessageQueue(Session session, int capacity, OverflowPolicy overflowPolicy) {
+        this.session = session;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayDeque<>();
+    }
+
+    /** Queues message and starts sending if there is no message which is being sent. */
+    void send(String text) {
+        Message first = null;
+        boolean overflow = false;
+        synchronized (this) {
+            if (queue.size() >= capacity) {
+                switch (overflowPolicy) {
+                    case DROP_OLDEST:
+                        queue.poll();
+                        dropped++;
+                        break;
+                    case DROP_NEWEST:
+                        dropped++;
+                        return;
+                    case CLOSE_SESSION:
+                        dropped += queue.size() + 1;
+                        queue.clear();
+                        overflow = true;
+                        break;
+                }
+            }
+            if (!overflow) {
+                queue.add(new Message(text));
+                if (inFlight == null) {
+                    first = inFlight = queue.poll();
+                }
+            }
+        }
+        if (overflow) {
+            closeSession();
+        } else if (first != null) {
+            drain(first);
+        }
+    }
+
+    /** Returns statistics of this queue. */
+    synchronized OutboundMessageQueueStats getStats() {
+        return new OutboundMessageQueueStats(session.getId(),
+                                             queue.size(),
+                                             sent,
+                                             dropped,
+                                             failed,
+                                             NANOSECONDS.toMillis(lastLagNanos),
+                                             NANOSECONDS.toMillis(maxLagNanos));
+    }
+
+    private synchronized void completed(Message message, SendResult result) {
+        final long lag = System.nanoTime() - message.queuedNanos;
+        lastLagNanos = lag;
+        maxLagNanos = Math.max(maxLagNanos, lag);
+        if (result.isOK()) {
+            sent++;
+        } else {
+            failed++;
+            LOG.debug("Error while trying to send a message to a web socket session {}", session.getId(), result.getException());
+        }
+    }
+
+    private synchronized Message pollNext() {
+        return inFlight = queue.poll();
+    }
+
+    private void drain(Message message) {
+        while (message != null) {
+            final Sending sending = new Sending(message);
+            try {
+                session.getAsyncRemote().sendText(message.text, sending);
+            } catch (RuntimeException e) {
+                // e.g. session is closed
+                sending.onResult(new SendResult(e));
+            }
+            if (!sending.handOver()) {
+                // message isn't sent yet, the next one is sent by thread which gets completion
+                return;
+            }
+            message = pollNext();
+        }
+    }
+
+    private void closeSession() {
+        LOG.warn("Too many messages are waiting for sending to web socket session {}, closing session", session.getId());
+        try {
+            session.close(new CloseReason(TRY_AGAIN_LATER, "Too many pending messages"));
+        } catch (IOException e) {
+            LOG.error("Error while trying to close a web socket session", e);
+        }
+    }
+
+    /** Completion handler of one message. */
+    private class Sending implements SendHandler {
+        final Message       message;
+        final AtomicBoolean completed;
+        final AtomicBoolean handedOver;
+
+        Sending(Message message) {
+            this.message = message;
+            this.completed = new AtomicBoolean();
+            this.handedOver = new AtomicBoolean();
+        }
+
+        @Override
+        public void onResult(SendResult result) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            completed(message, result);
+            if (handOver()) {
+                drain(pollNext());
+            }
+        }
+
+        /**
+         * Called once by the thread which started sending and once on completion,
+         * returns {@code true} to the second of them, which must send the next message.
+         */
+        boolean handOver() {
+            return !handedOver.compareAndSet(false, true);
+        }
+    }
+
+    private static class Message {
+        final String text;
+        final long   queuedNanos;
+
+        Message(String text) {
+            this.text = text;
+            this.queuedNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+/**
+ * Snapshot of statistics of messages sent to a WEB SOCKET session.
+ */
+public class OutboundMessageQueueStats {
+    private final String sessionId;
+    private final int    queued;
+    private final long   sent;
+    private final long   dropped;
+    private final long   failed;
+    private final long   lastLagMillis;
+    private final long   maxLagMillis;
+
+    public OutboundMessageQueueStats(String sessionId,
+                                     int queued,
+                                     long sent,
+                                     long dropped,
+                                     long failed,
+                                     long lastLagMillis,
+                                     long maxLagMillis) {
+        this.sessionId = sessionId;
+        this.queued = queued;
+        this.sent = sent;
+        this.dropped = dropped;
+        this.failed = failed;
+        this.lastLagMillis = lastLagMillis;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /** Id of WEB SOCKET session. */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /** Number of messages which are waiting for sending. */
+    public int getQueued() {
+        return queued;
+    }
+
+    /** Number of successfully sent messages. */
+    public long getSent() {
+        return sent;
+    }
+
+    /** Number of messages dropped because queue was full. */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /** Number of messages which were not sent because of an error. */
+    public long getFailed() {
+        return failed;
+    }
+
+    /** Time between queueing and sending of the last sent message. */
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    /** Maximal time between queueing and sending of a message. */
+    public long getMaxLagMillis() {
+        return maxLagMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboundMessageQueueStats{" +
+               "sessionId='" + sessionId + '\'' +
+               ", queued=" + queued +
+               ", sent=" + sent +
+               ", dropped=" + dropped +
+               ", failed=" + failed +
+               ", lastLagMillis=" + lastLagMillis +
+               ", maxLagMillis=" + maxLagMillis +
+               '}';
+    }
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.impl.OutboundMessageQueue.OverflowPolicy;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.websocket.Session;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Sends messages to WEB SOCKET sessions without blocking the caller. Each session has its own
+ * bounded queue of outbound messages, so slow session doesn't delay delivery to other sessions.
+ * Queue is kept in user properties of session and is released together with session.
+ */
+@Singleton
+public class OutboundMessageQueues {
+    private static final String QUEUE_PROPERTY = OutboundMessageQueue.class.getName();
+
+    private final WebSocketSessionRegistry registry;
+    private final int                      capacity;
+    private final OverflowPolicy           overflowPolicy;
+
+    @Inject
+    public OutboundMessageQueues(WebSocketSessionRegistry registry,
+                                 @Named("che.websocket.outbound_queue.capacity") int capacity,
+                                 @Named("che.websocket.outbound_queue.overflow_policy") String overflowPolicy) {
+        this.registry = registry;
+        this.capacity = capacity;
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.toUpperCase());
+    }
+
+    /**
+     * Queues message for sending to the session.
+     *
+     * @param session
+     *         session to send message to
+     * @param text
+     *         message
+     */
+    public void send(Session session, String text) {
+        queueOf(session).send(text);
+    }
+
+    /** Returns statistics of queues of all registered sessions. */
+    public List<OutboundMessageQueueStats> getStats() {
+        return registry.getSessions()
+                       .stream()
+                       .map(this::queueOf)
+                       .map(OutboundMessageQueue::getStats)
+                       .collect(toList());
+    }
+
+    private OutboundMessageQueue queueOf(Session session) {
+        final Map<String, Object> properties = session.getUserProperties();
+        synchronized (session) {
+            OutboundMessageQueue queue = (OutboundMessageQueue)properties.get(QUEUE_PROPERTY);
+            if (queue == null) {
+                queue = new OutboundMessageQueue(session, capacity, overflowPolicy);
+                properties.put(QUEUE_PROPERTY, queue);
+            }
+            return queue;
+        }
+    }
+}
@@ -11,54 +11,96 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
+import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.core.websocket.impl.WebSocketTransmissionEncoding.encode;
+import static org.slf4j.LoggerFactory.getLogger;
+
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
  * when WEB SOCKET session was closed. If session is closed during re-send process it
  * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * <p/>
+ * Messages of each endpoint are kept in a bounded buffer, when it is full the oldest
+ * message is dropped. Messages which are older than configured time to live are dropped
+ * as well, so endpoints which are never reconnected don't hold memory forever. Total size
+ * of all pending messages is limited, when the limit is exceeded the oldest messages of
+ * all endpoints are dropped first.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class PendingMessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    private static final Logger LOG = getLogger(PendingMessagesReSender.class);
 
     private final WebSocketSessionRegistry registry;
+    private final OutboundMessageQueues    queues;
+    private final int                      maxMessages;
+    private final long                     ttlMillis;
+    private final long                     maxBytes;
+
+    private final Map<Integer, Deque<PendingMessage>> messagesMap = new HashMap<>();
 
-    private final Map<Integer, List<WebSocketTransmission>> messagesMap = new HashMap<>();
+    private long bufferedBytes;
+    private long dropped;
+    private long expired;
 
     @Inject
-    public PendingMessagesReSender(WebSocketSessionRegistry registry) {
+    public PendingMessagesReSender(WebSocketSessionRegistry registry,
+                                   OutboundMessageQueues queues,
+                                   @Named("che.websocket.pending_messages.max_per_endpoint") int maxMessages,
+                                   @Named("che.websocket.pending_messages.ttl_sec") long ttlSec,
+                                   @Named("che.websocket.pending_messages.max_bytes") long maxBytes) {
         this.registry = registry;
+        this.queues = queues;
+        this.maxMessages = maxMessages;
+        this.ttlMillis = SECONDS.toMillis(ttlSec);
+        this.maxBytes = maxBytes;
     }
 
-    public void add(Integer endpointId, WebSocketTransmission message) {
-        List<WebSocketTransmission> messages = messagesMap.get(endpointId);
+    public synchronized void add(Integer endpointId, WebSocketTransmission message) {
+        final long now = System.currentTimeMillis();
+        expire(now);
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
+        final PendingMessage pending = new PendingMessage(message, now);
+        if (pending.size > maxBytes) {
+            LOG.debug("Message for endpoint {} is too big to be kept for re-sending, dropping it", endpointId);
+            dropped++;
+            return;
+        }
+
+        final Deque<PendingMessage> messages = messagesMap.computeIfAbsent(endpointId, id -> new ArrayDeque<>());
+        if (messages.size() >= maxMessages) {
+            LOG.debug("Too many pending messages for endpoint {}, dropping the oldest one", endpointId);
+            bufferedBytes -= messages.poll().size;
+            dropped++;
         }
+        messages.add(pending);
+        bufferedBytes += pending.size;
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
+        while (bufferedBytes > maxBytes) {
+            dropOldest();
         }
     }
 
-    public void resend(Integer endpointId) {
-        final List<WebSocketTransmission> messages = messagesMap.remove(endpointId);
+    public synchronized void resend(Integer endpointId) {
+        expire(System.currentTimeMillis());
 
-        if (messages == null || messages.isEmpty()) {
+        final Deque<PendingMessage> messages = messagesMap.get(endpointId);
+
+        if (messages == null) {
             return;
         }
 
@@ -70,18 +112,71 @@ public class PendingMessagesReSender {
 
         final Session session = sessionOptional.get();
 
-        final List<WebSocketTransmission> backing = new ArrayList<>(messages);
-        messages.clear();
+        while (!messages.isEmpty() && session.isOpen()) {
+            final PendingMessage message = messages.poll();
+            bufferedBytes -= message.size;
+            queues.send(session, encode(message.transmission, session));
+        }
+
+        if (messages.isEmpty()) {
+            messagesMap.remove(endpointId);
+        }
+    }
 
-        for (WebSocketTransmission message : backing) {
+    /** Returns statistics of messages which are kept for re-sending. */
+    public synchronized PendingMessagesStats getStats() {
+        expire(System.currentTimeMillis());
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message.toString());
-            } else {
-                messages.add(message);
+        int buffered = 0;
+        for (Deque<PendingMessage> messages : messagesMap.values()) {
+            buffered += messages.size();
+        }
+        return new PendingMessagesStats(messagesMap.size(), buffered, bufferedBytes, dropped, expired);
+    }
+
+    /** Removes messages which are kept longer than time to live. */
+    private void expire(long now) {
+        for (Iterator<Deque<PendingMessage>> it = messagesMap.values().iterator(); it.hasNext(); ) {
+            final Deque<PendingMessage> messages = it.next();
+            // messages are ordered by time of adding, so only the head of buffer has to be checked
+            while (!messages.isEmpty() && now - messages.peek().addedMillis >= ttlMillis) {
+                bufferedBytes -= messages.poll().size;
+                expired++;
+            }
+            if (messages.isEmpty()) {
+                it.remove();
             }
         }
+    }
 
-        messagesMap.put(endpointId, messages);
+    /** Removes the oldest message among buffers of all endpoints. */
+    private void dropOldest() {
+        Map.Entry<Integer, Deque<PendingMessage>> oldest = null;
+        for (Map.Entry<Integer, Deque<PendingMessage>> entry : messagesMap.entrySet()) {
+            if (oldest == null || entry.getValue().peek().addedMillis < oldest.getValue().peek().addedMillis) {
+                oldest = entry;
+            }
+        }
+        LOG.debug("Pending messages exceed size limit, dropping the oldest message of endpoint {}", oldest.getKey());
+        bufferedBytes -= oldest.getValue().poll().size;
+        dropped++;
+        if (oldest.getValue().isEmpty()) {
+            messagesMap.remove(oldest.getKey());
+        }
+    }
+
+    private static class PendingMessage {
+        final WebSocketTransmission transmission;
+        final long                  addedMillis;
+        final long                  size;
+
+        PendingMessage(WebSocketTransmission transmission, long addedMillis) {
+            // transmission is encoded on re-send, when it is known which encoding the session expects
+            this.transmission = transmission;
+            this.addedMillis = addedMillis;
+            // approximate size of transmission in memory, two bytes per char of protocol and message,
+            // it is computed without serialization that is done only once on re-send
+            this.size = (transmission.getProtocol().length() + transmission.getMessage().length()) * 2L;
+        }
     }
 }
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+/**
+ * Snapshot of statistics of messages which are kept by {@link PendingMessagesReSender}.
+ */
+public class PendingMessagesStats {
+    private final int  endpoints;
+    private final int  buffered;
+    private final long bufferedBytes;
+    private final long dropped;
+    private final long expired;
+
+    public PendingMessagesStats(int endpoints, int buffered, long bufferedBytes, long dropped, long expired) {
+        this.endpoints = endpoints;
+        this.buffered = buffered;
+        this.bufferedBytes = bufferedBytes;
+        this.dropped = dropped;
+        this.expired = expired;
+    }
+
+    /** Number of endpoints which have messages waiting for re-sending. */
+    public int getEndpoints() {
+        return endpoints;
+    }
+
+    /** Number of messages waiting for re-sending. */
+    public int getBuffered() {
+        return buffered;
+    }
+
+    /** Approximate size in bytes of messages waiting for re-sending. */
+    public long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /** Number of messages dropped because of per endpoint or total size limits. */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /** Number of messages dropped because they were not re-sent in time. */
+    public long getExpired() {
+        return expired;
+    }
+
+    @Override
+    public String toString() {
+        return "PendingMessagesStats{" +
+               "endpoints=" + endpoints +
+               ", buffered=" + buffered +
+               ", bufferedBytes=" + bufferedBytes +
+               ", dropped=" + dropped +
+               ", expired=" + expired +
+               '}';
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.shared.CompactWebSocketTransmission;
+import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
+
+import javax.websocket.Session;
+import java.util.List;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Negotiates and applies encoding of outgoing WEB SOCKET transmissions.
+ * <p/>
+ * By default a transmission is sent as a JSON object. Clients which add
+ * <code>encoding=compact</code> query parameter to the handshake request
+ * receive transmissions as {@link CompactWebSocketTransmission}, i.e. as
+ * a JSON array without field names.
+ */
+final class WebSocketTransmissionEncoding {
+    static final String ENCODING_PARAMETER = "encoding";
+    static final String COMPACT_ENCODING   = "compact";
+
+    private static final String COMPACT_ENCODING_PROPERTY = WebSocketTransmissionEncoding.class.getName() + ".compact";
+
+    /** Remembers whether the client of the session requested compact encoding. */
+    static void negotiate(Session session) {
+        final List<String> encodings = session.getRequestParameterMap().get(ENCODING_PARAMETER);
+        if (encodings != null && encodings.contains(COMPACT_ENCODING)) {
+            session.getUserProperties().put(COMPACT_ENCODING_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    /** Tells whether transmissions to the session should be compact encoded. */
+    static boolean isCompact(Session session) {
+        return Boolean.TRUE.equals(session.getUserProperties().get(COMPACT_ENCODING_PROPERTY));
+    }
+
+    /** Serializes transmission in a form which is expected by the client of the session. */
+    static String encode(WebSocketTransmission transmission, Session session) {
+        return encode(transmission, isCompact(session));
+    }
+
+    static String encode(WebSocketTransmission transmission, boolean compact) {
+        if (!compact) {
+            return transmission.toString();
+        }
+        return newDto(CompactWebSocketTransmission.class).withProtocol(transmission.getProtocol())
+                                                         .withMessage(transmission.getMessage())
+                                                         .toString();
+    }
+
+    private WebSocketTransmissionEncoding() {
+    }
+}
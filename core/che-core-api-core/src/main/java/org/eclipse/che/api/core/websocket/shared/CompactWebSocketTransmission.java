@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.shared;
+
+import org.eclipse.che.dto.shared.CompactJsonDto;
+import org.eclipse.che.dto.shared.DTO;
+import org.eclipse.che.dto.shared.SerializationIndex;
+
+/**
+ * Compact form of {@link WebSocketTransmission}. It is serialized to a JSON array
+ * where values are placed according to their serialization indexes, so field names
+ * are not sent over the wire. Used for clients that request compact encoding.
+ */
+@DTO
+public interface CompactWebSocketTransmission extends CompactJsonDto {
+    @SerializationIndex(1)
+    String getProtocol();
+
+    CompactWebSocketTransmission withProtocol(final String protocol);
+
+    @SerializationIndex(2)
+    String getMessage();
+
+    CompactWebSocketTransmission withMessage(final String message);
+}
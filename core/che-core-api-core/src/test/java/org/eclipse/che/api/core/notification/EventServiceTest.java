@@ -11,12 +11,17 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author andrew00x
@@ -29,6 +34,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -157,4 +167,94 @@ public class EventServiceTest {
         bus.publish(new Event());
         Assert.assertEquals(events.size(), 0);
     }
+
+    @Test
+    public void testAsyncSubscriberReceivesEventsInOrder() throws Exception {
+        final List<Integer> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch received = new CountDownLatch(100);
+        bus.subscribe(new EventSubscriber<Integer>() {
+            @Override
+            public void onEvent(Integer event) {
+                events.add(event);
+                received.countDown();
+            }
+        }, BackpressurePolicy.BLOCK, 10);
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bus.publish(i);
+            expected.add(i);
+        }
+        Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(events, expected);
+        Assert.assertEquals(bus.getAsyncSubscriberStats().get(0).getDeliveredEvents(), 100);
+    }
+
+    @Test
+    public void testAsyncSubscriberDropsOldestEventsWhenQueueIsFull() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch received = new CountDownLatch(3);
+        final SlowListener listener = new SlowListener(started, release, received);
+        bus.subscribe(listener);
+        bus.publish("first");
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        bus.publish("a");
+        bus.publish("b");
+        bus.publish("c");
+        Assert.assertEquals(bus.getAsyncSubscriberStats().get(0).getQueueDepth(), 2);
+        release.countDown();
+        Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(listener.events, Arrays.asList("first", "b", "c"));
+        Assert.assertEquals(bus.getAsyncSubscriberStats().get(0).getDroppedEvents(), 1);
+    }
+
+    @Test
+    public void testEventPublishedByAsyncSubscriberDoesNotWaitForSpaceInQueue() throws Exception {
+        final List<Integer> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch received = new CountDownLatch(1);
+        bus.subscribe(new EventSubscriber<Integer>() {
+            @Override
+            public void onEvent(Integer event) {
+                events.add(event);
+                if (event == 0) {
+                    // queue of this subscriber is drained by this thread, waiting for space in it would never end
+                    for (int i = 1; i <= 5; i++) {
+                        bus.publish(i);
+                    }
+                } else if (event == 5) {
+                    received.countDown();
+                }
+            }
+        }, BackpressurePolicy.BLOCK, 1);
+        bus.publish(0);
+        Assert.assertTrue(received.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(events, Arrays.asList(0, 5));
+        Assert.assertEquals(bus.getAsyncSubscriberStats().get(0).getDroppedEvents(), 4);
+    }
+
+    @AsyncSubscriber(queueCapacity = 2, backpressure = BackpressurePolicy.DROP_OLDEST)
+    static class SlowListener implements EventSubscriber<String> {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started;
+        final CountDownLatch release;
+        final CountDownLatch received;
+
+        SlowListener(CountDownLatch started, CountDownLatch release, CountDownLatch received) {
+            this.started = started;
+            this.release = release;
+            this.received = received;
+        }
+
+        @Override
+        public void onEvent(String event) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+            received.countDown();
+        }
+    }
 }
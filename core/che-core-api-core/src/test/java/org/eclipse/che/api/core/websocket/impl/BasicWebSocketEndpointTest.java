@@ -18,8 +18,14 @@ import org.testng.annotations.Test;
 
 import javax.websocket.CloseReason;
 import javax.websocket.Session;
+import java.util.HashMap;
 
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 
 /**
@@ -72,6 +78,25 @@ public class BasicWebSocketEndpointTest {
         verify(reSender).resend(ENDPOINT_ID);
     }
 
+    @Test
+    public void shouldUseCompactEncodingIfClientRequestedItOnOpen() {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap("encoding", singletonList("compact")));
+        when(session.getUserProperties()).thenReturn(new HashMap<>());
+
+        endpoint.onOpen(session, ENDPOINT_ID);
+
+        assertTrue(WebSocketTransmissionEncoding.isCompact(session));
+    }
+
+    @Test
+    public void shouldNotUseCompactEncodingByDefault() {
+        when(session.getUserProperties()).thenReturn(new HashMap<>());
+
+        endpoint.onOpen(session, ENDPOINT_ID);
+
+        assertFalse(WebSocketTransmissionEncoding.isCompact(session));
+    }
+
     @Test
     public void shouldRemoveSessionFromRegistryOnClose() {
         endpoint.onClose(closeReason, ENDPOINT_ID);
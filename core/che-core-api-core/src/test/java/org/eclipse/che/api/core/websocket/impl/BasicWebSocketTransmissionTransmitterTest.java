@@ -19,12 +19,15 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Optional;
 
+import static com.google.common.collect.Sets.newHashSet;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
@@ -41,6 +44,7 @@ public class BasicWebSocketTransmissionTransmitterTest {
     private static final String PROTOCOL    = "protocol";
     private static final String MESSAGE     = "message";
     private static final int    ENDPOINT_ID = 0;
+    private static final String COMPACT     = "[\"protocol\",\"message\"]";
 
     @Mock
     private WebSocketSessionRegistry         registry;
@@ -48,20 +52,21 @@ public class BasicWebSocketTransmissionTransmitterTest {
     private PendingMessagesReSender          reSender;
     @Mock
     private WebSocketTransmissionValidator   validator;
+    @Mock
+    private OutboundMessageQueues            queues;
     @InjectMocks
     private BasicWebSocketMessageTransmitter transmitter;
 
     @Mock
     private Session              session;
     @Mock
-    private RemoteEndpoint.Basic remote;
+    private Session              anotherSession;
 
     private WebSocketTransmission transmission;
 
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(session.getBasicRemote()).thenReturn(remote);
         when(session.isOpen()).thenReturn(true);
 
         when(registry.get(eq(ENDPOINT_ID))).thenReturn(Optional.of(session));
@@ -88,8 +93,7 @@ public class BasicWebSocketTransmissionTransmitterTest {
     public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
         transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
 
-        verify(session).getBasicRemote();
-        verify(remote).sendText(transmission.toString());
+        verify(queues).send(session, transmission.toString());
         verify(reSender, never()).add(eq(ENDPOINT_ID), any(WebSocketTransmission.class));
     }
 
@@ -97,21 +101,67 @@ public class BasicWebSocketTransmissionTransmitterTest {
     public void shouldSendBroadcastingMessageIfSessionIsOpen() throws IOException {
         transmitter.transmit(PROTOCOL, MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(transmission.toString());
+        verify(queues, never()).send(any(Session.class), any(String.class));
         verify(reSender, never()).add(any(), any(WebSocketTransmission.class));
 
         verify(registry).getSessions();
     }
 
+    @Test
+    public void shouldSendBroadcastingMessageToEachOpenSession() throws IOException {
+        when(anotherSession.isOpen()).thenReturn(false);
+        when(registry.getSessions()).thenReturn(newHashSet(session, anotherSession));
+
+        transmitter.transmit(PROTOCOL, MESSAGE);
+
+        verify(queues).send(session, transmission.toString());
+        verify(queues, never()).send(eq(anotherSession), any(String.class));
+        verify(reSender, never()).add(any(), any(WebSocketTransmission.class));
+    }
+
+    @Test
+    public void shouldSendCompactDirectMessageIfSessionRequestedCompactEncoding() throws IOException {
+        requestCompactEncoding(session);
+
+        transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
+
+        verify(queues).send(session, COMPACT);
+    }
+
+    @Test
+    public void shouldBroadcastMessageInEncodingOfEachSession() throws IOException {
+        when(anotherSession.isOpen()).thenReturn(true);
+        requestCompactEncoding(anotherSession);
+        when(registry.getSessions()).thenReturn(newHashSet(session, anotherSession));
+
+        transmitter.transmit(PROTOCOL, MESSAGE);
+
+        verify(queues).send(session, transmission.toString());
+        verify(queues).send(anotherSession, COMPACT);
+    }
+
+    @Test
+    public void shouldKeepJsonMessageAsStringInCompactTransmission() throws IOException {
+        requestCompactEncoding(session);
+
+        transmitter.transmit(PROTOCOL, "{\"type\":\"request\"}", ENDPOINT_ID);
+
+        verify(queues).send(session, "[\"protocol\",\"{\\\"type\\\":\\\"request\\\"}\"]");
+    }
+
     @Test
     public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() throws IOException {
         when(session.isOpen()).thenReturn(false);
 
         transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(transmission.toString());
+        verify(queues, never()).send(any(Session.class), any(String.class));
         verify(reSender).add(eq(ENDPOINT_ID), any(WebSocketTransmission.class));
     }
+
+    private static void requestCompactEncoding(Session session) {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap("encoding", singletonList("compact")));
+        when(session.getUserProperties()).thenReturn(new HashMap<>());
+        WebSocketTransmissionEncoding.negotiate(session);
+    }
 }
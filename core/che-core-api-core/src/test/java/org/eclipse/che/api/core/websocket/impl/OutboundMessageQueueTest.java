@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.impl.OutboundMessageQueue.OverflowPolicy;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link OutboundMessageQueue}
+ */
+@Listeners(MockitoTestNGListener.class)
+public class OutboundMessageQueueTest {
+    private static final String SESSION_ID = "session";
+
+    @Mock
+    private Session              session;
+    @Mock
+    private RemoteEndpoint.Async remote;
+
+    @BeforeMethod
+    public void setUp() {
+        when(session.getId()).thenReturn(SESSION_ID);
+        when(session.getAsyncRemote()).thenReturn(remote);
+    }
+
+    @Test
+    public void shouldSendOnlyOneMessageAtTime() {
+        final OutboundMessageQueue queue = new OutboundMessageQueue(session, 10, OverflowPolicy.DROP_OLDEST);
+
+        queue.send("first");
+        queue.send("second");
+
+        verify(remote).sendText(eq("first"), any(SendHandler.class));
+        verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(queue.getStats().getQueued(), 1);
+    }
+
+    @Test
+    public void shouldSendNextMessageWhenPreviousIsSent() {
+        final OutboundMessageQueue queue = new OutboundMessageQueue(session, 10, OverflowPolicy.DROP_OLDEST);
+        queue.send("first");
+        queue.send("second");
+
+        lastSendHandler().onResult(new SendResult());
+
+        verify(remote).sendText(eq("second"), any(SendHandler.class));
+        assertEquals(queue.getStats().getQueued(), 0);
+        assertEquals(queue.getStats().getSent(), 1);
+    }
+
+    @Test
+    public void shouldSendAllMessagesWhenTheyAreSentImmediately() {
+        doAnswer(invocation -> {
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+        final OutboundMessageQueue queue = new OutboundMessageQueue(session, 10, OverflowPolicy.DROP_OLDEST);
+
+        queue.send("first");
+        queue.send("second");
+
+        verify(remote, times(2)).sendText(anyString(), any(SendHandler.class));
+        assertEquals(queue.getStats().getSent(), 2);
+    }
+
+    @Test
+    public void shouldSendOneMessageAtTimeWhenCompletionComesFromOtherThread() throws Exception {
+        final int messages = 2000;
+        final AtomicInteger sending = new AtomicInteger();
+        final AtomicInteger maxSending = new AtomicInteger();
+        final ExecutorService completions = Executors.newFixedThreadPool(2);
+        final ExecutorService senders = Executors.newFixedThreadPool(4);
+        final Random random = new Random();
+        doAnswer(invocation -> {
+            maxSending.accumulateAndGet(sending.incrementAndGet(), Math::max);
+            final SendHandler handler = (SendHandler)invocation.getArguments()[1];
+            final Runnable complete = () -> {
+                sending.decrementAndGet();
+                handler.onResult(new SendResult());
+            };
+            // completion either comes before sendText returns or later from other thread
+            if (random.nextBoolean()) {
+                completions.submit(complete).get();
+            } else {
+                completions.submit(complete);
+            }
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+        final OutboundMessageQueue queue = new OutboundMessageQueue(session, messages, OverflowPolicy.DROP_NEWEST);
+
+        try {
+            for (int i = 0; i < messages; i++) {
+                final String message = "message" + i;
+                senders.submit(() -> queue.send(message));
+            }
+            senders.shutdown();
+            assertTrue(senders.awaitTermination(10, SECONDS));
+            final long deadline = System.currentTimeMillis() + 10000;
+            while (queue.getStats().getSent() < messages && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            senders.shutdownNow();
+            completions.shutdownNow();
+        }
+
+        assertEquals(queue.getStats().getSent(), messages);
+        assertEquals(queue.getStats().getQueued(), 0);
+        assertEquals(maxSending.get(), 1);
+        verify(remote, times(messages)).sendText(anyString(), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldCountFailedMessages() {
+        final OutboundMessageQueue queue = new OutboundMessageQueue(session, 10, OverflowPolicy.DROP_OLDEST);
+        queue.send("first");
+
+        lastSendHandler().onResult(new SendResult(new RuntimeException("closed")));
+
+        assertEquals(queue.getStats().getFailed(), 1);
+        assertEquals(queue.getStats().getSent(), 0);
+    }
+
+    @Test
+    public void shouldDropOldestMessageWhenQueueIsFull() {
+        final OutboundMessageQueue queue = new OutboundMessageQueue(session, 1, OverflowPolicy.DROP_OLDEST);
+        queue.send("first");
+        queue.send("second");
+        queue.send("third");
+
+        lastSendHandler().onResult(new SendResult());
+
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(remote, times(2)).sendText(captor.capture(), any(SendHandler.class));
+        assertEquals(captor.getAllValues().get(1), "third");
+        assertEquals(queue.getStats().getDropped(), 1);
+    }
+
+    @Test
+    public void shouldDropNewestMessageWhenQueueIsFull() {
+        final OutboundMessageQueue queue = new OutboundMessageQueue(session, 1, OverflowPolicy.DROP_NEWEST);
+        queue.send("first");
+        queue.send("second");
+        queue.send("third");
+
+        lastSendHandler().onResult(new SendResult());
+
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(remote, times(2)).sendText(captor.capture(), any(SendHandler.class));
+        assertEquals(captor.getAllValues().get(1), "second");
+        assertEquals(queue.getStats().getDropped(), 1);
+    }
+
+    @Test
+    public void shouldCloseSessionWhenQueueIsFull() throws Exception {
+        final OutboundMessageQueue queue = new OutboundMessageQueue(session, 1, OverflowPolicy.CLOSE_SESSION);
+        queue.send("first");
+        queue.send("second");
+        queue.send("third");
+
+        verify(session).close(any(CloseReason.class));
+        assertEquals(queue.getStats().getQueued(), 0);
+        assertEquals(queue.getStats().getDropped(), 2);
+    }
+
+    private SendHandler lastSendHandler() {
+        final ArgumentCaptor<SendHandler> captor = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote, atLeastOnce()).sendText(anyString(), captor.capture());
+        return captor.getValue();
+    }
+}
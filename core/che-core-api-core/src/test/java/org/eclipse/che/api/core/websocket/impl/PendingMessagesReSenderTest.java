@@ -11,23 +11,25 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
 import java.util.Optional;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Tests for {@link PendingMessagesReSender}
@@ -36,32 +38,35 @@ import static org.mockito.Mockito.when;
  */
 @Listeners(MockitoTestNGListener.class)
 public class PendingMessagesReSenderTest {
+    private static final String PROTOCOL    = "protocol";
     private static final String MESSAGE     = "message";
     private static final int    ENDPOINT_ID = 0;
+    private static final int    MAX_BYTES   = 1024;
 
     @Mock
     private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
+    @Mock
+    private OutboundMessageQueues    queues;
+
     private PendingMessagesReSender  resender;
 
     @Mock
     private Session               session;
     @Mock
-    private RemoteEndpoint.Async  endpoint;
-    @Mock
     private WebSocketTransmission transmission;
 
     @BeforeMethod
     public void beforeMethod() {
         when(sessionRegistry.get(any(Integer.class))).thenReturn(Optional.of(session));
-        when(session.getAsyncRemote()).thenReturn(endpoint);
         when(session.isOpen()).thenReturn(true);
+        when(transmission.getProtocol()).thenReturn(PROTOCOL);
+        when(transmission.getMessage()).thenReturn(MESSAGE);
         when(transmission.toString()).thenReturn(MESSAGE);
     }
 
     @BeforeMethod
     public void before() {
-        resender = new PendingMessagesReSender(sessionRegistry);
+        resender = new PendingMessagesReSender(sessionRegistry, queues, 100, 300, MAX_BYTES);
     }
 
     @Test
@@ -73,8 +78,7 @@ public class PendingMessagesReSenderTest {
         resender.resend(ENDPOINT_ID);
 
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(eq(MESSAGE));
+        verify(queues, never()).send(session, MESSAGE);
     }
 
     @Test
@@ -84,14 +88,12 @@ public class PendingMessagesReSenderTest {
         when(session.isOpen()).thenReturn(false);
         resender.resend(ENDPOINT_ID);
 
-        verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(eq(MESSAGE));
+        verify(queues, never()).send(session, MESSAGE);
 
         when(session.isOpen()).thenReturn(true);
         resender.resend(ENDPOINT_ID);
 
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(eq(MESSAGE));
+        verify(queues).send(session, MESSAGE);
     }
 
     @Test
@@ -101,8 +103,7 @@ public class PendingMessagesReSenderTest {
         resender.resend(ENDPOINT_ID);
 
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(eq(MESSAGE));
+        verify(queues).send(session, MESSAGE);
     }
 
     @Test
@@ -115,8 +116,7 @@ public class PendingMessagesReSenderTest {
 
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(sessionRegistry).get(eq(1));
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(eq(MESSAGE));
+        verify(queues, times(2)).send(session, MESSAGE);
     }
 
     @Test
@@ -125,13 +125,11 @@ public class PendingMessagesReSenderTest {
 
         resender.resend(ENDPOINT_ID);
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(eq(MESSAGE));
+        verify(queues).send(session, MESSAGE);
 
         resender.resend(ENDPOINT_ID);
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
-        verify(session).getAsyncRemote();
-        verify(endpoint).sendText(eq(MESSAGE));
+        verify(queues).send(session, MESSAGE);
     }
 
     @Test
@@ -144,15 +142,103 @@ public class PendingMessagesReSenderTest {
 
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(sessionRegistry).get(eq(1));
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(eq(MESSAGE));
+        verify(queues, times(2)).send(session, MESSAGE);
 
         resender.resend(ENDPOINT_ID);
         resender.resend(1);
 
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(sessionRegistry).get(eq(1));
-        verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(eq(MESSAGE));
+        verify(queues, times(2)).send(session, MESSAGE);
+    }
+
+    @Test
+    public void shouldKeepMessagesIfSessionIsNotRegistered() {
+        when(sessionRegistry.get(any(Integer.class))).thenReturn(Optional.empty());
+        resender.add(ENDPOINT_ID, transmission);
+        resender.resend(ENDPOINT_ID);
+
+        when(sessionRegistry.get(any(Integer.class))).thenReturn(Optional.of(session));
+        resender.resend(ENDPOINT_ID);
+
+        verify(queues).send(session, MESSAGE);
+    }
+
+    @Test
+    public void shouldDropOldestMessageIfEndpointHasTooManyMessages() {
+        resender = new PendingMessagesReSender(sessionRegistry, queues, 2, 300, MAX_BYTES);
+        resender.add(ENDPOINT_ID, transmission("first"));
+        resender.add(ENDPOINT_ID, transmission("second"));
+        resender.add(ENDPOINT_ID, transmission("third"));
+
+        resender.resend(ENDPOINT_ID);
+
+        final InOrder inOrder = inOrder(queues);
+        inOrder.verify(queues).send(session, "second");
+        inOrder.verify(queues).send(session, "third");
+        verify(queues, never()).send(session, "first");
+        assertEquals(resender.getStats().getDropped(), 1);
+    }
+
+    @Test
+    public void shouldDropOldestMessagesOfAllEndpointsIfSizeLimitIsExceeded() {
+        // each message takes 30 bytes
+        resender = new PendingMessagesReSender(sessionRegistry, queues, 100, 300, 60);
+        resender.add(ENDPOINT_ID, transmission);
+        resender.add(1, transmission);
+        resender.add(2, transmission);
+
+        assertEquals(resender.getStats().getBuffered(), 2);
+        assertEquals(resender.getStats().getBufferedBytes(), 60);
+        assertEquals(resender.getStats().getDropped(), 1);
+
+        resender.resend(ENDPOINT_ID);
+        verify(queues, never()).send(session, MESSAGE);
+
+        resender.resend(1);
+        resender.resend(2);
+        verify(queues, times(2)).send(session, MESSAGE);
+    }
+
+    @Test
+    public void shouldDropExpiredMessages() {
+        resender = new PendingMessagesReSender(sessionRegistry, queues, 100, 0, MAX_BYTES);
+        resender.add(ENDPOINT_ID, transmission);
+
+        resender.resend(ENDPOINT_ID);
+
+        verify(queues, never()).send(session, MESSAGE);
+        assertEquals(resender.getStats().getExpired(), 1);
+        assertEquals(resender.getStats().getEndpoints(), 0);
+    }
+
+    @Test
+    public void shouldForgetEndpointWhenAllMessagesAreResent() {
+        resender.add(ENDPOINT_ID, transmission);
+        resender.add(ENDPOINT_ID, transmission);
+
+        resender.resend(ENDPOINT_ID);
+
+        final PendingMessagesStats stats = resender.getStats();
+        assertEquals(stats.getEndpoints(), 0);
+        assertEquals(stats.getBuffered(), 0);
+        assertEquals(stats.getBufferedBytes(), 0);
+    }
+
+    @Test
+    public void shouldEstimateSizeOfMessageWithoutSerializingIt() {
+        when(transmission.toString()).thenReturn("{\"protocol\":\"protocol\",\"message\":\"message\"}");
+
+        resender.add(ENDPOINT_ID, transmission);
+
+        assertEquals(resender.getStats().getBufferedBytes(), (PROTOCOL.length() + MESSAGE.length()) * 2);
+    }
+
+    private static WebSocketTransmission transmission(String text) {
+        final WebSocketTransmission transmission = mock(WebSocketTransmission.class);
+        when(transmission.getProtocol()).thenReturn(PROTOCOL);
+        when(transmission.getMessage()).thenReturn(text);
+        when(transmission.toString()).thenReturn(text);
+        return transmission;
     }
 }
@@ -70,7 +70,9 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
+        emitStreamDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
@@ -301,8 +303,16 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        // The default toJson() writes JSON directly to string without building JsonElement tree
+        builder.append("      java.io.StringWriter w = new java.io.StringWriter();\n");
+        builder.append("      try {\n");
+        builder.append("        JsonWriter out = new JsonWriter(w);\n");
+        builder.append("        out.setLenient(true);\n");
+        builder.append("        writeTo(out);\n");
+        builder.append("      } catch (java.io.IOException e) {\n");
+        builder.append("        throw new IllegalStateException(e.getMessage(), e);\n");
+        builder.append("      }\n");
+        builder.append("      return w.toString();\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -451,6 +461,139 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /**
+     * Generates a method that writes DTO to JsonWriter. Output is the same as of toJsonElement() serialized with gson,
+     * properties with null values are omitted.
+     */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(JsonWriter out) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      gson.toJson(toJsonElementInt(false), out);\n");
+        } else {
+            builder.append("      out.beginObject();\n");
+            for (Method getter : getters) {
+                emitStreamSerializeFieldForMethod(getter, builder);
+            }
+            builder.append("      out.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    private void emitStreamSerializeFieldForMethod(Method getter, StringBuilder builder) {
+        final String fieldName = getJavaFieldName(getter.getName());
+        final String jsonFieldName = getJsonFieldName(getter);
+        final List<Type> expandedTypes = expandType(getter.getGenericReturnType());
+        final Class<?> rawClass = getRawClass(expandedTypes.get(0));
+        // collections are never null, they are created if necessary
+        final boolean nullable = !(rawClass.isPrimitive() || isList(rawClass) || isMap(rawClass));
+        builder.append("\n");
+        if (isList(rawClass) || isMap(rawClass)) {
+            builder.append("      this.").append(getEnsureName(fieldName)).append("();\n");
+        }
+        String i = "      ";
+        if (nullable) {
+            builder.append(i).append("if (this.").append(fieldName);
+            if (isAny(rawClass)) {
+                builder.append(" instanceof JsonElement) {\n");
+            } else {
+                builder.append(" != null) {\n");
+            }
+            i += "  ";
+        }
+        builder.append(i).append("out.name(").append(quoteStringLiteral(jsonFieldName)).append(");\n");
+        emitStreamSerializerImpl(expandedTypes, 0, builder, fieldName, i);
+        if (nullable) {
+            builder.append("      }\n");
+        }
+    }
+
+    /**
+     * Produces code to write the value of the given variable to JsonWriter. Value of the variable must not be null.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..))
+     *         expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can
+     *         be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable that will be the input for serialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String value = depth == 0 ? "this." + inVar : inVar;
+        final String childInVar = inVar + "_";
+        final String entryVar = "entry" + depth;
+        if (isList(rawClass)) {
+            String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            builder.append(i).append("out.beginArray();\n");
+            builder.append(i).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ").append(value)
+                   .append(") {\n");
+            builder.append(i).append("  if (").append(childInVar).append(" == null) {\n");
+            builder.append(i).append("    out.nullValue();\n");
+            builder.append(i).append("  } else {\n");
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "    ");
+            builder.append(i).append("  }\n");
+            builder.append(i).append("}\n");
+            builder.append(i).append("out.endArray();\n");
+        } else if (isMap(rawClass)) {
+            String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            builder.append(i).append("out.beginObject();\n");
+            builder.append(i).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                   .append(" : ").append(value).append(".entrySet()) {\n");
+            builder.append(i).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ").append(entryVar)
+                   .append(".getValue();\n");
+            builder.append(i).append("  if (").append(childInVar).append(" != null) {\n");
+            builder.append(i).append("    out.name(").append(entryVar).append(".getKey());\n");
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, i + "    ");
+            builder.append(i).append("  }\n");
+            builder.append(i).append("}\n");
+            builder.append(i).append("out.endObject();\n");
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("out.value(").append(value).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append("((").append(getImplNameForDto(rawClass)).append(")").append(value).append(").writeTo(out);\n");
+        } else if (rawClass.equals(String.class)
+                   || rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == double.class
+                   || rawClass == short.class
+                   || rawClass == byte.class
+                   || rawClass == Boolean.class
+                   || rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("out.value(").append(value).append(");\n");
+        } else if (rawClass == float.class) {
+            // written as Number to keep float precision, the same as JsonPrimitive does
+            builder.append(i).append("out.value(Float.valueOf(").append(value).append("));\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(value).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  gson.toJson((JsonElement)").append(value).append(", out);\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append("((").append(dtoImplementation.getCanonicalName()).append(")").append(value)
+                       .append(").writeTo(out);\n");
+            } else {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+        }
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -477,6 +620,115 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /** Generates a static factory method that creates a new instance based on a JsonReader. Unknown properties are skipped. */
+    private void emitStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" readFrom(JsonReader in) throws java.io.IOException {\n");
+        if (isCompactJson()) {
+            builder.append("      return fromJsonElement(new JsonParser().parse(in), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (in.peek() == JsonToken.NULL) {\n");
+        builder.append("        in.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      in.beginObject();\n");
+        builder.append("      while (in.hasNext()) {\n");
+        builder.append("        switch (in.nextName()) {\n");
+        for (Method getter : getters) {
+            emitStreamDeserializeFieldForMethod(getter, builder);
+        }
+        builder.append("          default:\n");
+        builder.append("            in.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      in.endObject();\n");
+        builder.append("\n      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    private void emitStreamDeserializeFieldForMethod(Method method, StringBuilder builder) {
+        final String fieldName = getFieldNameFromGetterName(method.getName());
+        final String fieldNameOut = fieldName + "Out";
+        final String baseIndentation = "            ";
+        builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(method))).append(": {\n");
+        emitStreamDeserializerImpl(expandType(method.getGenericReturnType()), 0, builder, fieldNameOut, baseIndentation);
+        builder.append(baseIndentation).append("dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+        builder.append(baseIndentation).append("break;\n");
+        builder.append("          }\n");
+    }
+
+    /**
+     * Produces code to read the type from JsonReader into the variable with the given name.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output of deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String childOutVar = outVar + "_";
+
+        if (isList(rawClass) || isMap(rawClass)) {
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (in.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  in.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  in.beginArray();\n");
+                builder.append(i).append("  while (in.hasNext()) {\n");
+                emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  in.endArray();\n");
+            } else {
+                final String keyVar = outVar + "Key";
+                builder.append(i).append("  in.beginObject();\n");
+                builder.append(i).append("  while (in.hasNext()) {\n");
+                builder.append(i).append("    String ").append(keyVar).append(" = in.nextName();\n");
+                emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  in.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".readFrom(in);\n");
+        } else if (rawClass.isPrimitive()) {
+            // gson reads null as null, keep default value of primitive in this case
+            final String wrapperName = Primitives.wrap(rawClass).getName();
+            final String primitiveName = rawClass.getSimpleName();
+            builder.append(i).append(wrapperName).append(" ").append(childOutVar).append(" = gson.fromJson(in, ")
+                   .append(primitiveName).append(".class);\n");
+            builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = ").append(childOutVar)
+                   .append(" == null ? ").append(rawClass == boolean.class ? "false" : "0").append(" : ").append(childOutVar)
+                   .append(";\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(in);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".readFrom(in);\n");
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(in, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializerShortcut(StringBuilder builder) {
         builder.append("    public static ");
         builder.append(getImplClassName());
@@ -17,17 +17,21 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -143,6 +147,29 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Serializes DTO to JSON and writes it to the specified writer without building intermediate JSON tree.
+     *
+     * @param dto
+     *         DTO object
+     * @param writer
+     *         writer to write JSON to, it is flushed but not closed
+     * @throws IllegalArgumentException
+     *         if specified object doesn't implement {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toJson(T dto, Writer writer) throws IOException {
+        if (dto instanceof JsonSerializable) {
+            final JsonWriter out = new JsonWriter(writer);
+            out.setLenient(true);
+            ((JsonSerializable)dto).writeTo(out);
+            out.flush();
+            return;
+        }
+        throw new IllegalArgumentException("JsonSerializable instance required. ");
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -208,14 +235,21 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        // DTO is read directly from the stream without reading whole JSON in memory
+        final JsonReader reader = new JsonReader(json);
+        reader.setLenient(true);
+        try {
+            reader.peek();
+        } catch (EOFException e) {
+            // empty document
+            return null;
+        }
+        try {
+            return dtoProvider.fromJson(reader);
+        } catch (MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
         }
-        return dtoProvider.fromJson(sb.toString());
     }
 
     /**
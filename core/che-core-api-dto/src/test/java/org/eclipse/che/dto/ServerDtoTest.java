@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -29,6 +30,8 @@ import org.eclipse.che.dto.server.DtoFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +39,7 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -325,6 +329,78 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void testStreamingSerializerWritesTheSameJsonAsJsonTree() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto();
+        // null values of map are omitted
+        final Map<String, SimpleDto> mapWithNull = new HashMap<>(dto.getMap());
+        mapWithNull.put("null", null);
+        dto.withMap(mapWithNull);
+        final DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                                .withObjects(createListTestValueForAny());
+
+        assertEquals(dtoFactory.toJson(dto), new GsonBuilder().disableHtmlEscaping().create().toJson(dtoFactory.toJsonElement(dto)));
+        assertEquals(dtoFactory.toJson(dtoWithAny),
+                     new GsonBuilder().disableHtmlEscaping().create().toJson(dtoFactory.toJsonElement(dtoWithAny)));
+    }
+
+    @Test
+    public void testStreamingSerializerToWriter() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto();
+        final StringWriter writer = new StringWriter();
+
+        dtoFactory.toJson(dto, writer);
+
+        assertEquals(writer.toString(), dtoFactory.toJson(dto));
+    }
+
+    @Test
+    public void testStreamingDeserializer() throws Exception {
+        final ComplicatedDto dto = createComplicatedDto();
+
+        final ComplicatedDto result = dtoFactory.createDtoFromJson(new StringReader(dtoFactory.toJson(dto)), ComplicatedDto.class);
+
+        assertEquals(result, dto);
+    }
+
+    @Test
+    public void testStreamingDeserializerSkipsUnknownProperties() throws Exception {
+        final String json = "{\"unknown\":{\"a\":[1,2,{\"b\":null}]},\"name\":\"Something\",\"id\":1,\"default\":\"test\",\"other\":null}";
+
+        final SimpleDto dto = dtoFactory.createDtoFromJson(new StringReader(json), SimpleDto.class);
+
+        checkSimpleDto(dto, "Something", 1, "test");
+    }
+
+    @Test
+    public void testStreamingDeserializerWithAny() throws Exception {
+        final DtoWithAny dto = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                         .withObjects(createListTestValueForAny());
+
+        final DtoWithAny result = dtoFactory.createDtoFromJson(new StringReader(dtoFactory.toJson(dto)), DtoWithAny.class);
+
+        assertEquals(result.getStuff(), createTestValueForAny());
+        assertEquals(result.getObjects(), createListTestValueForAny());
+    }
+
+    @Test
+    public void testStreamingDeserializerReturnsNullForEmptyJson() throws Exception {
+        assertNull(dtoFactory.createDtoFromJson(new StringReader(""), SimpleDto.class));
+        assertNull(dtoFactory.createDtoFromJson(new StringReader("null"), SimpleDto.class));
+    }
+
+    private ComplicatedDto createComplicatedDto() {
+        final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("<Something>").withId(1).withDefault("d\u00e9faut");
+        final Map<String, SimpleDto> mapDtos = new HashMap<>();
+        mapDtos.put("key", simpleDto);
+        return dtoFactory.createDto(ComplicatedDto.class)
+                         .withStrings(asList("Something 1", null, "Something \"2\""))
+                         .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                         .withMap(mapDtos)
+                         .withSimpleDtos(asList(simpleDto, null))
+                         .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE, ComplicatedDto.SimpleEnum.THREE)));
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.websocket.ng.impl;
 
+import org.eclipse.che.api.core.websocket.shared.CompactWebSocketTransmission;
 import org.eclipse.che.ide.util.loging.Log;
 
 import javax.inject.Inject;
@@ -39,7 +40,7 @@ public class SessionWebSocketInitializer implements WebSocketInitializer {
         final String url = properties.get("url");
 
         sustainer.enable();
-        connection.initialize(url).open(IMMEDIATELY);
+        connection.initialize(withCompactEncoding(url)).open(IMMEDIATELY);
     }
 
     @Override
@@ -49,4 +50,12 @@ public class SessionWebSocketInitializer implements WebSocketInitializer {
         sustainer.disable();
         connection.close();
     }
+
+    /** Asks server to send transmissions in compact form, see {@link CompactWebSocketTransmission}. */
+    private static String withCompactEncoding(String url) {
+        if (url == null) {
+            return null;
+        }
+        return url + (url.contains("?") ? '&' : '?') + "encoding=compact";
+    }
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.websocket.ng.impl;
 
+import org.eclipse.che.api.core.websocket.shared.CompactWebSocketTransmission;
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.util.loging.Log;
@@ -24,7 +25,8 @@ import java.util.Objects;
 /**
  * Dispatches a {@link WebSocketTransmission} messages among registered receivers
  * ({@link WebSocketMessageReceiver}) according to WEB SOCKET transmission protocol
- * field value.
+ * field value. Both regular and compact ({@link CompactWebSocketTransmission})
+ * encodings of transmissions are accepted.
  *
  * @author Dmitry Kuleshov
  */
@@ -45,7 +47,7 @@ public class WebSocketTransmissionDispatcher {
     }
 
     public void dispatch(String rawTransmission) {
-        final WebSocketTransmission transmission = dtoFactory.createDtoFromJson(rawTransmission, WebSocketTransmission.class);
+        final WebSocketTransmission transmission = parse(rawTransmission);
         validator.validate(transmission);
 
         final String protocol = transmission.getProtocol();
@@ -64,4 +66,15 @@ public class WebSocketTransmissionDispatcher {
             }
         }
     }
+
+    private WebSocketTransmission parse(String rawTransmission) {
+        if (!rawTransmission.startsWith("[")) {
+            return dtoFactory.createDtoFromJson(rawTransmission, WebSocketTransmission.class);
+        }
+
+        final CompactWebSocketTransmission compact = dtoFactory.createDtoFromJson(rawTransmission, CompactWebSocketTransmission.class);
+        return dtoFactory.createDto(WebSocketTransmission.class)
+                         .withProtocol(compact.getProtocol())
+                         .withMessage(compact.getMessage());
+    }
 }
@@ -49,7 +49,14 @@ public class SessionWebSocketInitializerTest {
     public void shouldInitializeControllerOnInitialize() {
         initializer.initialize(singletonMap("url", "url-value"));
 
-        verify(connection).initialize((eq("url-value")));
+        verify(connection).initialize((eq("url-value?encoding=compact")));
+    }
+
+    @Test
+    public void shouldAppendEncodingToExistingQueryOnInitialize() {
+        initializer.initialize(singletonMap("url", "url-value?token=123"));
+
+        verify(connection).initialize((eq("url-value?token=123&encoding=compact")));
     }
 
     @Test
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.websocket.ng.impl;
 
+import org.eclipse.che.api.core.websocket.shared.CompactWebSocketTransmission;
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
 import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.websocket.ng.WebSocketMessageReceiver;
@@ -40,6 +41,7 @@ public class WebSocketTransmissionDispatcherTest {
     private static final String NOT_REGISTERED_PROTOCOL = "not-registered-protocol";
     private static final String MESSAGE                 = "message";
     private static final String RAW_TRANSMISSION        = "raw_transmission";
+    private static final String COMPACT_TRANSMISSION    = "[\"registered-protocol\",\"message\"]";
     @Mock
     private Map<String, WebSocketMessageReceiver> receivers;
     @Mock
@@ -50,9 +52,11 @@ public class WebSocketTransmissionDispatcherTest {
     private WebSocketTransmissionDispatcher       dispatcher;
 
     @Mock
-    private WebSocketTransmission    transmission;
+    private WebSocketTransmission        transmission;
     @Mock
-    private WebSocketMessageReceiver receiver;
+    private WebSocketMessageReceiver     receiver;
+    @Mock
+    private CompactWebSocketTransmission compactTransmission;
 
     @Before
     public void before() {
@@ -93,4 +97,20 @@ public class WebSocketTransmissionDispatcherTest {
 
         verify(receiver, never()).receive(MESSAGE);
     }
+
+    @Test
+    public void shouldRunReceiverOnCompactTransmission() {
+        when(dtoFactory.createDtoFromJson(any(), eq(CompactWebSocketTransmission.class))).thenReturn(compactTransmission);
+        when(compactTransmission.getProtocol()).thenReturn(REGISTERED_PROTOCOL);
+        when(compactTransmission.getMessage()).thenReturn(MESSAGE);
+        when(dtoFactory.createDto(WebSocketTransmission.class)).thenReturn(transmission);
+        when(transmission.withProtocol(REGISTERED_PROTOCOL)).thenReturn(transmission);
+        when(transmission.withMessage(MESSAGE)).thenReturn(transmission);
+
+        dispatcher.dispatch(COMPACT_TRANSMISSION);
+
+        verify(dtoFactory).createDtoFromJson(COMPACT_TRANSMISSION, CompactWebSocketTransmission.class);
+        verify(validator).validate(transmission);
+        verify(receiver).receive(MESSAGE);
+    }
 }
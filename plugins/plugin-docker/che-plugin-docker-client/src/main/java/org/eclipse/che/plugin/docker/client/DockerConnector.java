@@ -35,6 +35,7 @@ import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.client.json.ContainerExitStatus;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
 import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
+import org.eclipse.che.plugin.docker.client.json.ContainerListEntryTypeAdapter;
 import org.eclipse.che.plugin.docker.client.json.ContainerProcesses;
 import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.json.ExecConfig;
@@ -128,6 +129,8 @@ public class DockerConnector {
     // Docker uses uppercase in first letter in names of json objects, e.g. {"Id":"123"} instead of {"id":"123"}
     private static final Gson   GSON = new GsonBuilder().disableHtmlEscaping()
                                                         .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE)
+                                                        .registerTypeAdapter(ContainerListEntry.class,
+                                                                             new ContainerListEntryTypeAdapter())
                                                         .create();
 
     private final URI                        dockerDaemonUri;
@@ -160,9 +163,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public SystemInfo getSystemInfo() throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/info")) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/info")) {
             final DockerResponse response = connection.request();
             if (OK.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
@@ -179,9 +182,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public Version getVersion() throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/version")) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/version")) {
             final DockerResponse response = connection.request();
             if (OK.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
@@ -198,9 +201,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public List<Image> listImages() throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/images/json")) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/images/json")) {
             final DockerResponse response = connection.request();
             if (OK.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
@@ -228,9 +231,9 @@ public class DockerConnector {
     public List<ContainerListEntry> listContainers(ListContainersParams params) throws IOException {
         final Filters filters = params.getFilters();
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/containers/json")) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/containers/json")) {
             addQueryParamIfNotNull(connection, "all", params.isAll());
             addQueryParamIfNotNull(connection, "size", params.isSize());
             addQueryParamIfNotNull(connection, "limit", params.getLimit());
@@ -268,9 +271,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public ImageInfo inspectImage(InspectImageParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/images/" + params.getImage() + "/json")) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/images/" + params.getImage() + "/json")) {
             final DockerResponse response = connection.request();
             if (OK.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
@@ -289,6 +292,7 @@ public class DockerConnector {
         final Long timeout = (params.getTimeout() == null) ? null :
                              (params.getTimeunit() == null) ? params.getTimeout() : params.getTimeunit().toSeconds(params.getTimeout());
 
+        // docker waits for container to stop up to timeout, so pooled connection isn't used
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
@@ -309,9 +313,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public void killContainer(final KillContainerParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("POST")
-                                                            .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("POST")
+                                                                  .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
                                                                   "/kill")) {
             addQueryParamIfNotNull(connection, "signal", params.getSignal());
             final DockerResponse response = connection.request();
@@ -339,9 +343,12 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public void removeContainer(final RemoveContainerParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("DELETE")
-                                                            .path(apiVersionPathPrefix + "/containers/" + params.getContainer())) {
+        // forced removal stops running container and removal of volumes deletes their data, both may take long
+        final boolean longRunning = Boolean.TRUE.equals(params.isForce()) || Boolean.TRUE.equals(params.isRemoveVolumes());
+        try (DockerConnection connection = (longRunning ? connectionFactory.openConnection(dockerDaemonUri)
+                                                        : connectionFactory.openPooledConnection(dockerDaemonUri))
+                .method("DELETE")
+                .path(apiVersionPathPrefix + "/containers/" + params.getContainer())) {
             addQueryParamIfNotNull(connection, "force", params.isForce());
             addQueryParamIfNotNull(connection, "v", params.isRemoveVolumes());
             final DockerResponse response = connection.request();
@@ -403,9 +410,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public ContainerInfo inspectContainer(final InspectContainerParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
                                                                   "/json")) {
             addQueryParamIfNotNull(connection, "size", params.isReturnContainerSize());
             final DockerResponse response = connection.request();
@@ -499,12 +506,13 @@ public class DockerConnector {
                                                       .withAttachStdout(params.isDetach() == Boolean.FALSE);
         byte[] entityBytesArray = toJson(execConfig).getBytes(StandardCharsets.UTF_8);
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("POST")
-                                                            .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/exec")
-                                                            .header("Content-Type", MediaType.APPLICATION_JSON)
-                                                            .header("Content-Length", entityBytesArray.length)
-                                                            .entity(entityBytesArray)) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("POST")
+                                                                  .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
+                                                                  "/exec")
+                                                                  .header("Content-Type", MediaType.APPLICATION_JSON)
+                                                                  .header("Content-Length", entityBytesArray.length)
+                                                                  .entity(entityBytesArray)) {
             final DockerResponse response = connection.request();
             if (response.getStatus() / 100 != 2) {
                 throw getDockerException(response);
@@ -565,9 +573,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public ExecInfo getExecInfo(final GetExecInfoParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/exec/" + params.getExecId() + "/json")) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/exec/" + params.getExecId() + "/json")) {
             final DockerResponse response = connection.request();
             if (OK.getStatusCode() != response.getStatus()) {
                 throw getDockerException(response);
@@ -588,10 +596,10 @@ public class DockerConnector {
     public ContainerProcesses top(final TopParams params) throws IOException {
         final String[] psArgs = params.getPsArgs();
 
-        try (final DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                                  .method("GET")
-                                                                  .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
-                                                                        "/top")) {
+        try (final DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                        .method("GET")
+                                                                        .path(apiVersionPathPrefix + "/containers/" +
+                                                                              params.getContainer() + "/top")) {
             if (psArgs != null && psArgs.length != 0) {
                 StringBuilder psArgsQueryBuilder = new StringBuilder();
                 for (int i = 0, l = psArgs.length; i < l; i++) {
@@ -838,9 +846,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public void removeImage(final RemoveImageParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("DELETE")
-                                                            .path(apiVersionPathPrefix + "/images/" + params.getImage())) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("DELETE")
+                                                                  .path(apiVersionPathPrefix + "/images/" + params.getImage())) {
             addQueryParamIfNotNull(connection, "force", params.isForce());
             final DockerResponse response = connection.request();
             if (OK.getStatusCode() != response.getStatus()) {
@@ -859,10 +867,10 @@ public class DockerConnector {
      */
     public void tag(final TagParams params) throws ImageNotFoundException,
                                                    IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("POST")
-                                                            .path(apiVersionPathPrefix + "/images/" + params.getImage() + "/tag")
-                                                            .query("repo", params.getRepository())) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("POST")
+                                                                  .path(apiVersionPathPrefix + "/images/" + params.getImage() + "/tag")
+                                                                  .query("repo", params.getRepository())) {
             addQueryParamIfNotNull(connection, "force", params.isForce());
             addQueryParamIfNotNull(connection, "tag", params.getTag());
             final DockerResponse response = connection.request();
@@ -953,6 +961,7 @@ public class DockerConnector {
      */
     public String commit(final CommitParams params) throws IOException {
         // TODO: add option to pause container
+        // committing of container may take minutes, so pooled connection isn't used
         try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/commit")
@@ -1050,12 +1059,12 @@ public class DockerConnector {
     public ContainerCreated createContainer(final CreateContainerParams params) throws IOException {
         byte[] entityBytesArray = toJson(params.getContainerConfig()).getBytes(StandardCharsets.UTF_8);
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("POST")
-                                                            .path(apiVersionPathPrefix + "/containers/create")
-                                                            .header("Content-Type", MediaType.APPLICATION_JSON)
-                                                            .header("Content-Length", entityBytesArray.length)
-                                                            .entity(entityBytesArray)) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("POST")
+                                                                  .path(apiVersionPathPrefix + "/containers/create")
+                                                                  .header("Content-Type", MediaType.APPLICATION_JSON)
+                                                                  .header("Content-Length", entityBytesArray.length)
+                                                                  .entity(entityBytesArray)) {
             addQueryParamIfNotNull(connection, "name", params.getContainerName());
             final DockerResponse response = connection.request();
             if (CREATED.getStatusCode() != response.getStatus()) {
@@ -1072,9 +1081,9 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public void startContainer(final StartContainerParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("POST")
-                                                            .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("POST")
+                                                                  .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
                                                                   "/start")) {
             final DockerResponse response = connection.request();
             final int status = response.getStatus();
@@ -1109,9 +1118,9 @@ public class DockerConnector {
     public List<Network> getNetworks(GetNetworksParams params) throws IOException {
         final Filters filters = params.getFilters();
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/networks")) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/networks")) {
             if (filters != null) {
                 connection.query("filters", urlPathSegmentEscaper().escape(toJson(filters.getFilters())));
             }
@@ -1140,9 +1149,9 @@ public class DockerConnector {
      *         when problems occurs with docker api calls
      */
     public Network inspectNetwork(InspectNetworkParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("GET")
-                                                            .path(apiVersionPathPrefix + "/networks/" + params.getNetworkId())) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("GET")
+                                                                  .path(apiVersionPathPrefix + "/networks/" + params.getNetworkId())) {
             final DockerResponse response = connection.request();
             if (response.getStatus() / 100 != 2) {
                 throw getDockerException(response);
@@ -1160,12 +1169,12 @@ public class DockerConnector {
     public NetworkCreated createNetwork(CreateNetworkParams params) throws IOException {
         byte[] entityBytesArray = toJson(params.getNetwork()).getBytes(StandardCharsets.UTF_8);
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("POST")
-                                                            .path(apiVersionPathPrefix + "/networks/create")
-                                                            .header("Content-Type", MediaType.APPLICATION_JSON)
-                                                            .header("Content-Length", entityBytesArray.length)
-                                                            .entity(entityBytesArray)) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("POST")
+                                                                  .path(apiVersionPathPrefix + "/networks/create")
+                                                                  .header("Content-Type", MediaType.APPLICATION_JSON)
+                                                                  .header("Content-Length", entityBytesArray.length)
+                                                                  .entity(entityBytesArray)) {
             final DockerResponse response = connection.request();
             if (response.getStatus() / 100 != 2) {
                 throw getDockerException(response);
@@ -1193,12 +1202,13 @@ public class DockerConnector {
     public void connectContainerToNetwork(ConnectContainerToNetworkParams params) throws IOException {
         byte[] entityBytesArray = toJson(params.getConnectContainer()).getBytes(StandardCharsets.UTF_8);
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("POST")
-                                                            .path(apiVersionPathPrefix + "/networks/" + params.getNetworkId() + "/connect")
-                                                            .header("Content-Type", MediaType.APPLICATION_JSON)
-                                                            .header("Content-Length", entityBytesArray.length)
-                                                            .entity(entityBytesArray)) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("POST")
+                                                                  .path(apiVersionPathPrefix + "/networks/" + params.getNetworkId() +
+                                                                  "/connect")
+                                                                  .header("Content-Type", MediaType.APPLICATION_JSON)
+                                                                  .header("Content-Length", entityBytesArray.length)
+                                                                  .entity(entityBytesArray)) {
             final DockerResponse response = connection.request();
             if (response.getStatus() / 100 != 2) {
                 throw getDockerException(response);
@@ -1227,9 +1237,9 @@ public class DockerConnector {
     public void disconnectContainerFromNetwork(DisconnectContainerFromNetworkParams params) throws IOException {
         byte[] entityBytesArray = toJson(params.getDisconnectContainer()).getBytes(StandardCharsets.UTF_8);
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("POST")
-                                                            .path(apiVersionPathPrefix + "/networks/" + params.getNetworkId() +
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("POST")
+                                                                  .path(apiVersionPathPrefix + "/networks/" + params.getNetworkId() +
                                                                   "/disconnect")
                                                             .header("Content-Type", MediaType.APPLICATION_JSON)
                                                             .header("Content-Length", entityBytesArray.length)
@@ -1260,9 +1270,9 @@ public class DockerConnector {
      *         when a problem occurs with docker api calls
      */
     public void removeNetwork(RemoveNetworkParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
-                                                            .method("DELETE")
-                                                            .path(apiVersionPathPrefix + "/networks/" + params.getNetworkId())) {
+        try (DockerConnection connection = connectionFactory.openPooledConnection(dockerDaemonUri)
+                                                                  .method("DELETE")
+                                                                  .path(apiVersionPathPrefix + "/networks/" + params.getNetworkId())) {
             final DockerResponse response = connection.request();
             int status = response.getStatus();
             if (status == 404) {
@@ -1287,7 +1297,7 @@ public class DockerConnector {
     }
 
     protected <T> T parseResponseStreamAndClose(InputStream inputStream, Class<T> clazz) throws IOException {
-        try (InputStreamReader reader = new InputStreamReader(inputStream)) {
+        try (InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
             return GSON.fromJson(reader, clazz);
         } catch (JsonParseException e) {
             throw new IOException(e.getLocalizedMessage(), e);
@@ -1295,7 +1305,7 @@ public class DockerConnector {
     }
 
     protected <T> T parseResponseStreamAndClose(InputStream inputStream, TypeToken<T> tt) throws IOException {
-        try (InputStreamReader reader = new InputStreamReader(inputStream)) {
+        try (InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
             return GSON.fromJson(reader, tt.getType());
         } catch (JsonParseException e) {
             throw new IOException(e.getLocalizedMessage(), e);
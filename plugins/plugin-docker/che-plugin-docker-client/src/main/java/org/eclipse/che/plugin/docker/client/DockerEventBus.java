@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers docker events to all {@link DockerEventSubscriber subscribers} over a single connection to docker events API.
+ * <p/>
+ * Connection is reestablished when it is closed, e.g. because of read timeout. Events which happened
+ * while there was no connection are requested again starting from the time of the last received event,
+ * events which have been delivered already are not delivered twice.
+ */
+@Singleton
+public class DockerEventBus {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerEventBus.class);
+
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DockerConnector    docker;
+    private final List<Subscription> subscriptions;
+    private final String[]           events;
+    private final ExecutorService    executor;
+    private final Set<String>        lastSecondEvents;
+
+    private long lastEventTime;
+
+    @Inject
+    public DockerEventBus(DockerConnector docker, Set<DockerEventSubscriber> subscribers) {
+        this.docker = docker;
+        this.subscriptions = new ArrayList<>(subscribers.size());
+        this.lastSecondEvents = new HashSet<>();
+        Set<String> events = new HashSet<>();
+        for (DockerEventSubscriber subscriber : subscribers) {
+            final Subscription subscription = new Subscription(subscriber);
+            subscriptions.add(subscription);
+            if (events != null && subscription.events != null) {
+                events.addAll(subscription.events);
+            } else {
+                // subscriber is interested in all events, so they can't be filtered by docker
+                events = null;
+            }
+        }
+        this.events = events == null ? null : events.toArray(new String[events.size()]);
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("DockerEventBus-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+    }
+
+    @PostConstruct
+    private void start() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                final GetEventsParams params = GetEventsParams.create().withSinceSecond(lastEventTime);
+                if (events != null) {
+                    params.withFilters(new Filters().withFilter("event", events));
+                }
+                try {
+                    docker.getEvents(params, this::dispatch);
+                } catch (IOException e) {
+                    // usually connection timeout
+                    LOG.debug(e.getLocalizedMessage(), e);
+                    try {
+                        // do not flood docker with reconnects if it is not available
+                        TimeUnit.MILLISECONDS.sleep(RECONNECT_DELAY_MS);
+                    } catch (InterruptedException ignored) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    private void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Delivers event to subscribers which are interested in it, skips events which have been delivered already. */
+    @VisibleForTesting
+    void dispatch(Event event) {
+        if (event.getType() == null) {
+            // events of old format have no type, only events of containers contain image of container
+            event.withType(event.getFrom() != null ? "container" : "image");
+        }
+        if (event.getAction() == null) {
+            event.withAction(event.getStatus());
+        }
+        if (!isNew(event)) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.matches(event)) {
+                try {
+                    subscription.subscriber.onEvent(event);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+    }
+
+    private boolean isNew(Event event) {
+        if (event.getTime() > lastEventTime) {
+            lastEventTime = event.getTime();
+            lastSecondEvents.clear();
+        } else if (event.getTime() < lastEventTime) {
+            // can't be a repeated event, because events are requested again only since the time of the last event
+            return true;
+        }
+        return lastSecondEvents.add(event.getTimeNano() + " " + event.getType() + " " + event.getAction() + " " + event.getId() +
+                                    " " + (event.getActor() != null ? event.getActor().getId() : null));
+    }
+
+    private static class Subscription {
+        final DockerEventSubscriber subscriber;
+        final Set<String>           types;
+        final Set<String>           events;
+
+        Subscription(DockerEventSubscriber subscriber) {
+            this.subscriber = subscriber;
+            final Filters filters = subscriber.getFilters();
+            this.types = filters.getFilters().containsKey("type") ? new HashSet<>(filters.getFilter("type")) : null;
+            this.events = filters.getFilters().containsKey("event") ? new HashSet<>(filters.getFilter("event")) : null;
+        }
+
+        boolean matches(Event event) {
+            return (types == null || types.contains(event.getType())) &&
+                   (events == null || events.contains(event.getAction()));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+
+/**
+ * Subscriber of docker events delivered by {@link DockerEventBus}.
+ * Subscribers are registered with Guice multibinder, e.g.
+ * <pre>
+ *     Multibinder.newSetBinder(binder(), DockerEventSubscriber.class).addBinding().to(MySubscriber.class);
+ * </pre>
+ */
+public interface DockerEventSubscriber {
+    /**
+     * Returns filters of events this subscriber is interested in.
+     * Supported filters are {@code type}, e.g. container, image or network,
+     * and {@code event}, e.g. die or untag. Absence of a filter means any value.
+     */
+    Filters getFilters();
+
+    /**
+     * Receives event that matches {@link #getFilters() filters} of this subscriber.
+     * Events are delivered one by one from a single thread, so implementation should not block.
+     * <p/>
+     * Events of old docker API versions, which have neither type nor action,
+     * are delivered with type and action evaluated from the other fields of event.
+     */
+    void onEvent(Event event);
+}
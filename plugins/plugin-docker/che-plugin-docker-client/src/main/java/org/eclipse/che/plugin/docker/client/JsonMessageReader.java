@@ -11,30 +11,41 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonIOException;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
-import com.google.gson.JsonStreamParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.EventTypeAdapter;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatusTypeAdapter;
+
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PushbackReader;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Docker daemon sends chunked data in response. One chunk isn't always one JSON object so need to read full chunk at once to be able
  * restore JSON object. This reader merges (if needs) few chunks until get full JSON object that we can parse.
  * Parameter of this class is class where JSON message should be parsed.
+ * <p/>
+ * Messages are decoded token by token directly from the stream, messages that Docker sends often, such as {@link Event}
+ * and {@link ProgressStatus}, are read by hand-written type adapters without reflection.
  *
  * @author Alexander Garagatyi
  */
 public class JsonMessageReader<T> {
-    private static final Gson GSON = new Gson();
-
-    private final JsonStreamParser streamParser;
-    private final Class<T>         messageClass;
-    private final PushbackReader   reader;
+    private static final Gson GSON = new GsonBuilder().registerTypeAdapter(Event.class, new EventTypeAdapter())
+                                                      .registerTypeAdapter(ProgressStatus.class, new ProgressStatusTypeAdapter())
+                                                      .create();
 
-    private boolean firstRead = true;
+    private final JsonReader     reader;
+    private final TypeAdapter<T> adapter;
 
     /**
      * @param source source of messages in JSON format
@@ -43,10 +54,10 @@ public class JsonMessageReader<T> {
      *                     we can't get parameter class of current class.
      */
     public JsonMessageReader(InputStream source, Class<T> messageClass) {
-        // we need to push back only 1 char, read more further
-        this.reader = new PushbackReader(new InputStreamReader(source), 1);
-        this.streamParser = new JsonStreamParser(reader);
-        this.messageClass = messageClass;
+        this.reader = new JsonReader(new InputStreamReader(source, StandardCharsets.UTF_8));
+        // messages are not wrapped into JSON array, lenient reader accepts sequence of top level values
+        this.reader.setLenient(true);
+        this.adapter = GSON.getAdapter(messageClass);
     }
 
     /**
@@ -56,25 +67,13 @@ public class JsonMessageReader<T> {
      * @throws IOException if error occurs on reading stream
      */
     public T next() throws IOException {
-        // on first read we check if this stream is empty with reading of the first byte of stream
-        // if so we do not call JsonStreamParser.hasNext() because it will throw exception
-        // if not we return read byte to stream using PushbackInputStream
-        if (firstRead) {
-            int firstChar = reader.read();
-            if (firstChar == -1) {
-                return null;
-            } else {
-                reader.unread(firstChar);
-                firstRead = false;
-            }
-        }
         try {
-            if (streamParser.hasNext()) {
-                return GSON.fromJson(streamParser.next(), messageClass);
+            if (reader.peek() == JsonToken.END_DOCUMENT) {
+                return null;
             }
-        } catch (JsonIOException e) {
-            throw new IOException(e);
-        } catch (JsonParseException ignore) {
+            return adapter.read(reader);
+        } catch (EOFException | MalformedJsonException | JsonParseException | IllegalStateException | NumberFormatException ignore) {
+            // stream is empty, ends in the middle of message or contains not a JSON
         }
         return null;
     }
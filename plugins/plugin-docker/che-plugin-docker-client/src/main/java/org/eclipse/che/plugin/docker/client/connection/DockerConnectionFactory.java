@@ -18,6 +18,8 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
 import javax.inject.Named;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Factory for connections to docker API.
@@ -29,6 +31,8 @@ import java.net.URI;
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "docker.connection.tcp.connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "docker.connection.tcp.read_timeout_ms";
+    public static final String POOL_MAX_CONNECTIONS_PROPERTY       = "docker.connection.pool.max_connections";
+    public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY       = "docker.connection.pool.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,13 +42,26 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    @Inject(optional = true)
+    @Named(POOL_MAX_CONNECTIONS_PROPERTY)
+    private int poolMaxConnections = 16;
+
+    @Inject(optional = true)
+    @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private int poolIdleTimeoutMs = 30000;
+
+    private final DockerCertificates                    dockerCertificates;
+    private final ConcurrentMap<String, UnixSocketPool> unixSocketPools = new ConcurrentHashMap<>();
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
     }
 
+    /**
+     * Opens connection which is used only by the caller and is closed together with underlying socket. Such connection should be
+     * used for long running requests that stream data, e.g. events, logs or attaching to container.
+     */
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
             return new UnixSocketConnection(dockerDaemonUri.getPath());
@@ -52,4 +69,25 @@ public class DockerConnectionFactory {
             return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
         }
     }
+
+    /**
+     * Opens connection for short request which response is read right after request is sent. Underlying socket is reused for many
+     * requests that saves time on establishing of connection. Unused rest of response is skipped when connection is closed.
+     * Should not be used for requests that stream data or wait for docker to finish long operation, since they hold socket for
+     * long time and don't allow to reuse it.
+     * <p/>
+     * Only unix socket connections are reused. TCP connections ask docker to close socket after response, that is needed to
+     * work around https://github.com/docker/docker/issues/12845.
+     */
+    public DockerConnection openPooledConnection(URI dockerDaemonUri) {
+        if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
+            return new UnixSocketConnection(unixSocketPools.computeIfAbsent(dockerDaemonUri.getPath(),
+                                                                            path -> new UnixSocketPool(path,
+                                                                                                       poolMaxConnections,
+                                                                                                       poolIdleTimeoutMs,
+                                                                                                       connectionTimeoutMs)));
+        } else {
+            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.sun.jna.Native;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Connected unix socket together with its buffered streams. Streams are kept with socket since buffered input might contain data
+ * of the next response when socket is used for many requests.
+ */
+class UnixSocket implements Closeable {
+    private final int          fd;
+    private final InputStream  input;
+    private final OutputStream output;
+
+    private long lastUsedTime;
+
+    static UnixSocket connect(String socketPath) throws IOException {
+        final CLibrary cLib = getCLibrary();
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(socketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+        }
+        return new UnixSocket(fd);
+    }
+
+    private UnixSocket(int fd) {
+        this.fd = fd;
+        input = new BufferedInputStream(new UnixSocketInputStream(fd));
+        output = new BufferedOutputStream(new UnixSocketOutputStream(fd));
+        lastUsedTime = System.currentTimeMillis();
+    }
+
+    InputStream getInputStream() {
+        return input;
+    }
+
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    long getLastUsedTime() {
+        return lastUsedTime;
+    }
+
+    void touch() {
+        lastUsedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Checks whether idle socket may be used for the next request. Socket is not usable if it is closed by docker or if there is
+     * some unexpected data in it.
+     */
+    boolean isUsable() throws IOException {
+        if (input.available() > 0) {
+            return false;
+        }
+        final int n = getCLibrary().recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT);
+        return n == -1 && Native.getLastError() == EAGAIN;
+    }
+
+    @Override
+    public void close() {
+        getCLibrary().close(fd);
+    }
+}
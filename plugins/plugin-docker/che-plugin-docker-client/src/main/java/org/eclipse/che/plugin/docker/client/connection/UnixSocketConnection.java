@@ -13,68 +13,61 @@ package org.eclipse.che.plugin.docker.client.connection;
 import com.google.common.base.Strings;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
-import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
-
 /**
+ * Connection to docker unix socket. Connection either opens its own socket which is closed with connection or uses socket from
+ * {@link UnixSocketPool}. Pooled socket is returned to pool when connection is closed and may be reused if response was read
+ * completely.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private final String         dockerSocketPath;
+    private final UnixSocketPool pool;
 
-    private int fd = -1;
+    private UnixSocket               socket;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
         this.dockerSocketPath = dockerSocketPath;
+        this.pool = null;
+    }
+
+    UnixSocketConnection(UnixSocketPool pool) {
+        this.dockerSocketPath = null;
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+        socket = pool == null ? UnixSocket.connect(dockerSocketPath) : pool.acquire();
+        final OutputStream output = socket.getOutputStream();
         writeHttpHeaders(output, method, path, query, headers);
         if (entity != null) {
             entity.writeTo(output);
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        return response = new UnixSocketDockerResponse(socket.getInputStream());
     }
 
 
     @Override
     public void close() {
-        if (fd != -1) {
-            getCLibrary().close(fd);
-        }
-    }
-
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        if (socket != null) {
+            if (pool == null) {
+                socket.close();
+            } else {
+                pool.release(socket, response != null && response.consume());
+            }
+            socket = null;
         }
-        return fd;
     }
 
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
@@ -98,12 +91,4 @@ public class UnixSocketConnection extends DockerConnection {
         writer.write("Host: \r\n\r\n");
         writer.flush();
     }
-
-    private InputStream openInputStream(int fd) {
-        return new UnixSocketInputStream(fd);
-    }
-
-    private OutputStream openOutputStream(int fd) {
-        return new UnixSocketOutputStream(fd);
-    }
 }
@@ -19,6 +19,9 @@ import java.util.List;
 * @author andrew00x
 */
 public class UnixSocketDockerResponse implements DockerResponse {
+    /** Max number of bytes of unread response that may be skipped to reuse connection. */
+    private static final int MAX_SKIPPED_BYTES = 64 * 1024;
+
     private static final InputStream EMPTY = new InputStream() {
         @Override
         public int read() throws IOException {
@@ -143,6 +146,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int statusCode = getStatus();
+        if (statusCode == 204 || statusCode == 304) {
+            // response doesn't have body
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
@@ -152,4 +160,29 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Skips the rest of response body. Returns {@code true} if end of response is reached and connection may be used for the next
+     * request and {@code false} if response is incomplete, its length is not known or docker asks to close connection.
+     */
+    synchronized boolean consume() {
+        try {
+            getInputStream();
+            if (data == rawData || "close".equalsIgnoreCase(getHeader("Connection"))) {
+                return false;
+            }
+            final byte[] buf = new byte[8192];
+            int skipped = 0;
+            int n;
+            while ((n = data.read(buf)) != -1) {
+                skipped += n;
+                if (skipped > MAX_SKIPPED_BYTES) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Pool of connections to docker unix socket. Number of connections that are in use at the same time is limited. Released
+ * connections are kept open for the next requests until they are idle longer than configured timeout. Before reuse each idle
+ * connection is checked whether docker didn't close it.
+ */
+class UnixSocketPool {
+    private final String            socketPath;
+    private final Semaphore         permits;
+    private final long              idleTimeoutMs;
+    private final long              acquireTimeoutMs;
+    // Most recently released socket is the first one, guarded by this
+    private final Deque<UnixSocket> idle;
+
+    UnixSocketPool(String socketPath, int maxConnections, long idleTimeoutMs, long acquireTimeoutMs) {
+        this.socketPath = socketPath;
+        this.permits = new Semaphore(maxConnections, true);
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.idle = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets connection from pool, opens new connection if there is no usable idle connection. Waits for connection if max number
+     * of connections are in use.
+     *
+     * @throws IOException
+     *         if connection can't be opened or there is no available connection within timeout
+     */
+    UnixSocket acquire() throws IOException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, MILLISECONDS)) {
+                throw new IOException(String.format("Timeout waiting for connection to unix socket: '%s'", socketPath));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted waiting for connection to unix socket: '%s'", socketPath));
+        }
+        try {
+            UnixSocket socket;
+            while ((socket = pollIdle()) != null) {
+                if (socket.isUsable()) {
+                    return socket;
+                }
+                socket.close();
+            }
+            return connect();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns connection to pool.
+     *
+     * @param socket
+     *         connection obtained with {@link #acquire()}
+     * @param reusable
+     *         {@code true} if response to the last request is read completely and connection may be used for the next request,
+     *         {@code false} if connection must be closed
+     */
+    void release(UnixSocket socket, boolean reusable) {
+        try {
+            if (reusable) {
+                socket.touch();
+                synchronized (this) {
+                    idle.addFirst(socket);
+                }
+            } else {
+                socket.close();
+            }
+            evictExpired();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Closes all idle connections. */
+    synchronized void close() {
+        UnixSocket socket;
+        while ((socket = idle.pollFirst()) != null) {
+            socket.close();
+        }
+    }
+
+    /** Opens new connection to docker unix socket. */
+    UnixSocket connect() throws IOException {
+        return UnixSocket.connect(socketPath);
+    }
+
+    private UnixSocket pollIdle() {
+        evictExpired();
+        synchronized (this) {
+            return idle.pollFirst();
+        }
+    }
+
+    private synchronized void evictExpired() {
+        final long expired = System.currentTimeMillis() - idleTimeoutMs;
+        UnixSocket socket;
+        while ((socket = idle.peekLast()) != null && socket.getLastUsedTime() < expired) {
+            idle.pollLast().close();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming type adapter for {@link ContainerListEntry} and its {@link ContainerPort}s.
+ * Field names follow the names of Docker API, first letter of each name is in upper case.
+ */
+public class ContainerListEntryTypeAdapter extends StreamingTypeAdapter<ContainerListEntry> {
+    @Override
+    public ContainerListEntry read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ContainerListEntry entry = new ContainerListEntry();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "Id":
+                    entry.setId(nextStringOrNull(in));
+                    break;
+                case "Names":
+                    entry.setNames(readStringArray(in));
+                    break;
+                case "Image":
+                    entry.setImage(nextStringOrNull(in));
+                    break;
+                case "ImageID":
+                    entry.setImageID(nextStringOrNull(in));
+                    break;
+                case "Command":
+                    entry.setCommand(nextStringOrNull(in));
+                    break;
+                case "Created":
+                    entry.setCreated(nextLongOrZero(in));
+                    break;
+                case "Status":
+                    entry.setStatus(nextStringOrNull(in));
+                    break;
+                case "Ports":
+                    entry.setPorts(readPorts(in));
+                    break;
+                case "Labels":
+                    entry.setLabels(readStringMap(in));
+                    break;
+                case "SizeRw":
+                    entry.setSizeRw(nextIntOrZero(in));
+                    break;
+                case "SizeRootFs":
+                    entry.setSizeRootFs(nextIntOrZero(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return entry;
+    }
+
+    @Override
+    public void write(JsonWriter out, ContainerListEntry entry) throws IOException {
+        if (entry == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("Id").value(entry.getId());
+        out.name("Names");
+        writeStringArray(out, entry.getNames());
+        out.name("Image").value(entry.getImage());
+        out.name("ImageID").value(entry.getImageID());
+        out.name("Command").value(entry.getCommand());
+        out.name("Created").value(entry.getCreated());
+        out.name("Status").value(entry.getStatus());
+        out.name("Ports");
+        writePorts(out, entry.getPorts());
+        out.name("Labels");
+        writeStringMap(out, entry.getLabels());
+        out.name("SizeRw").value(entry.getSizeRw());
+        out.name("SizeRootFs").value(entry.getSizeRootFs());
+        out.endObject();
+    }
+
+    private static ContainerPort[] readPorts(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<ContainerPort> ports = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            ContainerPort port = new ContainerPort();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "PrivatePort":
+                        port.setPrivatePort(nextIntOrZero(in));
+                        break;
+                    case "PublicPort":
+                        port.setPublicPort(nextIntOrZero(in));
+                        break;
+                    case "Type":
+                        port.setType(nextStringOrNull(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            ports.add(port);
+        }
+        in.endArray();
+        return ports.toArray(new ContainerPort[ports.size()]);
+    }
+
+    private static void writePorts(JsonWriter out, ContainerPort[] ports) throws IOException {
+        if (ports == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (ContainerPort port : ports) {
+            out.beginObject();
+            out.name("PrivatePort").value(port.getPrivatePort());
+            out.name("PublicPort").value(port.getPublicPort());
+            out.name("Type").value(port.getType());
+            out.endObject();
+        }
+        out.endArray();
+    }
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming type adapter for {@link Event} and its {@link Actor}.
+ */
+public class EventTypeAdapter extends StreamingTypeAdapter<Event> {
+    @Override
+    public Event read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Event event = new Event();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "status":
+                    event.withStatus(nextStringOrNull(in));
+                    break;
+                case "id":
+                    event.withId(nextStringOrNull(in));
+                    break;
+                case "from":
+                    event.withFrom(nextStringOrNull(in));
+                    break;
+                case "Type":
+                    event.withType(nextStringOrNull(in));
+                    break;
+                case "Action":
+                    event.withAction(nextStringOrNull(in));
+                    break;
+                case "Actor":
+                    event.withActor(readActor(in));
+                    break;
+                case "time":
+                    event.withTime(nextLongOrZero(in));
+                    break;
+                case "timeNano":
+                    event.withTimeNano(nextLongOrZero(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return event;
+    }
+
+    @Override
+    public void write(JsonWriter out, Event event) throws IOException {
+        if (event == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("status").value(event.getStatus());
+        out.name("id").value(event.getId());
+        out.name("from").value(event.getFrom());
+        out.name("Type").value(event.getType());
+        out.name("Action").value(event.getAction());
+        out.name("Actor");
+        writeActor(out, event.getActor());
+        out.name("time").value(event.getTime());
+        out.name("timeNano").value(event.getTimeNano());
+        out.endObject();
+    }
+
+    private static Actor readActor(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Actor actor = new Actor();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "ID":
+                    actor.withId(nextStringOrNull(in));
+                    break;
+                case "Attributes":
+                    actor.withAttributes(readStringMap(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return actor;
+    }
+
+    private static void writeActor(JsonWriter out, Actor actor) throws IOException {
+        if (actor == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("ID").value(actor.getId());
+        out.name("Attributes");
+        writeStringMap(out, actor.getAttributes());
+        out.endObject();
+    }
+}
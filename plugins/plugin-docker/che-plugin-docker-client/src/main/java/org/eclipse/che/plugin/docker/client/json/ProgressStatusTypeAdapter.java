@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming type adapter for {@link ProgressStatus} and its {@link ProgressDetail}.
+ */
+public class ProgressStatusTypeAdapter extends StreamingTypeAdapter<ProgressStatus> {
+    @Override
+    public ProgressStatus read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ProgressStatus status = new ProgressStatus();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    status.setId(nextStringOrNull(in));
+                    break;
+                case "status":
+                    status.setStatus(nextStringOrNull(in));
+                    break;
+                case "progress":
+                    status.setProgress(nextStringOrNull(in));
+                    break;
+                case "stream":
+                    status.setStream(nextStringOrNull(in));
+                    break;
+                case "error":
+                    status.setError(nextStringOrNull(in));
+                    break;
+                case "progressDetail":
+                    status.setProgressDetail(readProgressDetail(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return status;
+    }
+
+    @Override
+    public void write(JsonWriter out, ProgressStatus status) throws IOException {
+        if (status == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(status.getId());
+        out.name("status").value(status.getStatus());
+        out.name("progress").value(status.getProgress());
+        out.name("stream").value(status.getStream());
+        out.name("error").value(status.getError());
+        out.name("progressDetail");
+        ProgressDetail detail = status.getProgressDetail();
+        if (detail == null) {
+            out.nullValue();
+        } else {
+            out.beginObject();
+            out.name("start").value(detail.getStart());
+            out.name("current").value(detail.getCurrent());
+            out.name("total").value(detail.getTotal());
+            out.endObject();
+        }
+        out.endObject();
+    }
+
+    private static ProgressDetail readProgressDetail(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ProgressDetail detail = new ProgressDetail();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "start":
+                    detail.setStart(nextLongOrZero(in));
+                    break;
+                case "current":
+                    detail.setCurrent(nextLongOrZero(in));
+                    break;
+                case "total":
+                    detail.setTotal(nextLongOrZero(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return detail;
+    }
+}
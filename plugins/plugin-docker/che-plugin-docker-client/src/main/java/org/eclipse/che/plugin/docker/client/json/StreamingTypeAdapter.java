@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base class for hand-written type adapters of JSON objects which Docker daemon sends often, e.g. events and progress
+ * of images pulling. Such adapters read objects token by token without reflection and without building tree of
+ * {@link com.google.gson.JsonElement}. Unknown fields are skipped, so adapters don't break when new fields are added
+ * to Docker API.
+ */
+abstract class StreamingTypeAdapter<T> extends TypeAdapter<T> {
+
+    static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    static long nextLongOrZero(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextLong();
+    }
+
+    static int nextIntOrZero(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return 0;
+        }
+        return in.nextInt();
+    }
+
+    static Map<String, String> readStringMap(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, String> map = new HashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            map.put(in.nextName(), nextStringOrNull(in));
+        }
+        in.endObject();
+        return map;
+    }
+
+    static String[] readStringArray(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(nextStringOrNull(in));
+        }
+        in.endArray();
+        return list.toArray(new String[list.size()]);
+    }
+
+    static void writeStringMap(JsonWriter out, Map<String, String> map) throws IOException {
+        if (map == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            out.name(entry.getKey()).value(entry.getValue());
+        }
+        out.endObject();
+    }
+
+    static void writeStringArray(JsonWriter out, String[] array) throws IOException {
+        if (array == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String value : array) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+}
@@ -118,6 +118,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -198,6 +199,7 @@ public class DockerConnectorTest {
     public void setup() throws IOException, URISyntaxException {
         dockerConnection = mock(DockerConnection.class, new SelfReturningAnswer());
         when(dockerConnectionFactory.openConnection(any(URI.class))).thenReturn(dockerConnection);
+        when(dockerConnectionFactory.openPooledConnection(any(URI.class))).thenReturn(dockerConnection);
         when(dockerConnection.request()).thenReturn(dockerResponse);
         when(dockerConnectorConfiguration.getAuthConfigs()).thenReturn(initialAuthConfig);
         when(dockerResponse.getStatus()).thenReturn(RESPONSE_SUCCESS_CODE);
@@ -223,7 +225,7 @@ public class DockerConnectorTest {
         SystemInfo returnedSystemInfo =
                 dockerConnector.getSystemInfo();
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/info");
         verify(dockerConnection).request();
@@ -269,7 +271,7 @@ public class DockerConnectorTest {
         Version returnedVersion =
                 dockerConnector.getVersion();
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/version");
         verify(dockerConnection).request();
@@ -298,7 +300,7 @@ public class DockerConnectorTest {
         List<Image> returnedImages =
                 dockerConnector.listImages();
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/images/json");
         verify(dockerConnection).request();
@@ -329,7 +331,7 @@ public class DockerConnectorTest {
 
         List<ContainerListEntry> containers = dockerConnector.listContainers(listContainersParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/containers/json");
         verify(dockerConnection).query("all", 1);
@@ -417,7 +419,7 @@ public class DockerConnectorTest {
         ImageInfo returnedImageInfo =
                 dockerConnector.inspectImage(inspectImageParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/images/" + inspectImageParams.getImage() + "/json");
         verify(dockerConnection).request();
@@ -483,7 +485,7 @@ public class DockerConnectorTest {
 
         dockerConnector.killContainer(killContainerParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/containers/" + killContainerParams.getContainer() + "/kill");
         verify(dockerConnection).request();
@@ -509,13 +511,26 @@ public class DockerConnectorTest {
 
         dockerConnector.removeContainer(removeContainerParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_DELETE);
         verify(dockerConnection).path("/containers/" + removeContainerParams.getContainer());
         verify(dockerConnection).request();
         verify(dockerResponse).getStatus();
     }
 
+    @Test
+    public void shouldNotUsePooledConnectionToForceRemovalOfContainer() throws IOException {
+        RemoveContainerParams removeContainerParams = RemoveContainerParams.create(CONTAINER).withForce(true);
+
+        when(dockerResponse.getStatus()).thenReturn(RESPONSE_NO_CONTENT_CODE);
+
+        dockerConnector.removeContainer(removeContainerParams);
+
+        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory, never()).openPooledConnection(any(URI.class));
+        verify(dockerConnection).query("force", 1);
+    }
+
     @Test(expectedExceptions = DockerException.class, expectedExceptionsMessageRegExp = EXCEPTION_ERROR_MESSAGE)
     public void shouldThrowDockerExceptionWhileRemovingContainerIfResponseCodeIsNotSuccess() throws IOException {
         RemoveContainerParams removeContainerParams = RemoveContainerParams.create(CONTAINER);
@@ -603,7 +618,7 @@ public class DockerConnectorTest {
         ContainerInfo returnedContainerInfo =
                 dockerConnector.inspectContainer(inspectContainerParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/containers/" + inspectContainerParams.getContainer() + "/json");
         verify(dockerConnection).request();
@@ -706,7 +721,7 @@ public class DockerConnectorTest {
         Exec returnedExec =
                 dockerConnector.createExec(createExecParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/containers/" + createExecParams.getContainer() + "/exec");
         verify(dockerConnection).header("Content-Type", MediaType.APPLICATION_JSON);
@@ -786,7 +801,7 @@ public class DockerConnectorTest {
         ExecInfo returnedExecInfo =
                 dockerConnector.getExecInfo(getExecInfoParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/exec/" + getExecInfoParams.getExecId() + "/json");
         verify(dockerConnection).request();
@@ -818,7 +833,7 @@ public class DockerConnectorTest {
         ContainerProcesses returnedContainerProcesses =
                 dockerConnector.top(topParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/containers/" + topParams.getContainer() + "/top");
         verify(dockerConnection).request();
@@ -840,7 +855,7 @@ public class DockerConnectorTest {
         ContainerProcesses returnedContainerProcesses =
                 dockerConnector.top(topParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/containers/" + topParams.getContainer() + "/top");
         verify(dockerConnection).query(eq("ps_args"), anyString());
@@ -1042,7 +1057,7 @@ public class DockerConnectorTest {
 
         dockerConnector.removeImage(removeImageParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_DELETE);
         verify(dockerConnection).path("/images/" + removeImageParams.getImage());
         verify(dockerConnection).request();
@@ -1066,7 +1081,7 @@ public class DockerConnectorTest {
 
         dockerConnector.tag(tagParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/images/" + tagParams.getImage() + "/tag");
         verify(dockerConnection).query("repo", tagParams.getRepository());
@@ -1277,7 +1292,7 @@ public class DockerConnectorTest {
         ContainerCreated returnedContainerCreated =
                 dockerConnector.createContainer(createContainerParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/containers/create");
         verify(dockerConnection).header("Content-Type", MediaType.APPLICATION_JSON);
@@ -1307,7 +1322,7 @@ public class DockerConnectorTest {
 
         dockerConnector.startContainer(startContainerParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/containers/" + startContainerParams.getContainer() + "/start");
         verify(dockerConnection).request();
@@ -1470,7 +1485,7 @@ public class DockerConnectorTest {
 
         // then
         assertEquals(actual, originNetworks);
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/networks");
         verify(dockerConnection).query(eq("filters"), anyObject());
@@ -1516,7 +1531,7 @@ public class DockerConnectorTest {
 
         // then
         assertEquals(actual, originNetwork);
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/networks/" + originNetwork.getId());
         verify(dockerConnection).request();
@@ -1548,7 +1563,7 @@ public class DockerConnectorTest {
 
         // then
         assertEquals(networkCreated, originNetworkCreated);
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/networks/create");
         verify(dockerConnection).header("Content-Type", MediaType.APPLICATION_JSON);
@@ -1599,7 +1614,7 @@ public class DockerConnectorTest {
         dockerConnector.connectContainerToNetwork(connectToNetworkParams);
 
         // then
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/networks/" + netId + "/connect");
         verify(dockerConnection).header("Content-Type", MediaType.APPLICATION_JSON);
@@ -1651,7 +1666,7 @@ public class DockerConnectorTest {
         dockerConnector.disconnectContainerFromNetwork(disconnectFromNetworkParams);
 
         // then
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/networks/" + netId + "/disconnect");
         verify(dockerConnection).header("Content-Type", MediaType.APPLICATION_JSON);
@@ -1700,7 +1715,7 @@ public class DockerConnectorTest {
         dockerConnector.removeNetwork(removeNetworkParams);
 
         // then
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openPooledConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_DELETE);
         verify(dockerConnection).path("/networks/" + netId);
         verify(dockerConnection).request();
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.plugin.docker.client.json.Actor;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerEventBusTest {
+    @Mock
+    private DockerConnector       docker;
+    @Mock
+    private DockerEventSubscriber containersSubscriber;
+    @Mock
+    private DockerEventSubscriber imagesSubscriber;
+
+    private DockerEventBus bus;
+
+    @BeforeMethod
+    public void setUp() {
+        when(containersSubscriber.getFilters()).thenReturn(new Filters().withFilter("type", "container")
+                                                                         .withFilter("event", "die", "oom"));
+        when(imagesSubscriber.getFilters()).thenReturn(new Filters().withFilter("type", "image"));
+        bus = new DockerEventBus(docker, ImmutableSet.of(containersSubscriber, imagesSubscriber));
+    }
+
+    @Test
+    public void shouldDeliverEventOnlyToSubscribersWithMatchingFilters() {
+        final Event die = containerEvent("die", 10, 1);
+        final Event start = containerEvent("start", 10, 2);
+        final Event untag = new Event().withType("image").withAction("untag").withTime(10).withTimeNano(3);
+
+        bus.dispatch(die);
+        bus.dispatch(start);
+        bus.dispatch(untag);
+
+        verify(containersSubscriber).onEvent(die);
+        verify(containersSubscriber, never()).onEvent(start);
+        verify(containersSubscriber, never()).onEvent(untag);
+        verify(imagesSubscriber).onEvent(untag);
+        verify(imagesSubscriber, never()).onEvent(die);
+    }
+
+    @Test
+    public void shouldEvaluateTypeAndActionOfEventsOfOldFormat() {
+        bus.dispatch(new Event().withStatus("die").withId("container").withFrom("image").withTime(10));
+        bus.dispatch(new Event().withStatus("untag").withId("image").withTime(10));
+
+        final ArgumentCaptor<Event> containerEvent = ArgumentCaptor.forClass(Event.class);
+        verify(containersSubscriber).onEvent(containerEvent.capture());
+        assertEquals(containerEvent.getValue().getType(), "container");
+        assertEquals(containerEvent.getValue().getAction(), "die");
+        final ArgumentCaptor<Event> imageEvent = ArgumentCaptor.forClass(Event.class);
+        verify(imagesSubscriber).onEvent(imageEvent.capture());
+        assertEquals(imageEvent.getValue().getType(), "image");
+        assertEquals(imageEvent.getValue().getAction(), "untag");
+    }
+
+    @Test
+    public void shouldNotDeliverEventsRepeatedAfterReconnectTwice() {
+        bus.dispatch(containerEvent("die", 10, 1));
+        bus.dispatch(containerEvent("die", 11, 2));
+        // events since the time of the last event are sent again after reconnect
+        bus.dispatch(containerEvent("die", 11, 2));
+        bus.dispatch(containerEvent("die", 11, 3));
+
+        verify(containersSubscriber, times(3)).onEvent(any(Event.class));
+    }
+
+    @Test
+    public void shouldDeliverEventToOtherSubscribersIfOneOfThemFails() {
+        final Event die = containerEvent("die", 10, 1);
+        when(imagesSubscriber.getFilters()).thenReturn(new Filters());
+        bus = new DockerEventBus(docker, ImmutableSet.of(imagesSubscriber, containersSubscriber));
+        doThrow(new RuntimeException("test")).when(imagesSubscriber).onEvent(die);
+
+        bus.dispatch(die);
+
+        verify(containersSubscriber).onEvent(die);
+    }
+
+    private Event containerEvent(String action, long time, long timeNano) {
+        return new Event().withType("container")
+                          .withAction(action)
+                          .withStatus(action)
+                          .withId("container")
+                          .withActor(new Actor().withId("container"))
+                          .withTime(time)
+                          .withTimeNano(timeNano);
+    }
+}
@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonStreamParser;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Decoding of streams recorded from Docker daemon: output of events API and output of image pull.
+ * Benchmark {@code reflective} shows behaviour of {@link JsonStreamParser} and reflective Gson binding
+ * that were used by {@link JsonMessageReader} before hand-written type adapters.
+ * <p/>
+ * Run with:
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.eclipse.che.plugin.docker.client.JsonMessageReaderBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JsonMessageReaderBenchmark {
+    private static final Gson GSON = new Gson();
+
+    private static final String[] EVENTS = {
+            "{\"status\":\"create\",\"id\":\"8f2b0c6a1e7d\",\"from\":\"eclipse/ubuntu_jdk8\",\"Type\":\"container\",\"Action\":\"create\"," +
+            "\"Actor\":{\"ID\":\"8f2b0c6a1e7d\",\"Attributes\":{\"image\":\"eclipse/ubuntu_jdk8\",\"name\":\"workspace_dev-machine\"," +
+            "\"che:workspace:id\":\"workspacexyz\",\"che:machine:id\":\"machineabc\"}},\"time\":1476000000,\"timeNano\":1476000000123456789}",
+            "{\"Type\":\"network\",\"Action\":\"connect\",\"Actor\":{\"ID\":\"1c3d5e7f9a0b\",\"Attributes\":{\"container\":\"8f2b0c6a1e7d\"," +
+            "\"name\":\"bridge\",\"type\":\"bridge\"}},\"time\":1476000001,\"timeNano\":1476000001223456789}",
+            "{\"status\":\"start\",\"id\":\"8f2b0c6a1e7d\",\"from\":\"eclipse/ubuntu_jdk8\",\"Type\":\"container\",\"Action\":\"start\"," +
+            "\"Actor\":{\"ID\":\"8f2b0c6a1e7d\",\"Attributes\":{\"image\":\"eclipse/ubuntu_jdk8\",\"name\":\"workspace_dev-machine\"}}," +
+            "\"time\":1476000001,\"timeNano\":1476000001323456789}",
+            "{\"status\":\"die\",\"id\":\"8f2b0c6a1e7d\",\"from\":\"eclipse/ubuntu_jdk8\",\"Type\":\"container\",\"Action\":\"die\"," +
+            "\"Actor\":{\"ID\":\"8f2b0c6a1e7d\",\"Attributes\":{\"exitCode\":\"137\",\"image\":\"eclipse/ubuntu_jdk8\"," +
+            "\"name\":\"workspace_dev-machine\"}},\"time\":1476000900,\"timeNano\":1476000900123456789}"
+    };
+
+    private static final String[] PULL_PROGRESS = {
+            "{\"status\":\"Pulling from eclipse/ubuntu_jdk8\",\"id\":\"latest\"}",
+            "{\"status\":\"Pulling fs layer\",\"progressDetail\":{},\"id\":\"6bbedd9b76a4\"}",
+            "{\"status\":\"Downloading\",\"progressDetail\":{\"current\":539837,\"total\":49913394}," +
+            "\"progress\":\"[\\u003e                                                  ] 539.8 kB/49.91 MB\",\"id\":\"6bbedd9b76a4\"}",
+            "{\"status\":\"Extracting\",\"progressDetail\":{\"current\":32768,\"total\":49913394}," +
+            "\"progress\":\"[\\u003e                                                  ] 32.77 kB/49.91 MB\",\"id\":\"6bbedd9b76a4\"}",
+            "{\"status\":\"Pull complete\",\"progressDetail\":{},\"id\":\"6bbedd9b76a4\"}",
+            "{\"status\":\"Digest: sha256:2f2b2f6a8d4c0e3b1a9f7c5d3e1b9a7f5c3d1e9b7a5f3c1d9e7b5a3f1c9d7e5b\"}"
+    };
+
+    @Param({"1000"})
+    public int messages;
+
+    private byte[] events;
+    private byte[] pullProgress;
+
+    @Setup
+    public void setUp() {
+        events = record(EVENTS);
+        pullProgress = record(PULL_PROGRESS);
+    }
+
+    @Benchmark
+    public void eventsReflective(Blackhole blackhole) {
+        readReflective(events, Event.class, blackhole);
+    }
+
+    @Benchmark
+    public void eventsStreaming(Blackhole blackhole) throws IOException {
+        readStreaming(events, Event.class, blackhole);
+    }
+
+    @Benchmark
+    public void pullProgressReflective(Blackhole blackhole) {
+        readReflective(pullProgress, ProgressStatus.class, blackhole);
+    }
+
+    @Benchmark
+    public void pullProgressStreaming(Blackhole blackhole) throws IOException {
+        readStreaming(pullProgress, ProgressStatus.class, blackhole);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JsonMessageReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private byte[] record(String[] source) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < messages; i++) {
+            sb.append(source[i % source.length]).append('\n');
+        }
+        return sb.toString().getBytes(UTF_8);
+    }
+
+    private static <T> void readReflective(byte[] recorded, Class<T> messageClass, Blackhole blackhole) {
+        final JsonStreamParser parser = new JsonStreamParser(new InputStreamReader(new ByteArrayInputStream(recorded), UTF_8));
+        while (parser.hasNext()) {
+            blackhole.consume(GSON.fromJson(parser.next(), messageClass));
+        }
+    }
+
+    private static <T> void readStreaming(byte[] recorded, Class<T> messageClass, Blackhole blackhole) throws IOException {
+        final JsonMessageReader<T> reader = new JsonMessageReader<>(new ByteArrayInputStream(recorded), messageClass);
+        T message;
+        while ((message = reader.next()) != null) {
+            blackhole.consume(message);
+        }
+    }
+}
@@ -10,12 +10,17 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client;
 
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.testng.annotations.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 
@@ -51,4 +56,69 @@ public class JsonMessageReaderTest {
 
         assertNull(reader.next());
     }
+
+    @Test
+    public void shouldReturnNullIfStreamIsEmpty() throws IOException {
+        final JsonMessageReader<ProgressStatus> reader = new JsonMessageReader<>(new ByteArrayInputStream(new byte[0]),
+                                                                                 ProgressStatus.class);
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldReturnNullIfLastObjectIsTruncated() throws IOException {
+        final String src = "{\"status\":\"Downloading\",\"id\":\"busybox:latest\"}\n" +
+                           "{\"status\":\"Down";
+
+        final JsonMessageReader<ProgressStatus> reader = new JsonMessageReader<>(new ByteArrayInputStream(src.getBytes()),
+                                                                                 ProgressStatus.class);
+
+        assertEquals(reader.next().getStatus(), "Downloading");
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldParseProgressDetailAndSkipUnknownFields() throws IOException {
+        final String src = "{\"status\":\"Downloading\"," +
+                           "\"progressDetail\":{\"current\":10,\"total\":100}," +
+                           "\"errorDetail\":{\"code\":1,\"details\":[1,2]}," +
+                           "\"id\":\"busybox:latest\"}";
+
+        final JsonMessageReader<ProgressStatus> reader = new JsonMessageReader<>(new ByteArrayInputStream(src.getBytes()),
+                                                                                 ProgressStatus.class);
+
+        final ProgressStatus status = reader.next();
+
+        assertEquals(status.getStatus(), "Downloading");
+        assertEquals(status.getId(), "busybox:latest");
+        assertEquals(status.getProgressDetail().getCurrent(), 10);
+        assertEquals(status.getProgressDetail().getTotal(), 100);
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void shouldParseSequenceOfEvents() throws IOException {
+        final String event = "{\"status\":\"die\",\"id\":\"abc\",\"from\":\"busybox\",\"Type\":\"container\"," +
+                             "\"Action\":\"die\",\"Actor\":{\"ID\":\"abc\",\"Attributes\":{\"exitCode\":\"0\",\"name\":\"café\"}}," +
+                             "\"scope\":\"local\",\"time\":1476000000,\"timeNano\":1476000000123456789}";
+
+        final JsonMessageReader<Event> reader = new JsonMessageReader<>(new ByteArrayInputStream((event + event).getBytes(UTF_8)),
+                                                                        Event.class);
+
+        final Event event1 = reader.next();
+        final Event event2 = reader.next();
+
+        assertEquals(event1.getStatus(), "die");
+        assertEquals(event1.getId(), "abc");
+        assertEquals(event1.getFrom(), "busybox");
+        assertEquals(event1.getType(), "container");
+        assertEquals(event1.getAction(), "die");
+        assertEquals(event1.getActor().getId(), "abc");
+        assertEquals(event1.getActor().getAttributes(), ImmutableMap.of("exitCode", "0", "name", "café"));
+        assertEquals(event1.getTime(), 1476000000L);
+        assertEquals(event1.getTimeNano(), 1476000000123456789L);
+        assertEquals(event2.getActor().getAttributes(), event1.getActor().getAttributes());
+        assertEquals(event2.getTimeNano(), event1.getTimeNano());
+        assertNull(reader.next());
+    }
 }
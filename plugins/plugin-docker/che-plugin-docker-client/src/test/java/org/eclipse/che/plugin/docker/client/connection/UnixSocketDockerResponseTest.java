@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.CharStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class UnixSocketDockerResponseTest {
+    @Test
+    public void shouldAllowToReuseConnectionAfterResponseWithContentLength() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\n" +
+                                   "Content-Length: 5\r\n" +
+                                   "\r\n" +
+                                   "hello" +
+                                   "HTTP/1.1 204 No Content\r\n" +
+                                   "\r\n");
+
+        UnixSocketDockerResponse first = new UnixSocketDockerResponse(input);
+        assertEquals(first.getStatus(), 200);
+        assertTrue(first.consume());
+
+        UnixSocketDockerResponse second = new UnixSocketDockerResponse(input);
+        assertEquals(second.getStatus(), 204);
+        assertEquals(second.getInputStream().read(), -1);
+        assertTrue(second.consume());
+    }
+
+    @Test
+    public void shouldAllowToReuseConnectionAfterChunkedResponse() throws Exception {
+        InputStream input = stream("HTTP/1.1 200 OK\r\n" +
+                                   "Transfer-Encoding: chunked\r\n" +
+                                   "\r\n" +
+                                   "5\r\nhello\r\n" +
+                                   "0\r\n\r\n" +
+                                   "HTTP/1.1 200 OK\r\n" +
+                                   "Content-Length: 2\r\n" +
+                                   "\r\n" +
+                                   "{}");
+
+        UnixSocketDockerResponse first = new UnixSocketDockerResponse(input);
+        assertEquals(first.getStatus(), 200);
+        assertTrue(first.consume());
+
+        UnixSocketDockerResponse second = new UnixSocketDockerResponse(input);
+        assertEquals(second.getStatus(), 200);
+        assertEquals(CharStreams.toString(new InputStreamReader(second.getInputStream(), US_ASCII)), "{}");
+    }
+
+    @Test
+    public void shouldNotAllowToReuseConnectionIfResponseLengthIsUnknown() throws Exception {
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\n" +
+                                                                                "\r\n" +
+                                                                                "hello"));
+        assertEquals(response.getStatus(), 200);
+
+        assertFalse(response.consume());
+    }
+
+    @Test
+    public void shouldNotAllowToReuseConnectionIfDockerClosesIt() throws Exception {
+        UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\n" +
+                                                                                "Connection: close\r\n" +
+                                                                                "Content-Length: 5\r\n" +
+                                                                                "\r\n" +
+                                                                                "hello"));
+        assertEquals(response.getStatus(), 200);
+
+        assertFalse(response.consume());
+    }
+
+    @Test
+    public void shouldSkipResponseThatIsNotRead() throws Exception {
+        InputStream input = stream("HTTP/1.1 404 Not Found\r\n" +
+                                   "Content-Length: 5\r\n" +
+                                   "\r\n" +
+                                   "hello" +
+                                   "HTTP/1.1 204 No Content\r\n" +
+                                   "\r\n");
+
+        assertTrue(new UnixSocketDockerResponse(input).consume());
+        assertEquals(new UnixSocketDockerResponse(input).getStatus(), 204);
+    }
+
+    private InputStream stream(String content) throws IOException {
+        return new ByteArrayInputStream(content.getBytes(US_ASCII));
+    }
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Collections.emptyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertSame;
+
+public class UnixSocketPoolTest {
+    private static final long IDLE_TIMEOUT_MS    = 60_000;
+    private static final long ACQUIRE_TIMEOUT_MS = 50;
+
+    private Deque<UnixSocket> newSockets;
+    private UnixSocketPool    pool;
+
+    @BeforeMethod
+    public void setUp() {
+        newSockets = new ArrayDeque<>();
+        pool = createPool(2, ACQUIRE_TIMEOUT_MS);
+    }
+
+    @Test
+    public void shouldReuseReleasedSocket() throws Exception {
+        UnixSocket socket = newSocket();
+
+        assertSame(pool.acquire(), socket);
+        pool.release(socket, true);
+
+        assertSame(pool.acquire(), socket);
+        verify(socket).isUsable();
+        verify(socket, never()).close();
+    }
+
+    @Test
+    public void shouldCloseSocketReleasedAsNotReusable() throws Exception {
+        UnixSocket socket = newSocket();
+        UnixSocket another = newSocket();
+
+        assertSame(pool.acquire(), socket);
+        pool.release(socket, false);
+
+        verify(socket).close();
+        assertSame(pool.acquire(), another);
+    }
+
+    @Test
+    public void shouldOpenNewSocketIfIdleSocketIsNotUsable() throws Exception {
+        UnixSocket socket = newSocket();
+        UnixSocket another = newSocket();
+        pool.release(pool.acquire(), true);
+        when(socket.isUsable()).thenReturn(false);
+
+        assertSame(pool.acquire(), another);
+        verify(socket).close();
+    }
+
+    @Test
+    public void shouldCloseSocketWhichIsIdleLongerThanTimeout() throws Exception {
+        UnixSocket socket = newSocket();
+        UnixSocket another = newSocket();
+        when(socket.getLastUsedTime()).thenReturn(System.currentTimeMillis() - IDLE_TIMEOUT_MS - 1);
+
+        pool.release(pool.acquire(), true);
+
+        verify(socket).close();
+        assertSame(pool.acquire(), another);
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Timeout waiting for connection .*")
+    public void shouldNotOpenMoreThanMaxConnections() throws Exception {
+        newSocket();
+        newSocket();
+        newSocket();
+
+        pool.acquire();
+        pool.acquire();
+        pool.acquire();
+    }
+
+    @Test
+    public void shouldGiveConnectionToWaitingCallerWhenConnectionIsReleased() throws Exception {
+        pool = createPool(1, 10_000);
+        UnixSocket socket = newSocket();
+        pool.acquire();
+
+        Thread releaser = new Thread(() -> pool.release(socket, true));
+        releaser.start();
+
+        assertSame(pool.acquire(), socket);
+        releaser.join();
+    }
+
+    @Test
+    public void shouldNotReturnSocketToPoolIfLengthOfResponseIsUnknown() throws Exception {
+        UnixSocket socket = newSocket();
+        when(socket.getInputStream()).thenReturn(new ByteArrayInputStream(("HTTP/1.1 200 OK\r\n" +
+                                                                          "\r\n" +
+                                                                          "data").getBytes(US_ASCII)));
+        UnixSocket another = newSocket();
+
+        UnixSocketConnection connection = new UnixSocketConnection(pool);
+        connection.request("GET", "/info", null, emptyList(), null);
+        connection.close();
+
+        verify(socket).close();
+        assertSame(pool.acquire(), another);
+    }
+
+    @Test
+    public void shouldReturnSocketToPoolAfterResponseIsReadCompletely() throws Exception {
+        UnixSocket socket = newSocket();
+        when(socket.getInputStream()).thenReturn(new ByteArrayInputStream(("HTTP/1.1 200 OK\r\n" +
+                                                                          "Content-Length: 4\r\n" +
+                                                                          "\r\n" +
+                                                                          "data").getBytes(US_ASCII)));
+
+        UnixSocketConnection connection = new UnixSocketConnection(pool);
+        connection.request("GET", "/info", null, emptyList(), null);
+        connection.close();
+
+        verify(socket, never()).close();
+        assertSame(pool.acquire(), socket);
+    }
+
+    private UnixSocketPool createPool(int maxConnections, long acquireTimeoutMs) {
+        return new UnixSocketPool("/var/run/docker.sock", maxConnections, IDLE_TIMEOUT_MS, acquireTimeoutMs) {
+            @Override
+            UnixSocket connect() throws IOException {
+                final UnixSocket socket = newSockets.poll();
+                if (socket == null) {
+                    throw new IOException("No more sockets");
+                }
+                return socket;
+            }
+        };
+    }
+
+    private UnixSocket newSocket() throws IOException {
+        final UnixSocket socket = mock(UnixSocket.class);
+        when(socket.isUsable()).thenReturn(true);
+        when(socket.getLastUsedTime()).thenReturn(System.currentTimeMillis());
+        when(socket.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+        newSockets.add(socket);
+        return socket;
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerEventBus;
+import org.eclipse.che.plugin.docker.client.DockerEventSubscriber;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches results of inspection of docker images, so machines of the same environment
+ * or of concurrently starting environments do not ask docker daemon the same questions repeatedly.
+ * <p/>
+ * Entries are invalidated by docker events which are delivered by {@link DockerEventBus}.
+ * Events which happen before the first connection to docker events API can't be received,
+ * that's why entries also expire after configured period of time.
+ */
+@Singleton
+public class DockerInspectCache implements DockerEventSubscriber {
+    private final DockerConnector          docker;
+    private final Cache<String, ImageInfo> images;
+
+    @Inject
+    public DockerInspectCache(DockerConnector docker,
+                              @Named("machine.docker.inspect_cache.expire_after_sec") long expireAfterSec) {
+        this.docker = docker;
+        this.images = CacheBuilder.newBuilder()
+                                  .expireAfterWrite(expireAfterSec, TimeUnit.SECONDS)
+                                  .build();
+    }
+
+    /**
+     * Gets detailed information about docker image, asks docker daemon only if information is not cached.
+     *
+     * @param image
+     *         id or full name of image
+     * @throws IOException
+     *         when a problem occurs with docker api calls, e.g. image doesn't exist
+     */
+    public ImageInfo inspectImage(String image) throws IOException {
+        try {
+            return images.get(image, () -> docker.inspectImage(image));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    @Override
+    public Filters getFilters() {
+        return new Filters().withFilter("type", "image")
+                            .withFilter("event", "delete", "untag", "tag", "pull", "import", "load");
+    }
+
+    /** Invalidates cached images that might be affected by docker event. */
+    @Override
+    public void onEvent(Event event) {
+        if (!"image".equals(event.getType())) {
+            return;
+        }
+        final Set<String> identifiers = identifiersOf(event);
+        for (Map.Entry<String, ImageInfo> entry : images.asMap().entrySet()) {
+            if (identifiers.contains(entry.getKey()) || identifiers.contains(entry.getValue().getId())) {
+                images.invalidate(entry.getKey());
+            }
+        }
+    }
+
+    private static Set<String> identifiersOf(Event event) {
+        final Set<String> identifiers = new HashSet<>();
+        if (event.getId() != null) {
+            identifiers.add(event.getId());
+        }
+        if (event.getActor() != null) {
+            if (event.getActor().getId() != null) {
+                identifiers.add(event.getActor().getId());
+            }
+            if (event.getActor().getAttributes() != null && event.getActor().getAttributes().get("name") != null) {
+                identifiers.add(event.getActor().getAttributes().get("name"));
+            }
+        }
+        return identifiers;
+    }
+
+    private static IOException unwrap(Exception e) {
+        if (e.getCause() instanceof IOException) {
+            return (IOException)e.getCause();
+        }
+        return new IOException(e.getCause() != null ? e.getCause().getLocalizedMessage() : e.getLocalizedMessage(), e);
+    }
+}
@@ -16,6 +16,8 @@ import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 
 import org.eclipse.che.api.core.model.machine.ServerConf;
+import org.eclipse.che.plugin.docker.client.DockerEventBus;
+import org.eclipse.che.plugin.docker.client.DockerEventSubscriber;
 
 import java.util.Set;
 
@@ -29,6 +31,12 @@ public class DockerMachineModule extends AbstractModule {
     protected void configure() {
         bind(org.eclipse.che.plugin.docker.machine.cleaner.DockerContainerCleaner.class);
 
+        Multibinder<DockerEventSubscriber> dockerEventSubscribers = Multibinder.newSetBinder(binder(),
+                                                                                             DockerEventSubscriber.class);
+        dockerEventSubscribers.addBinding().to(DockerInstanceStopDetector.class);
+        dockerEventSubscribers.addBinding().to(DockerInspectCache.class);
+        bind(DockerEventBus.class).asEagerSingleton();
+
         Multibinder<String> devMachineEnvVars = Multibinder.newSetBinder(binder(),
                                                                          String.class,
                                                                          Names.named("machine.docker.dev_machine.machine_env"))
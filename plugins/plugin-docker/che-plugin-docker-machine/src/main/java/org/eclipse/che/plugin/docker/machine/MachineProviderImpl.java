@@ -112,6 +112,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
     private final ExecutorService                               executor;
     private final DockerInstanceStopDetector                    dockerInstanceStopDetector;
+    private final DockerInspectCache                            inspectCache;
     private final WorkspaceFolderPathProvider                   workspaceFolderPathProvider;
     private final boolean                                       doForcePullOnBuild;
     private final boolean                                       privilegeMode;
@@ -134,6 +135,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
                                DockerMachineFactory dockerMachineFactory,
                                DockerInstanceStopDetector dockerInstanceStopDetector,
+                               DockerInspectCache inspectCache,
                                @Named("machine.docker.dev_machine.machine_servers") Set<ServerConf> devMachineServers,
                                @Named("machine.docker.machine_servers") Set<ServerConf> allMachinesServers,
                                @Named("machine.docker.dev_machine.machine_volumes") Set<String> devMachineSystemVolumes,
@@ -153,6 +155,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
         this.dockerCredentials = dockerCredentials;
         this.dockerMachineFactory = dockerMachineFactory;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
+        this.inspectCache = inspectCache;
         this.workspaceFolderPathProvider = workspaceFolderPathProvider;
         this.doForcePullOnBuild = doForcePullOnBuild;
         this.privilegeMode = privilegeMode;
@@ -441,16 +444,21 @@ public class MachineProviderImpl implements MachineInstanceProvider {
 
         try {
             boolean isSnapshot = SNAPSHOT_LOCATION_PATTERN.matcher(dockerMachineSource.getLocation()).matches();
-            if (!isSnapshot || snapshotUseRegistry) {
+            String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
+            boolean pulled = false;
+            if (dockerMachineSource.getDigest() != null && isImagePresent(dockerMachineSource.getLocation())) {
+                // image with digest can't be changed, so there is nothing to pull if it is already present
+                fullNameOfPulledImage = dockerMachineSource.getLocation();
+            } else if (!isSnapshot || snapshotUseRegistry) {
                 PullParams pullParams = PullParams.create(dockerMachineSource.getRepository())
                                                   .withTag(MoreObjects.firstNonNull(dockerMachineSource.getTag(),
                                                                                     LATEST_TAG))
                                                   .withRegistry(dockerMachineSource.getRegistry())
                                                   .withAuthConfigs(dockerCredentials.getCredentials());
                 docker.pull(pullParams, progressMonitor);
+                pulled = true;
             }
 
-            String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
             try {
                 // tag image with generated name to allow sysadmin recognize it
                 docker.tag(TagParams.create(fullNameOfPulledImage, machineImageName));
@@ -459,7 +467,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
             }
 
             // remove unneeded tag if restoring snapshot from registry
-            if (isSnapshot && snapshotUseRegistry) {
+            if (pulled && isSnapshot) {
                 docker.removeImage(RemoveImageParams.create(fullNameOfPulledImage).withForce(false));
             }
         } catch (IOException e) {
@@ -468,6 +476,18 @@ public class MachineProviderImpl implements MachineInstanceProvider {
         }
     }
 
+    private boolean isImagePresent(String image) throws IOException {
+        try {
+            inspectCache.inspectImage(image);
+            return true;
+        } catch (DockerException dockerEx) {
+            if (dockerEx.getStatus() == 404) {
+                return false;
+            }
+            throw dockerEx;
+        }
+    }
+
     private String createContainer(String workspaceId,
                                    String machineName,
                                    boolean isDev,
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
+import org.eclipse.che.plugin.docker.client.json.Actor;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertSame;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerInspectCacheTest {
+    private static final String IMAGE    = "repo:latest@sha256:1234";
+    private static final String IMAGE_ID = "sha256:abcd";
+
+    @Mock
+    private DockerConnector docker;
+
+    private DockerInspectCache cache;
+    private ImageInfo          imageInfo;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        cache = new DockerInspectCache(docker, 60);
+        imageInfo = new ImageInfo();
+        imageInfo.setId(IMAGE_ID);
+        when(docker.inspectImage(IMAGE)).thenReturn(imageInfo);
+    }
+
+    @Test
+    public void shouldInspectImageOnlyOnce() throws Exception {
+        assertSame(cache.inspectImage(IMAGE), imageInfo);
+        assertSame(cache.inspectImage(IMAGE), imageInfo);
+
+        verify(docker).inspectImage(IMAGE);
+    }
+
+    @Test(expectedExceptions = DockerException.class)
+    public void shouldRethrowExceptionOfInspection() throws Exception {
+        when(docker.inspectImage("missing")).thenThrow(new DockerException("Image not found", 404));
+
+        cache.inspectImage("missing");
+    }
+
+    @Test
+    public void shouldInvalidateImageOnEventWithIdOfCachedImage() throws Exception {
+        cache.inspectImage(IMAGE);
+
+        cache.onEvent(new Event().withType("image")
+                                 .withAction("delete")
+                                 .withActor(new Actor().withId(IMAGE_ID)));
+        cache.inspectImage(IMAGE);
+
+        verify(docker, times(2)).inspectImage(IMAGE);
+    }
+
+    @Test
+    public void shouldNotInvalidateImageOnEventOfAnotherImage() throws Exception {
+        cache.inspectImage(IMAGE);
+
+        cache.onEvent(new Event().withType("image")
+                                 .withAction("delete")
+                                 .withActor(new Actor().withId("sha256:another")));
+        cache.inspectImage(IMAGE);
+
+        verify(docker).inspectImage(IMAGE);
+    }
+
+    @Test
+    public void shouldInvalidateImageOnEventWithNameOfCachedImage() throws Exception {
+        cache.inspectImage(IMAGE);
+
+        cache.onEvent(new Event().withType("image")
+                                 .withAction("untag")
+                                 .withActor(new Actor().withId("sha256:another")
+                                                       .withAttributes(ImmutableMap.of("name", IMAGE))));
+        cache.inspectImage(IMAGE);
+
+        verify(docker, times(2)).inspectImage(IMAGE);
+    }
+
+    @Test
+    public void shouldNotInvalidateImageOnContainerEvent() throws Exception {
+        cache.inspectImage(IMAGE);
+
+        cache.onEvent(new Event().withType("container")
+                                 .withAction("destroy")
+                                 .withId(IMAGE_ID)
+                                 .withActor(new Actor().withId(IMAGE_ID)));
+        cache.inspectImage(IMAGE);
+
+        verify(docker).inspectImage(IMAGE);
+    }
+}
@@ -25,9 +25,11 @@ import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.exception.DockerException;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
 import org.eclipse.che.plugin.docker.client.json.ContainerState;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
 import org.eclipse.che.plugin.docker.client.params.InspectContainerParams;
 import org.eclipse.che.plugin.docker.client.params.PullParams;
@@ -64,6 +66,7 @@ import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHI
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -98,6 +101,9 @@ public class MachineProviderImplTest {
     @Mock
     private DockerInstanceStopDetector dockerInstanceStopDetector;
 
+    @Mock
+    private DockerInspectCache inspectCache;
+
     @Mock
     private DockerNode dockerNode;
 
@@ -139,6 +145,7 @@ public class MachineProviderImplTest {
         when(dockerConnector.inspectContainer(any(InspectContainerParams.class))).thenReturn(containerInfo);
         when(containerInfo.getState()).thenReturn(containerState);
         when(containerState.isRunning()).thenReturn(false);
+        when(inspectCache.inspectImage(anyString())).thenThrow(new DockerException("Image not found", 404));
     }
 
     @AfterMethod
@@ -230,6 +237,33 @@ public class MachineProviderImplTest {
         verify(dockerConnector, never()).removeImage(any(RemoveImageParams.class));
     }
 
+    @Test
+    public void shouldNotPullImageWithDigestIfItIsAlreadyPresent() throws Exception {
+        String image = "repo1:latest@sha256:1234";
+        doReturn(new ImageInfo()).when(inspectCache).inspectImage(image);
+
+        CheServiceImpl machine = createService();
+        machine.setBuild(null);
+        machine.setImage(image);
+
+        createInstanceFromSnapshot(machine);
+
+        verify(dockerConnector, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+        verify(dockerConnector).tag(eq(TagParams.create(image, "eclipse-che/" + machine.getContainerName())));
+    }
+
+    @Test
+    public void shouldPullImageWithDigestIfItIsNotPresent() throws Exception {
+        CheServiceImpl machine = createService();
+        machine.setBuild(null);
+        machine.setImage("repo1:latest@sha256:1234");
+
+        createInstanceFromSnapshot(machine);
+
+        verify(dockerConnector).pull(eq(PullParams.create("repo1").withTag("latest")), any(ProgressMonitor.class));
+        verify(dockerConnector).tag(eq(TagParams.create("repo1:latest", "eclipse-che/" + machine.getContainerName())));
+    }
+
     @Test
     public void shouldReTagBuiltImageWithPredictableOnInstanceCreationFromRecipe() throws Exception {
         // given
@@ -1286,6 +1320,7 @@ public class MachineProviderImplTest {
                                            credentialsReader,
                                            dockerMachineFactory,
                                            dockerInstanceStopDetector,
+                                           inspectCache,
                                            devMachineServers,
                                            allMachineServers,
                                            devMachineVolumes,
@@ -177,4 +177,13 @@ public class DockerContainerCleanerTest {
 
         verify(dockerConnector, never()).removeContainer(Matchers.anyObject());
     }
+
+    @Test
+    public void cleanerShouldListContainersOnEveryRun() throws Exception {
+        // orphaned containers appear without any docker event, e.g. when destroying of machine failed
+        cleaner.run();
+        cleaner.run();
+
+        verify(dockerConnector, times(2)).listContainers();
+    }
 }
@@ -35,6 +35,20 @@ public interface LogRequest extends GitRequest {
     
     void setRevisionRangeSince(String revisionRangeSince);
     void setRevisionRangeUntil(String revisionRangeUntil);	
+
+    /** @return number of commits to skip before starting to show the commit output */
+    int getSkip();
+
+    void setSkip(int skip);
+
+    LogRequest withSkip(int skip);
+
+    /** @return max number of commits to show, if it is not positive then all commits are shown */
+    int getMaxCount();
+
+    void setMaxCount(int maxCount);
+
+    LogRequest withMaxCount(int maxCount);
     // private List<String> fileFilter;
     // private boolean noRenames = true;
     // private int renameLimit;
@@ -114,4 +114,32 @@ public class LogTest {
         assertEquals(1, newFileCommitCount);
         assertEquals(4, allFilesCommitCount);
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogWithSkipAndMaxCount(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "README.txt", "someChanges");
+        connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+        connection.commit(newDto(CommitRequest.class).withMessage("Initial add"));
+
+        addFile(connection, "README.txt", "newChanges");
+        connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+        connection.commit(newDto(CommitRequest.class).withMessage("Second commit"));
+
+        addFile(connection, "README.txt", "otherChanges");
+        connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+        connection.commit(newDto(CommitRequest.class).withMessage("Third commit"));
+
+        //when
+        List<Revision> firstPage = connection.log(newDto(LogRequest.class).withMaxCount(2)).getCommits();
+        List<Revision> secondPage = connection.log(newDto(LogRequest.class).withSkip(2).withMaxCount(2)).getCommits();
+
+        //then
+        assertEquals(2, firstPage.size());
+        assertEquals("Third commit", firstPage.get(0).getMessage());
+        assertEquals("Second commit", firstPage.get(1).getMessage());
+        assertEquals(1, secondPage.size());
+        assertEquals("Initial add", secondPage.get(0).getMessage());
+    }
 }
@@ -31,6 +31,9 @@ public class Constants {
 
     public static final String LINK_REL_PROJECT_TYPES = "project types";
 
+    /** Response header with token of the next page of search results. */
+    public static final String HEADER_NEXT_PAGE_TOKEN = "X-Next-Page-Token";
+
     public static final String CODENVY_DIR = ".codenvy";
 
     private Constants() {
@@ -85,4 +85,11 @@ public interface ItemReference extends Hyperlinks {
     ProjectConfigDto getProjectConfig();
 
     void setProjectConfig(ProjectConfigDto config);
+
+    /** Matches of searched text in file. Available only in search results when positions of matches are requested. */
+    List<SearchOccurrenceDto> getOccurrences();
+
+    void setOccurrences(List<SearchOccurrenceDto> occurrences);
+
+    ItemReference withOccurrences(List<SearchOccurrenceDto> occurrences);
 }
@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server;
 
+import com.google.common.base.Splitter;
+import com.google.common.escape.Escaper;
+import com.google.common.net.UrlEscapers;
+import com.google.gson.stream.JsonWriter;
+
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -48,10 +53,12 @@ import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.Consumes;
@@ -64,12 +71,16 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -80,12 +91,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.HttpMethod.DELETE;
 import static javax.ws.rs.HttpMethod.GET;
 import static javax.ws.rs.HttpMethod.PUT;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.eclipse.che.api.core.util.LinksHelper.createLink;
 import static org.eclipse.che.api.project.server.DtoConverter.asDto;
+import static org.eclipse.che.api.project.shared.Constants.HEADER_NEXT_PAGE_TOKEN;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CHILDREN;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_CREATE_PROJECT;
 import static org.eclipse.che.api.project.shared.Constants.LINK_REL_DELETE;
@@ -115,11 +128,16 @@ public class ProjectService extends Service {
     private final ProjectManager projectManager;
     private final EventService   eventService;
     private final String         workspace;
+    /** Max number of nodes in project tree which is returned in one response. */
+    private final int            maxTreeNodes;
 
     @Inject
-    public ProjectService(ProjectManager projectManager, EventService eventService) {
+    public ProjectService(ProjectManager projectManager,
+                          EventService eventService,
+                          @Named("project.tree.max_streamed_nodes") int maxTreeNodes) {
         this.projectManager = projectManager;
         this.eventService = eventService;
+        this.maxTreeNodes = maxTreeNodes;
         this.workspace = WorkspaceIdProvider.getWorkspaceId();
     }
 
@@ -135,9 +153,10 @@ public class ProjectService extends Service {
                                                        ServerException,
                                                        ConflictException,
                                                        ForbiddenException {
+        final ItemLinksTemplate links = new ItemLinksTemplate();
         return projectManager.getProjects()
                              .stream()
-                             .map(p -> injectProjectLinks(asDto(p)))
+                             .map(p -> links.injectProjectLinks(asDto(p)))
                              .collect(Collectors.toList());
     }
 
@@ -155,7 +174,7 @@ public class ProjectService extends Service {
                                                                               ForbiddenException,
                                                                               ServerException,
                                                                               ConflictException {
-        return injectProjectLinks(asDto(projectManager.getProject(path)));
+        return new ItemLinksTemplate().injectProjectLinks(asDto(projectManager.getProject(path)));
     }
 
     @POST
@@ -194,7 +213,7 @@ public class ProjectService extends Service {
         // TODO this throws NPE
         //logProjectCreatedEvent(configDto.getName(), configDto.getProjectType());
 
-        return injectProjectLinks(configDto);
+        return new ItemLinksTemplate().injectProjectLinks(configDto);
     }
 
     @PUT
@@ -350,7 +369,7 @@ public class ProjectService extends Service {
                                                 .path(getClass(), "getFile")
                                                 .build(new String[]{newFile.getPath().toString().substring(1)}, false);
         return Response.created(location)
-                       .entity(injectFileLinks(asDto(newFile)))
+                       .entity(new ItemLinksTemplate().injectFileLinks(asDto(newFile)))
                        .build();
     }
 
@@ -381,7 +400,7 @@ public class ProjectService extends Service {
                                                           true));
 
         return Response.created(location)
-                       .entity(injectFolderLinks(asDto(newFolder)))
+                       .entity(new ItemLinksTemplate().injectFolderLinks(asDto(newFolder)))
                        .build();
     }
 
@@ -683,8 +702,12 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public InputStream exportZip(@ApiParam(value = "Path to resource to be exported")
-                                 @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+    public StreamingOutput exportZip(@ApiParam(value = "Path to resource to be exported")
+                                     @PathParam("path") String path,
+                                     @ApiParam(value = "Compression level from 0 to 9 or -1 for default level. " +
+                                                       "Level 0 stores content without compression")
+                                     @DefaultValue("-1") @QueryParam("compressionLevel") int compressionLevel)
+            throws NotFoundException, ForbiddenException, ServerException, BadRequestException {
 
         final FolderEntry folder = projectManager.asFolder(path);
 
@@ -692,7 +715,19 @@ public class ProjectService extends Service {
             throw new NotFoundException("Folder not found " + path);
         }
 
-        return folder.getVirtualFile().zip();
+        if ((compressionLevel < 0 || compressionLevel > 9) && compressionLevel != -1) {
+            throw new BadRequestException("Invalid compression level " + compressionLevel);
+        }
+
+        final VirtualFile virtualFile = folder.getVirtualFile();
+        // archive is written straight to the response, client gets first bytes before the whole folder is compressed
+        return output -> {
+            try {
+                virtualFile.zip(output, compressionLevel);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getLocalizedMessage(), e);
+            }
+        };
     }
 
     @GET
@@ -739,11 +774,12 @@ public class ProjectService extends Service {
 
         final List<VirtualFileEntry> children = folder.getChildren();
         final ArrayList<ItemReference> result = new ArrayList<>(children.size());
+        final ItemLinksTemplate links = new ItemLinksTemplate();
         for (VirtualFileEntry child : children) {
             if (child.isFile()) {
-                result.add(injectFileLinks(asDto((FileEntry)child)));
+                result.add(links.injectFileLinks(asDto((FileEntry)child)));
             } else {
-                result.add(injectFolderLinks(asDto((FolderEntry)child)));
+                result.add(links.injectFolderLinks(asDto((FolderEntry)child)));
             }
         }
 
@@ -759,20 +795,49 @@ public class ProjectService extends Service {
     @ApiResponses({@ApiResponse(code = 200, message = "OK"),
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Tree has too many items"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public TreeElement getTree(@ApiParam(value = "Path to resource. Can be project or its folders", required = true)
-                               @PathParam("parent") String path,
-                               @ApiParam(value = "Tree depth. This parameter can be dropped. If not specified ?depth=1 is used by default")
-                               @DefaultValue("1") @QueryParam("depth") int depth,
-                               @ApiParam(value = "include children files (in addition to children folders). This parameter can be dropped" +
-                                                 ". If not specified ?includeFiles=false is used by default")
-                               @DefaultValue("false") @QueryParam("includeFiles") boolean includeFiles) throws NotFoundException,
-                                                                                                               ForbiddenException,
-                                                                                                               ServerException {
+    public Response getTree(@ApiParam(value = "Path to resource. Can be project or its folders", required = true)
+                            @PathParam("parent") String path,
+                            @ApiParam(value = "Tree depth. This parameter can be dropped. If not specified ?depth=1 is used by default")
+                            @DefaultValue("1") @QueryParam("depth") int depth,
+                            @ApiParam(value = "include children files (in addition to children folders). This parameter can be dropped" +
+                                              ". If not specified ?includeFiles=false is used by default")
+                            @DefaultValue("false") @QueryParam("includeFiles") boolean includeFiles,
+                            @ApiParam(value = "Write tree to response while folders are traversed instead of building whole tree " +
+                                              "before sending it, response is broken if tree is too big. If not specified " +
+                                              "?stream=false is used by default")
+                            @DefaultValue("false") @QueryParam("stream") boolean stream) throws NotFoundException,
+                                                                                                ForbiddenException,
+                                                                                                ConflictException,
+                                                                                                ServerException {
         final FolderEntry folder = projectManager.asFolder(path);
 
-        return newDto(TreeElement.class).withNode(injectFolderLinks(asDto(folder)))
-                                        .withChildren(getTree(folder, depth, includeFiles));
+        if (folder == null) {
+            throw new NotFoundException("Folder not found " + path);
+        }
+
+        final ItemLinksTemplate links = new ItemLinksTemplate();
+        final TreeNodesBudget budget = new TreeNodesBudget(path, maxTreeNodes);
+
+        if (stream) {
+            final StreamingOutput tree = output -> {
+                final JsonWriter out = new JsonWriter(new BufferedWriter(new OutputStreamWriter(output, UTF_8)));
+                try {
+                    writeTree(folder, depth, includeFiles, links, budget, out);
+                } catch (ConflictException | ServerException e) {
+                    // response is partially sent already, the only way to report error is to break it
+                    throw new IOException(e.getLocalizedMessage(), e);
+                }
+                out.flush();
+            };
+            return Response.ok(tree, MediaType.APPLICATION_JSON).build();
+        }
+
+        return Response.ok(newDto(TreeElement.class).withNode(links.injectFolderLinks(asDto(folder)))
+                                                    .withChildren(getTree(folder, depth, includeFiles, links, budget)),
+                           MediaType.APPLICATION_JSON)
+                       .build();
     }
 
     @GET
@@ -795,9 +860,9 @@ public class ProjectService extends Service {
         }
 
         if (entry.isFile()) {
-            return injectFileLinks(asDto((FileEntry)entry));
+            return new ItemLinksTemplate().injectFileLinks(asDto((FileEntry)entry));
         } else {
-            return injectFolderLinks(asDto((FolderEntry)entry));
+            return new ItemLinksTemplate().injectFolderLinks(asDto((FolderEntry)entry));
         }
     }
 
@@ -805,7 +870,8 @@ public class ProjectService extends Service {
     @Path("/search/{path:.*}")
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Search for resources",
-                  notes = "Search for resources applying a number of search filters as query parameters",
+                  notes = "Search for resources applying a number of search filters as query parameters. If there are more " +
+                          "results, token of the next page is returned in header " + HEADER_NEXT_PAGE_TOKEN,
                   response = ItemReference.class,
                   responseContainer = "List")
     @ApiResponses({@ApiResponse(code = 200, message = "OK"),
@@ -813,25 +879,34 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 409, message = "Conflict error"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public List<ItemReference> search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
-                                      @PathParam("path") String path,
-                                      @ApiParam(value = "Resource name")
-                                      @QueryParam("name") String name,
-                                      @ApiParam(value = "Search keywords")
-                                      @QueryParam("text") String text,
-                                      @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
-                                      @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
-                                      @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+    public Response search(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                           @PathParam("path") String path,
+                           @ApiParam(value = "Resource name")
+                           @QueryParam("name") String name,
+                           @ApiParam(value = "Search keywords")
+                           @QueryParam("text") String text,
+                           @ApiParam(value = "Substring to search in content of files, case is ignored")
+                           @QueryParam("substring") String substring,
+                           @ApiParam(value = "Regular expression to search in content of files")
+                           @QueryParam("regex") String regex,
+                           @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
+                           @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                           @ApiParam(value = "Skip count")
+                           @QueryParam("skipCount") int skipCount,
+                           @ApiParam(value = "Token of page returned in header " + HEADER_NEXT_PAGE_TOKEN + " of the previous page. " +
+                                             "Skip count of the page must be sent too, it is used if token is expired")
+                           @QueryParam("pageToken") String pageToken,
+                           @ApiParam(value = "Include line numbers and content of lines where text matches")
+                           @QueryParam("includePositions") boolean includePositions) throws NotFoundException,
+                                                                                            ForbiddenException,
+                                                                                            ConflictException,
+                                                                                            ServerException {
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
         } catch (NotFoundException e) {
             LOG.warn(e.getLocalizedMessage());
-            return Collections.emptyList();
+            return Response.ok(new GenericEntity<List<ItemReference>>(Collections.emptyList()) {}, MediaType.APPLICATION_JSON).build();
         }
 
         if (skipCount < 0) {
@@ -842,23 +917,36 @@ public class ProjectService extends Service {
                 .setPath(path.startsWith("/") ? path : ('/' + path))
                 .setName(name)
                 .setText(text)
+                .setSubstring(substring)
+                .setRegex(regex)
                 .setMaxItems(maxItems)
-                .setSkipCount(skipCount);
+                .setSkipCount(skipCount)
+                .setPageToken(pageToken)
+                .setIncludePositions(includePositions);
 
         final SearchResult result = searcher.search(expr);
         final List<SearchResultEntry> searchResultEntries = result.getResults();
         final List<ItemReference> items = new ArrayList<>(searchResultEntries.size());
         final FolderEntry root = projectManager.getProjectsRoot();
+        final ItemLinksTemplate links = new ItemLinksTemplate();
 
         for (SearchResultEntry searchResultEntry : searchResultEntries) {
             final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
 
             if (child != null && child.isFile()) {
-                items.add(injectFileLinks(asDto((FileEntry)child)));
+                items.add(links.injectFileLinks(asDto((FileEntry)child)).withOccurrences(asDto(searchResultEntry.getOccurrences())));
             }
         }
 
-        return items;
+        final Response.ResponseBuilder response = Response.ok(new GenericEntity<List<ItemReference>>(items) {},
+                                                              MediaType.APPLICATION_JSON);
+        final String nextPageToken = result.getNextPageQueryExpression()
+                                           .map(QueryExpression::getPageToken)
+                                           .orElse(null);
+        if (nextPageToken != null) {
+            response.header(HEADER_NEXT_PAGE_TOKEN, nextPageToken);
+        }
+        return response.build();
     }
 
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
@@ -891,33 +979,89 @@ public class ProjectService extends Service {
 
     private List<TreeElement> getTree(FolderEntry folder,
                                       int depth,
-                                      boolean includeFiles) throws ServerException, NotFoundException {
+                                      boolean includeFiles,
+                                      ItemLinksTemplate links,
+                                      TreeNodesBudget budget) throws ServerException, ConflictException {
         if (depth == 0) {
             return null;
         }
 
-        final List<? extends VirtualFileEntry> children;
-
-        if (includeFiles) {
-            children = folder.getChildFoldersFiles();
-        } else {
-            children = folder.getChildFolders();
-        }
+        final List<? extends VirtualFileEntry> children = getTreeChildren(folder, includeFiles);
 
         final List<TreeElement> nodes = new ArrayList<>(children.size());
         for (VirtualFileEntry child : children) {
+            budget.spend();
             if (child.isFolder()) {
                 nodes.add(newDto(TreeElement.class)
-                                  .withNode(injectFolderLinks(asDto((FolderEntry)child)))
-                                  .withChildren(getTree((FolderEntry)child, depth - 1, includeFiles)));
+                                  .withNode(links.injectFolderLinks(asDto((FolderEntry)child)))
+                                  .withChildren(getTree((FolderEntry)child, depth - 1, includeFiles, links, budget)));
             } else {
-                nodes.add(newDto(TreeElement.class).withNode(injectFileLinks(asDto((FileEntry)child))));
+                nodes.add(newDto(TreeElement.class).withNode(links.injectFileLinks(asDto((FileEntry)child))));
             }
         }
 
         return nodes;
     }
 
+    /** Writes the same JSON as serialized {@link TreeElement} but without building tree in memory. */
+    private void writeTree(FolderEntry folder,
+                           int depth,
+                           boolean includeFiles,
+                           ItemLinksTemplate links,
+                           TreeNodesBudget budget,
+                           JsonWriter out) throws IOException, ServerException, ConflictException {
+        out.beginObject();
+        out.name("node");
+        ((JsonSerializable)links.injectFolderLinks(asDto(folder))).writeTo(out);
+        out.name("children");
+        out.beginArray();
+        if (depth != 0) {
+            for (VirtualFileEntry child : getTreeChildren(folder, includeFiles)) {
+                budget.spend();
+                if (child.isFolder()) {
+                    writeTree((FolderEntry)child, depth - 1, includeFiles, links, budget, out);
+                } else {
+                    out.beginObject();
+                    out.name("node");
+                    ((JsonSerializable)links.injectFileLinks(asDto((FileEntry)child))).writeTo(out);
+                    out.name("children");
+                    out.beginArray();
+                    out.endArray();
+                    out.endObject();
+                }
+            }
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    private List<? extends VirtualFileEntry> getTreeChildren(FolderEntry folder, boolean includeFiles) throws ServerException {
+        if (includeFiles) {
+            return folder.getChildFoldersFiles();
+        }
+        return folder.getChildFolders();
+    }
+
+    /** Limits number of nodes in one tree response, see {@link #maxTreeNodes}. */
+    private static class TreeNodesBudget {
+        final String path;
+        final int    maxNodes;
+        int remaining;
+
+        TreeNodesBudget(String path, int maxNodes) {
+            this.path = path;
+            this.maxNodes = maxNodes;
+            this.remaining = maxNodes;
+        }
+
+        void spend() throws ConflictException {
+            if (--remaining < 0) {
+                throw new ConflictException(String.format("Tree of '%s' has more than %d items, request smaller depth",
+                                                          path, maxNodes));
+            }
+        }
+    }
+
     /* --------------------------------------------------------------------------- */
     /* TODO check "upload" methods below, they were copied from old VFS as is      */
     /* --------------------------------------------------------------------------- */
@@ -1017,99 +1161,75 @@ public class ProjectService extends Service {
         parent.unzip(in, overwrite, stripNum);
     }
 
-    private ItemReference injectFileLinks(ItemReference itemReference) {
-        final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
-        final List<Link> links = new ArrayList<>();
-        final String relPath = itemReference.getPath().substring(1);
-
-        links.add(createLink(GET,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "getFile")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             APPLICATION_JSON,
-                             LINK_REL_GET_CONTENT));
-        links.add(createLink(PUT,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "updateFile")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             MediaType.WILDCARD,
-                             null,
-                             LINK_REL_UPDATE_CONTENT));
-        links.add(createLink(DELETE,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "delete")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             LINK_REL_DELETE));
-
-        return itemReference.withLinks(links);
-    }
+    /**
+     * Creates links of projects, files and folders of one response. URIs of service methods are built once, only escaped path
+     * of item is appended to them, so links of many items don't require building URI for each of them.
+     */
+    private class ItemLinksTemplate {
+        final String getFileUri;
+        final String updateFileUri;
+        final String updateProjectUri;
+        final String deleteUri;
+        final String getChildrenUri;
+        final String getTreeUri;
+
+        ItemLinksTemplate() {
+            final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
+            getFileUri = buildUriPrefix(uriBuilder, "getFile");
+            updateFileUri = buildUriPrefix(uriBuilder, "updateFile");
+            updateProjectUri = buildUriPrefix(uriBuilder, "updateProject");
+            deleteUri = buildUriPrefix(uriBuilder, "delete");
+            getChildrenUri = buildUriPrefix(uriBuilder, "getChildren");
+            getTreeUri = buildUriPrefix(uriBuilder, "getTree");
+        }
 
-    private ItemReference injectFolderLinks(ItemReference itemReference) {
-        final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
-        final List<Link> links = new ArrayList<>();
-        final String relPath = itemReference.getPath().substring(1);
-
-        links.add(createLink(GET,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "getChildren")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             APPLICATION_JSON,
-                             LINK_REL_CHILDREN));
-        links.add(createLink(GET,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "getTree")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             APPLICATION_JSON,
-                             LINK_REL_TREE));
-        links.add(createLink(DELETE,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "delete")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             LINK_REL_DELETE));
-
-        return itemReference.withLinks(links);
-    }
+        ProjectConfigDto injectProjectLinks(ProjectConfigDto projectConfig) {
+            final String relPath = escapePath(projectConfig.getPath().substring(1));
+            final List<Link> links = new ArrayList<>(4);
+            links.add(createLink(PUT, updateProjectUri + relPath, APPLICATION_JSON, APPLICATION_JSON, LINK_REL_UPDATE_PROJECT));
+            links.add(createLink(GET, getChildrenUri + relPath, APPLICATION_JSON, LINK_REL_CHILDREN));
+            links.add(createLink(GET, getTreeUri + relPath, APPLICATION_JSON, LINK_REL_TREE));
+            links.add(createLink(DELETE, deleteUri + relPath, LINK_REL_DELETE));
+            return projectConfig.withLinks(links);
+        }
 
-    private ProjectConfigDto injectProjectLinks(ProjectConfigDto projectConfig) {
-        final UriBuilder uriBuilder = getServiceContext().getServiceUriBuilder();
-        final List<Link> links = new ArrayList<>();
-        final String relPath = projectConfig.getPath().substring(1);
-
-        links.add(createLink(PUT,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "updateProject")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             APPLICATION_JSON,
-                             APPLICATION_JSON,
-                             LINK_REL_UPDATE_PROJECT));
-        links.add(createLink(GET,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "getChildren")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             APPLICATION_JSON,
-                             LINK_REL_CHILDREN));
-        links.add(createLink(GET,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "getTree")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             APPLICATION_JSON,
-                             LINK_REL_TREE));
-        links.add(createLink(DELETE,
-                             uriBuilder.clone()
-                                       .path(ProjectService.class, "delete")
-                                       .build(new String[]{relPath}, false)
-                                       .toString(),
-                             LINK_REL_DELETE));
-
-        return projectConfig.withLinks(links);
+        ItemReference injectFileLinks(ItemReference itemReference) {
+            final String relPath = escapePath(itemReference.getPath().substring(1));
+            final List<Link> links = new ArrayList<>(3);
+            links.add(createLink(GET, getFileUri + relPath, APPLICATION_JSON, LINK_REL_GET_CONTENT));
+            links.add(createLink(PUT, updateFileUri + relPath, MediaType.WILDCARD, null, LINK_REL_UPDATE_CONTENT));
+            links.add(createLink(DELETE, deleteUri + relPath, LINK_REL_DELETE));
+            return itemReference.withLinks(links);
+        }
+
+        ItemReference injectFolderLinks(ItemReference itemReference) {
+            final String relPath = escapePath(itemReference.getPath().substring(1));
+            final List<Link> links = new ArrayList<>(3);
+            links.add(createLink(GET, getChildrenUri + relPath, APPLICATION_JSON, LINK_REL_CHILDREN));
+            links.add(createLink(GET, getTreeUri + relPath, APPLICATION_JSON, LINK_REL_TREE));
+            links.add(createLink(DELETE, deleteUri + relPath, LINK_REL_DELETE));
+            return itemReference.withLinks(links);
+        }
+
+        /** URI of method with empty path parameter, all used methods have path parameter at the end of URI template. */
+        private String buildUriPrefix(UriBuilder uriBuilder, String method) {
+            return uriBuilder.clone()
+                             .path(ProjectService.class, method)
+                             .build(new String[]{""}, false)
+                             .toString();
+        }
+
+        /** Escapes path in the same way as {@link UriBuilder#build(Object[], boolean)} without encoding slashes. */
+        private String escapePath(String path) {
+            final Escaper escaper = UrlEscapers.urlPathSegmentEscaper();
+            final StringBuilder escaped = new StringBuilder(path.length());
+            for (String segment : Splitter.on('/').split(path)) {
+                if (escaped.length() > 0) {
+                    escaped.append('/');
+                }
+                escaped.append(escaper.escape(segment));
+            }
+            return escaped.toString();
+        }
     }
 }
@@ -22,4 +22,8 @@ public class ArchiverFactory {
         }
         throw new IllegalArgumentException(String.format("Unsupported archive type %s", archiveType));
     }
+
+    public Archiver createZipArchiver(VirtualFile folder, int compressionLevel) {
+        return new ZipArchiver(folder, compressionLevel);
+    }
 }
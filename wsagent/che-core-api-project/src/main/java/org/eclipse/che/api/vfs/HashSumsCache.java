@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.function.Predicate;
+
+/**
+ * Keeps hash sums of files calculated by {@link HashSumsCounter}. Cached hash sum is used only while length and
+ * modification date of the file are the same as when the hash sum was calculated, so files changed bypassing
+ * virtual filesystem are hashed again. One instance of cache must be used with one hash function only.
+ */
+public class HashSumsCache {
+    private final Cache<Path, HashSum> hashSums;
+
+    public HashSumsCache(long maxSize) {
+        hashSums = CacheBuilder.newBuilder()
+                               .concurrencyLevel(8)
+                               .maximumSize(maxSize)
+                               .recordStats()
+                               .build();
+    }
+
+    /** Returns cached hash sum of the file or {@code null} if there is no hash sum for current state of the file. */
+    public String get(Path path, long length, long lastModificationDate) {
+        final HashSum hashSum = hashSums.getIfPresent(path);
+        if (hashSum == null || hashSum.length != length || hashSum.lastModificationDate != lastModificationDate) {
+            return null;
+        }
+        return hashSum.hash;
+    }
+
+    /**
+     * Caches hash sum of the file. Length and modification date must be taken before reading content of the file,
+     * then hash sum is not used if file is modified while it is hashed.
+     */
+    public void put(Path path, long length, long lastModificationDate, String hash) {
+        hashSums.put(path, new HashSum(length, lastModificationDate, hash));
+    }
+
+    /** Removes cached hash sum of file with specified path. */
+    public void invalidate(Path path) {
+        hashSums.invalidate(path);
+    }
+
+    /** Removes cached hash sums of item with specified path and of all its children. */
+    public void invalidateTree(Path path) {
+        final Predicate<Path> isSameOrChild = cached -> cached.equals(path) || cached.isChild(path);
+        hashSums.asMap().keySet().removeIf(isSameOrChild);
+    }
+
+    public void invalidateAll() {
+        hashSums.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return hashSums.stats();
+    }
+
+    private static class HashSum {
+        final long   length;
+        final long   lastModificationDate;
+        final String hash;
+
+        HashSum(long length, long lastModificationDate, String hash) {
+            this.length = length;
+            this.lastModificationDate = lastModificationDate;
+            this.hash = hash;
+        }
+    }
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import com.google.common.base.Throwables;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.io.ByteStreams;
@@ -21,6 +22,8 @@ import org.eclipse.che.commons.lang.Pair;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.hash.Funnels.asOutputStream;
@@ -28,16 +31,28 @@ import static com.google.common.hash.Funnels.asOutputStream;
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
  * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
+ * <p/>
+ * If {@code ForkJoinPool} is given then sub-folders and files are hashed in parallel by tasks of the pool,
+ * otherwise they are hashed in the calling thread. If {@code HashSumsCache} is given then files which are
+ * not changed since they were hashed last time are not read again.
  */
 public class HashSumsCounter implements VirtualFileVisitor {
     private final VirtualFile                folder;
     private final HashFunction               hashFunction;
+    private final ForkJoinPool               pool;
+    private final HashSumsCache              cache;
     private final List<Pair<String, String>> hashSums;
 
 
     public HashSumsCounter(VirtualFile folder, HashFunction hashFunction) {
+        this(folder, hashFunction, null, null);
+    }
+
+    public HashSumsCounter(VirtualFile folder, HashFunction hashFunction, ForkJoinPool pool, HashSumsCache cache) {
         this.folder = folder;
         this.hashFunction = hashFunction;
+        this.pool = pool;
+        this.cache = cache;
         hashSums = newArrayList();
     }
 
@@ -50,27 +65,90 @@ public class HashSumsCounter implements VirtualFileVisitor {
      * </pre>
      */
     public List<Pair<String, String>> countHashSums() throws ServerException {
-        folder.accept(this);
-        return hashSums;
+        if (pool == null) {
+            folder.accept(this);
+            return hashSums;
+        }
+        try {
+            return pool.invoke(new HashSumsTask(folder));
+        } catch (RuntimeException e) {
+            for (Throwable cause : Throwables.getCausalChain(e)) {
+                if (cause instanceof ServerException) {
+                    throw (ServerException)cause;
+                }
+            }
+            throw e;
+        }
     }
 
     @Override
     public void visit(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
-            try (InputStream in = virtualFile.getContent()) {
-                final Hasher hasher = hashFunction.newHasher();
-                ByteStreams.copy(in, asOutputStream(hasher));
-                final String hexHash = hasher.hash().toString();
-                hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-            } catch (IOException e) {
-                throw new ServerException(e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
-            }
+            hashSums.add(countHashSum(virtualFile));
         } else {
             for (VirtualFile child : virtualFile.getChildren()) {
                 child.accept(this);
             }
         }
     }
+
+    private Pair<String, String> countHashSum(VirtualFile file) throws ServerException {
+        final Path path = file.getPath();
+        final String relativePath = path.subPath(folder.getPath()).toString();
+        // length and modification date must be read before content, see HashSumsCache.put
+        final long length = file.getLength();
+        final long lastModificationDate = file.getLastModificationDate();
+        if (cache != null) {
+            final String cachedHash = cache.get(path, length, lastModificationDate);
+            if (cachedHash != null) {
+                return Pair.of(cachedHash, relativePath);
+            }
+        }
+        try (InputStream in = file.getContent()) {
+            final Hasher hasher = hashFunction.newHasher();
+            ByteStreams.copy(in, asOutputStream(hasher));
+            final String hexHash = hasher.hash().toString();
+            if (cache != null) {
+                cache.put(path, length, lastModificationDate, hexHash);
+            }
+            return Pair.of(hexHash, relativePath);
+        } catch (IOException e) {
+            throw new ServerException(e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    /** Counts hash sums of file or of all files in folder, folder's children are processed by separate tasks. */
+    private class HashSumsTask extends RecursiveTask<List<Pair<String, String>>> {
+        final VirtualFile virtualFile;
+
+        HashSumsTask(VirtualFile virtualFile) {
+            this.virtualFile = virtualFile;
+        }
+
+        @Override
+        protected List<Pair<String, String>> compute() {
+            try {
+                if (virtualFile.isFile()) {
+                    final List<Pair<String, String>> result = newArrayList();
+                    result.add(countHashSum(virtualFile));
+                    return result;
+                }
+                final List<HashSumsTask> subTasks = newArrayList();
+                for (VirtualFile child : virtualFile.getChildren()) {
+                    subTasks.add(new HashSumsTask(child));
+                }
+                invokeAll(subTasks);
+                // join in order of children to get the same order of hash sums as in sequential traversal
+                final List<Pair<String, String>> result = newArrayList();
+                for (HashSumsTask subTask : subTasks) {
+                    result.addAll(subTask.join());
+                }
+                return result;
+            } catch (ServerException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
 }
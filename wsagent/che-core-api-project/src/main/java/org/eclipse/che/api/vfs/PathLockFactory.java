@@ -10,6 +10,17 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
@@ -34,11 +45,22 @@ package org.eclipse.che.api.vfs;
  * @author andrew00x>
  */
 public final class PathLockFactory {
-    private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+    private static final int    MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+    private static final int    DEFAULT_STRIPES     = 32;
+    private static final Path[] NO_PARENTS          = new Path[0];
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int                         maxThreads;
+    /**
+     * Lock table is split in stripes by full path. Lock of path is put in stripe of the path and every parent of the path, except root,
+     * counts locks of its descendants in own stripe, so lock of parent and lock of child always meet in stripe of parent and conflicting
+     * locks are found without locking of other stripes. Root path is parent of all paths, locks of root are put in every stripe instead.
+     */
+    private final LockTable[]                 stripes;
+    /** Locks held by current thread, thread may get lock of path if conflicting locks of its descendants are held by itself. */
+    private final ThreadLocal<List<PathLock>> ownLocks;
+    private final Lock                        waitLock;
+    private final Condition                   released;
+    private final AtomicInteger               waiters;
 
     /**
      * @param maxThreads
@@ -46,78 +68,242 @@ public final class PathLockFactory {
      *         avoid blocking threads that need to obtain NOT exclusive lock.
      */
     public PathLockFactory(int maxThreads) {
-        if (maxThreads < 1) {
+        this(maxThreads, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param maxThreads
+     *         the max number of threads are allowed to access one file
+     * @param stripes
+     *         number of stripes of lock table, with single stripe all locks are managed under one lock
+     */
+    public PathLockFactory(int maxThreads, int stripes) {
+        if (maxThreads < 1 || stripes < 1) {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        this.stripes = new LockTable[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new LockTable();
+        }
+        ownLocks = ThreadLocal.withInitial(ArrayList::new);
+        waitLock = new ReentrantLock();
+        released = waitLock.newCondition();
+        waiters = new AtomicInteger();
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
         return new PathLock(path, exclusive ? maxThreads : 1);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
+    /**
+     * Threads which can't get lock wait until any lock is released. Waiting threads are counted, so releasing of lock doesn't touch shared
+     * monitor while nobody waits.
+     */
+    private void acquire(PathLock pathLock, long timeoutMilliseconds) {
+        if (!tryAcquire(pathLock)) {
+            final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
+            waitLock.lock();
+            waiters.incrementAndGet();
             try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+                while (!tryAcquire(pathLock)) {
+                    try {
+                        if (timeoutMilliseconds < 0) {
+                            released.await();
+                        } else {
+                            final long waitTime = endTime - System.currentTimeMillis();
+                            if (waitTime <= 0 || !released.await(waitTime, MILLISECONDS)) {
+                                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", pathLock.path));
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            } finally {
+                waiters.decrementAndGet();
+                waitLock.unlock();
             }
         }
+        ownLocks.get().add(pathLock);
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
+    private boolean tryAcquire(PathLock pathLock) {
+        if (pathLock.path.length() == 0) {
+            return tryAcquireRoot(pathLock.path, pathLock.permits);
+        }
+        boolean acquired = false;
+        int countedInParents = 0;
+        try {
+            for (Path parent : pathLock.parents) {
+                final LockTable stripe = stripeFor(parent);
+                stripe.lock.lock();
+                try {
+                    if (!stripe.tryAddDescendantLock(parent, pathLock.permits)) {
+                        return false;
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+                countedInParents++;
+            }
+            final LockTable stripe = stripeFor(pathLock.path);
+            stripe.lock.lock();
             try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+                acquired = stripe.tryAcquire(pathLock.path, pathLock.permits);
+            } finally {
+                stripe.lock.unlock();
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            return acquired;
+        } finally {
+            if (!acquired && countedInParents > 0) {
+                removeDescendantLock(pathLock, countedInParents);
+                signalWaiters();
             }
-            waitTime = endTime - now;
         }
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
-            }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+    /**
+     * Root lock must be obtained in all stripes at once. All stripes are locked in the same order, if root lock can't be obtained in any
+     * of them then locks obtained in other stripes are rolled back.
+     */
+    private boolean tryAcquireRoot(Path path, int permits) {
+        for (LockTable stripe : stripes) {
+            stripe.lock.lock();
+        }
+        try {
+            for (int i = 0; i < stripes.length; i++) {
+                if (!stripes[i].tryAcquire(path, permits)) {
+                    for (int j = 0; j < i; j++) {
+                        stripes[j].release(path, permits);
                     }
-                } else {
-                    --prev.threadDeep;
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            for (LockTable stripe : stripes) {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private void release(PathLock pathLock) {
+        if (!ownLocks.get().remove(pathLock)) {
+            throw new IllegalStateException(String.format("Lock of '%s' isn't held by current thread. ", pathLock.path));
+        }
+        if (pathLock.path.length() == 0) {
+            for (LockTable stripe : stripes) {
+                stripe.lock.lock();
+            }
+            try {
+                for (LockTable stripe : stripes) {
+                    stripe.release(pathLock.path, pathLock.permits);
+                }
+            } finally {
+                for (LockTable stripe : stripes) {
+                    stripe.lock.unlock();
                 }
             }
-            node = node.prev;
+        } else {
+            final LockTable stripe = stripeFor(pathLock.path);
+            stripe.lock.lock();
+            try {
+                stripe.release(pathLock.path, pathLock.permits);
+            } finally {
+                stripe.lock.unlock();
+            }
+            removeDescendantLock(pathLock, pathLock.parents.length);
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
+        signalWaiters();
+    }
+
+    /** Removes lock from specified number of topmost parents of its path. */
+    private void removeDescendantLock(PathLock pathLock, int parents) {
+        for (int i = 0; i < parents; i++) {
+            final LockTable stripe = stripeFor(pathLock.parents[i]);
+            stripe.lock.lock();
+            try {
+                stripe.removeDescendantLock(pathLock.parents[i], pathLock.permits);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private void signalWaiters() {
+        if (waiters.get() > 0) {
+            waitLock.lock();
+            try {
+                released.signalAll();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    /** Number of locks of descendants of the path held by current thread, only exclusive locks are counted if requested. */
+    private int countOwnDescendantLocks(Path path, boolean exclusiveOnly) {
+        int count = 0;
+        for (PathLock pathLock : ownLocks.get()) {
+            if (pathLock.path.isChild(path) && (!exclusiveOnly || pathLock.isExclusive())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private LockTable stripeFor(Path path) {
+        return stripes[(path.hashCode() & Integer.MAX_VALUE) % stripes.length];
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
+    private static Path[] parentsOf(Path path) {
+        if (path.length() < 2) {
+            return NO_PARENTS;
+        }
+        final Path[] parents = new Path[path.length() - 1];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = path.subPath(0, i + 1);
+        }
+        return parents;
+    }
+
+    public void checkClean() {
+        for (LockTable stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                assert stripe.nodes.isEmpty();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+   /* =============================================== */
+
+    /** Part of lock table. All methods must be called with {@link #lock} held. */
+    private class LockTable {
+        final Lock            lock  = new ReentrantLock();
+        final Map<Path, Node> nodes = new HashMap<>();
+
+        boolean tryAcquire(Path path, int permits) {
+            final long current = Thread.currentThread().getId();
+            if (path.length() == 0) {
+                for (Node node : nodes.values()) {
+                    if (node.path.length() > 0 && node.isLocked() && node.conflictsWith(permits, current)) {
+                        // Some path already has lock that prevents us to get required permits for root.
+                        return false;
+                    }
+                }
+            } else {
+                final Node root = nodes.get(Path.ROOT);
+                if (root != null && root.isLocked() && root.conflictsWith(permits, current)) {
+                    return false;
+                }
+            }
+            Node node = nodes.get(path);
+            if (node != null && node.isLocked()) {
+                if (node.threadId == current) {
                     // Current thread already has direct lock for this path
                     if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
                         throw new Error("Max number of recursive locks exceeded. ");
@@ -133,61 +319,114 @@ public final class PathLockFactory {
                 }
                 // Lock is exclusive or max number of allowed concurrent thread is reached.
                 return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
-                }
             }
-            node = node.prev;
+            if (node == null) {
+                node = new Node(path);
+                nodes.put(path, node);
+            } else if (permits == maxThreads
+                       ? node.descendantLocks > countOwnDescendantLocks(path, false)
+                       : node.exclusiveDescendantLocks > countOwnDescendantLocks(path, true)) {
+                // Child of the path we try to lock already locked by other thread.
+                return false;
+            }
+            node.threadId = current;
+            node.permits = maxThreads - permits;
+            node.threadDeep = 1;
+            return true;
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
-    }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
-    }
+        void release(Path path, int permits) {
+            final Node node = nodes.get(path);
+            if (node == null || !node.isLocked()) {
+                return;
+            }
+            if (node.threadDeep == 1) {
+                // If last recursive lock.
+                node.permits += permits;
+                if (node.permits >= maxThreads) {
+                    node.permits = maxThreads;
+                    removeIfUnused(node);
+                }
+            } else {
+                --node.threadDeep;
+            }
+        }
 
-   /* =============================================== */
+        /** Counts lock of descendant of the parent if the parent isn't locked by other thread in conflicting mode. */
+        boolean tryAddDescendantLock(Path parent, int permits) {
+            Node node = nodes.get(parent);
+            if (node == null) {
+                node = new Node(parent);
+                nodes.put(parent, node);
+            } else if (node.isLocked() && node.conflictsWith(permits, Thread.currentThread().getId())) {
+                // Parent of the path we try to lock already locked by other thread.
+                return false;
+            }
+            node.descendantLocks++;
+            if (permits == maxThreads) {
+                node.exclusiveDescendantLocks++;
+            }
+            return true;
+        }
 
-    private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+        void removeDescendantLock(Path parent, int permits) {
+            final Node node = nodes.get(parent);
+            if (node != null) {
+                node.descendantLocks--;
+                if (permits == maxThreads) {
+                    node.exclusiveDescendantLocks--;
+                }
+                removeIfUnused(node);
+            }
+        }
 
-        Node(Path path, int permits, Node prev) {
-            this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+        private void removeIfUnused(Node node) {
+            if (!node.isLocked() && node.descendantLocks == 0) {
+                nodes.remove(node.path);
+            }
         }
 
-        @Override
-        public String toString() {
-            return "Node{" +
-                   "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
-                   '}';
+        private class Node {
+            final Path path;
+            long threadId;
+            int  permits = maxThreads;
+            int  threadDeep;
+            int  descendantLocks;
+            int  exclusiveDescendantLocks;
+
+            Node(Path path) {
+                this.path = path;
+            }
+
+            boolean isLocked() {
+                return permits < maxThreads;
+            }
+
+            /** Tells whether lock of this path by other thread prevents us to get required permits for its parent or child. */
+            boolean conflictsWith(int requiredPermits, long currentThreadId) {
+                return permits <= requiredPermits && threadId != currentThreadId;
+            }
+
+            @Override
+            public String toString() {
+                return "Node{" +
+                       "path=" + path +
+                       ", threadId=" + threadId +
+                       ", permits=" + permits +
+                       ", descendantLocks=" + descendantLocks +
+                       '}';
+            }
         }
     }
 
     public final class PathLock {
-        private final Path path;
-        private final int  permits;
+        private final Path   path;
+        private final Path[] parents;
+        private final int    permits;
 
         private PathLock(Path path, int permits) {
             this.path = path;
+            this.parents = parentsOf(path);
             this.permits = permits;
         }
 
@@ -197,7 +436,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(this, -1);
             return this;
         }
 
@@ -212,13 +451,18 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(this, timeoutMilliseconds);
             return this;
         }
 
-        /** Release file permit. */
+        /**
+         * Release file permit.
+         *
+         * @throws IllegalStateException
+         *         if current thread doesn't hold this lock
+         */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(this);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
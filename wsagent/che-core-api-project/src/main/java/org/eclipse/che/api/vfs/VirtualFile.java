@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -504,6 +505,23 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream zip() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as zip archive to specified output. Unlike {@link #zip()}
+     * archive is not buffered, entries are written to the output as soon as they are compressed.
+     *
+     * @param zipOutput
+     *         output for zipped content
+     * @param compressionLevel
+     *         compression level from 0 to 9 or -1 for default level, 0 stores content without compression
+     *         which is useful for content that is already compressed
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     * @see java.util.zip.Deflater
+     */
+    void zip(OutputStream zipOutput, int compressionLevel) throws ForbiddenException, ServerException;
+
     /**
      * Extracts zip archive to the folder denoted by this VirtualFile.
      *
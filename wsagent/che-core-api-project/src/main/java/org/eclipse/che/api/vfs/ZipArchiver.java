@@ -21,13 +21,29 @@ import org.eclipse.che.api.vfs.util.ZipContent;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 public class ZipArchiver extends Archiver {
+    private final int compressionLevel;
+
     public ZipArchiver(VirtualFile folder) {
+        this(folder, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param compressionLevel
+     *         compression level from 0 to 9 or -1 for default level
+     * @see Deflater#setLevel(int)
+     */
+    public ZipArchiver(VirtualFile folder, int compressionLevel) {
         super(folder);
+        if ((compressionLevel < 0 || compressionLevel > 9) && compressionLevel != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException(String.format("Invalid compression level %d", compressionLevel));
+        }
+        this.compressionLevel = compressionLevel;
     }
 
     @Override
@@ -38,6 +54,7 @@ public class ZipArchiver extends Archiver {
     @Override
     public void compress(OutputStream zipOutput, VirtualFileFilter filter) throws IOException, ServerException {
         try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipOutput)) {
+            zipOutputStream.setLevel(compressionLevel);
             folder.accept(new VirtualFileVisitor() {
                 @Override
                 public void visit(VirtualFile visitedVirtualFile) throws ServerException {
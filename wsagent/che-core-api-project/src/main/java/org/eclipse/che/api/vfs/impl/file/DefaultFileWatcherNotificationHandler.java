@@ -14,6 +14,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,10 +42,18 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     @Override
     public void handleFileWatcherEvent(FileWatcherEventType eventType, File watchRoot, String subPath, boolean isDir) {
-        VirtualFile virtualFile = convertToVirtualFile(watchRoot, subPath, isDir);
+        LocalVirtualFileSystem virtualFileSystem = getVirtualFileSystem();
+        if (virtualFileSystem == null) {
+            return;
+        }
+        VirtualFile virtualFile = convertToVirtualFile(virtualFileSystem, watchRoot, subPath, isDir);
         if (virtualFile == null) {
             return;
         }
+        if (!isDir) {
+            // file is changed bypassing virtual filesystem, e.g. from terminal
+            virtualFileSystem.invalidateHashSums(virtualFile.getPath());
+        }
         for (FileWatcherNotificationListener virtualFileListener : fileWatcherNotificationListeners) {
             if (virtualFileListener.shouldBeNotifiedFor(virtualFile)) {
                 virtualFileListener.onFileWatcherEvent(virtualFile, eventType);
@@ -70,9 +79,21 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         return fileWatcherNotificationListeners.remove(fileWatcherNotificationListener);
     }
 
-    private VirtualFile convertToVirtualFile(File root, String subPath, boolean isDir) {
+    private LocalVirtualFileSystem getVirtualFileSystem() {
+        try {
+            VirtualFileSystem virtualFileSystem = virtualFileSystemProvider.getVirtualFileSystem(true);
+            if (virtualFileSystem instanceof LocalVirtualFileSystem) {
+                return (LocalVirtualFileSystem)virtualFileSystem;
+            }
+            LOG.warn("File watcher events can't be applied to virtual filesystem {}", virtualFileSystem);
+        } catch (ServerException e) {
+            LOG.warn(e.getMessage());
+        }
+        return null;
+    }
+
+    private VirtualFile convertToVirtualFile(LocalVirtualFileSystem virtualFileSystem, File root, String subPath, boolean isDir) {
         try {
-            LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
             Path vfsPath = Path.of(subPath);
             VirtualFile virtualFile = virtualFileSystem.getRoot().getChild(vfsPath);
             if (virtualFile == null) {
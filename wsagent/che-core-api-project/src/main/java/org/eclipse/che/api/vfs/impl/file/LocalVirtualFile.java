@@ -25,6 +25,8 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -40,11 +42,21 @@ public class LocalVirtualFile implements VirtualFile {
     private final java.io.File           ioFile;
     private final Path                   path;
     private final LocalVirtualFileSystem fileSystem;
+    /**
+     * Attributes read while listing of parent folder. They are used only until listing is finished, after that type of
+     * file is always checked on file system since file may be removed or replaced.
+     */
+    private BasicFileAttributes          listingAttributes;
 
     LocalVirtualFile(java.io.File ioFile, Path path, LocalVirtualFileSystem fileSystem) {
+        this(ioFile, path, fileSystem, null);
+    }
+
+    LocalVirtualFile(java.io.File ioFile, Path path, LocalVirtualFileSystem fileSystem, BasicFileAttributes listingAttributes) {
         this.ioFile = ioFile;
         this.path = path;
         this.fileSystem = fileSystem;
+        this.listingAttributes = listingAttributes;
     }
 
     @Override
@@ -69,14 +81,25 @@ public class LocalVirtualFile implements VirtualFile {
 
     @Override
     public boolean isFile() {
+        if (listingAttributes != null) {
+            return listingAttributes.isRegularFile();
+        }
         return toIoFile().isFile();
     }
 
     @Override
     public boolean isFolder() {
+        if (listingAttributes != null) {
+            return listingAttributes.isDirectory();
+        }
         return toIoFile().isDirectory();
     }
 
+    /** Drops attributes read while listing of parent folder, must be called before file is returned from listing. */
+    void listingFinished() {
+        listingAttributes = null;
+    }
+
     @Override
     public VirtualFile getParent() {
         return fileSystem.getParent(this);
@@ -246,6 +269,11 @@ public class LocalVirtualFile implements VirtualFile {
         return fileSystem.zip(this);
     }
 
+    @Override
+    public void zip(OutputStream zipOutput, int compressionLevel) throws ForbiddenException, ServerException {
+        fileSystem.zip(this, zipOutput, compressionLevel);
+    }
+
     @Override
     public void unzip(InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
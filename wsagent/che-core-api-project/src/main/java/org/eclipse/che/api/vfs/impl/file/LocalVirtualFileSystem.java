@@ -12,6 +12,7 @@ package org.eclipse.che.api.vfs.impl.file;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
@@ -25,6 +26,7 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.HashSumsCache;
 import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
@@ -52,18 +54,30 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystemException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newLinkedHashMap;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.Collections.singletonMap;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.eclipse.che.api.vfs.VirtualFileFilters.dotGitFilter;
@@ -88,8 +102,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final FileLock NO_LOCK                = new FileLock("no_lock", 0);
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
+    private static final String   TEMP_CONTENT_DIR       = VFS_SERVICE_DIR + File.separatorChar + "tmp";
 
-    private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
+    private static final int LOCK_TOKENS_CACHE_MAX_SIZE = 256;
+    /** Max total number of properties in metadata cache, each cached item also takes one unit even if it has no properties. */
+    private static final int METADATA_CACHE_MAX_WEIGHT  = 4096;
+    private static final int HASH_SUMS_CACHE_MAX_SIZE   = 100000;
+
+    private static final DirectoryStream.Filter<java.nio.file.Path> DOT_VFS_DIR_FILTER =
+            entry -> !(VFS_SERVICE_DIR.equals(entry.getFileName().toString()));
 
     private static final FilenameFilter VFS_LOCK_FILTER =
             (dir, name) -> !(dir.getAbsolutePath().endsWith(FILE_LOCKS_DIR) || name.endsWith(LOCK_FILE_SUFFIX));
@@ -136,6 +157,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final HashSumsCache md5SumsCache;
+    private final ForkJoinPool  hashSumsPool;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -152,16 +176,22 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         locksSerializer = new FileLockSerializer();
         lockTokensCache = CacheBuilder.newBuilder()
                                       .concurrencyLevel(8)
-                                      .maximumSize(256)
+                                      .maximumSize(LOCK_TOKENS_CACHE_MAX_SIZE)
                                       .expireAfterAccess(10, MINUTES)
+                                      .recordStats()
                                       .build(new LockTokenCacheLoader());
 
         metadataSerializer = new FileMetadataSerializer();
         metadataCache = CacheBuilder.newBuilder()
                                     .concurrencyLevel(8)
-                                    .maximumSize(256)
+                                    .maximumWeight(METADATA_CACHE_MAX_WEIGHT)
+                                    .weigher((Path path, Map<String, String> properties) -> 1 + properties.size())
                                     .expireAfterAccess(10, MINUTES)
+                                    .recordStats()
                                     .build(new FilePropertiesCacheLoader());
+
+        md5SumsCache = new HashSumsCache(HASH_SUMS_CACHE_MAX_SIZE);
+        hashSumsPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
     }
 
     @Override
@@ -177,6 +207,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        hashSumsPool.shutdown();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -208,6 +239,38 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void cleanUpCaches() {
         lockTokensCache.invalidateAll();
         metadataCache.invalidateAll();
+        md5SumsCache.invalidateAll();
+    }
+
+    /** Removes cached lock tokens and properties of item with specified path and of all its children. */
+    private void cleanUpCaches(Path path) {
+        final Predicate<Path> isSameOrChild = cached -> cached.equals(path) || cached.isChild(path);
+        lockTokensCache.asMap().keySet().removeIf(isSameOrChild);
+        metadataCache.asMap().keySet().removeIf(isSameOrChild);
+        md5SumsCache.invalidateTree(path);
+    }
+
+    /**
+     * Removes cached hash sum of file with specified path. Cached hash sums are checked against length and modification
+     * date of files, this method is used to drop hash sums of files that are changed bypassing virtual filesystem earlier.
+     */
+    void invalidateHashSums(Path path) {
+        md5SumsCache.invalidate(path);
+    }
+
+    /** Statistics of cache of file lock tokens. */
+    public CacheStats getLockTokensCacheStats() {
+        return lockTokensCache.stats();
+    }
+
+    /** Statistics of cache of file properties. */
+    public CacheStats getMetadataCacheStats() {
+        return metadataCache.stats();
+    }
+
+    /** Statistics of cache of MD5 sums of files. */
+    public CacheStats getMd5SumsCacheStats() {
+        return md5SumsCache.getStats();
     }
 
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
@@ -243,43 +306,59 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
             final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
             Collections.sort(children);
+            for (VirtualFile child : children) {
+                ((LocalVirtualFile)child).listingFinished();
+            }
             return children;
         }
         return emptyList();
     }
 
 
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
-        }
-
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
-        }
-
+    /**
+     * Lists folder with single pass over its entries. Type of each child is read together with listing and kept in {@link
+     * LocalVirtualFile} so filtering and sorting of children don't need to touch file system again. Caller must call
+     * {@link LocalVirtualFile#listingFinished()} on children before they are returned.
+     */
+    private List<VirtualFile> doGetChildren(LocalVirtualFile parent,
+                                            DirectoryStream.Filter<java.nio.file.Path> ioFileFilter,
+                                            VirtualFileFilter vfsFilter) throws ServerException {
         if (vfsFilter == null) {
             vfsFilter = VirtualFileFilter.ACCEPT_ALL;
         }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-        for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
-            final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
-            if (vfsFilter.accept(child)) {
-                children.add(child);
+        final List<VirtualFile> children = newArrayList();
+        try (DirectoryStream<java.nio.file.Path> entries = java.nio.file.Files.newDirectoryStream(parent.toIoFile().toPath(),
+                                                                                                  ioFileFilter)) {
+            for (java.nio.file.Path entry : entries) {
+                final Path childPath = parent.getPath().newPath(entry.getFileName().toString());
+                final LocalVirtualFile child = new LocalVirtualFile(entry.toFile(), childPath, this, readAttributes(entry));
+                if (vfsFilter.accept(child)) {
+                    children.add(child);
+                }
             }
+        } catch (IOException | DirectoryIteratorException e) {
+            String errorMessage = String.format("Unable get children of '%s'", parent.getPath());
+            LOG.error(errorMessage + "\n" + e.getMessage(), e);
+            throw new ServerException(errorMessage);
         }
 
         return children;
     }
 
+    /** Returns attributes of file or {@code null} if they can't be read, e.g. file is removed or it is a broken symbolic link. */
+    private BasicFileAttributes readAttributes(java.nio.file.Path file) {
+        try {
+            return java.nio.file.Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
 
     LocalVirtualFile createFile(LocalVirtualFile parent, String name, InputStream content)
             throws ForbiddenException, ConflictException, ServerException {
@@ -491,21 +570,16 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     InputStream getContent(LocalVirtualFile virtualFile) throws ForbiddenException, ServerException {
         if (virtualFile.isFile()) {
             final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
-            File spoolFile = null;
             try {
                 final File ioFile = virtualFile.toIoFile();
                 final long fileLength = ioFile.length();
                 if (fileLength <= MAX_BUFFER_SIZE) {
                     return new ByteArrayInputStream(Files.toByteArray(ioFile));
                 }
-                // Copy this file to be able release the file lock before leave this method.
-                spoolFile = File.createTempFile("spool_file", null);
-                Files.copy(ioFile, spoolFile);
-                return new DeleteOnCloseFileInputStream(spoolFile);
+                // Content is replaced with new file (see doUpdateContent), so the opened stream keeps reading
+                // the same content after the file lock is released, except files which are updated in place.
+                return java.nio.file.Files.newInputStream(ioFile.toPath());
             } catch (IOException e) {
-                if (spoolFile != null) {
-                    FileCleaner.addFile(spoolFile);
-                }
                 String errorMessage = String.format("Unable get content of '%s'", virtualFile.getPath());
                 LOG.error(errorMessage + "\n" + e.getMessage(), e);
                 throw new ServerException(errorMessage);
@@ -527,6 +601,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             final PathLockFactory.PathLock lock = pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
             try {
                 doUpdateContent(virtualFile, content);
+                md5SumsCache.invalidate(virtualFile.getPath());
             } finally {
                 lock.release();
             }
@@ -537,14 +612,98 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    /**
+     * Writes new content to temporary file and then moves it over the existing file. Streams that are opened by
+     * {@link #getContent(LocalVirtualFile)} before the update keep reading the previous content.
+     * <p/>
+     * Replaced file is a new inode, POSIX permissions, owner and group of the previous file are copied to it, but ACLs and
+     * extended attributes are not. Files that can't be replaced without breaking them are updated in place, streams opened
+     * before the update may see partially written content of such files:
+     * <ul>
+     * <li>symbolic links, otherwise they are replaced with regular files</li>
+     * <li>files with more than one hard link, otherwise other links keep the previous content</li>
+     * <li>files whose owner or group can't be set by this process, otherwise they change owner</li>
+     * </ul>
+     */
     private void doUpdateContent(LocalVirtualFile virtualFile, InputStream content) throws ServerException {
-        try (FileOutputStream fileOut = new FileOutputStream(virtualFile.toIoFile())) {
-            ByteStreams.copy(content, fileOut);
+        final java.nio.file.Path ioFile = virtualFile.toIoFile().toPath();
+        java.nio.file.Path tempFile = null;
+        try {
+            if (java.nio.file.Files.isSymbolicLink(ioFile) || hasHardLinks(ioFile)) {
+                try (OutputStream fileOut = java.nio.file.Files.newOutputStream(ioFile)) {
+                    ByteStreams.copy(content, fileOut);
+                }
+                return;
+            }
+            tempFile = java.nio.file.Files.createTempFile(getTempContentDirectory(), "content", null);
+            try (OutputStream fileOut = java.nio.file.Files.newOutputStream(tempFile)) {
+                ByteStreams.copy(content, fileOut);
+            }
+            if (!copyPosixAttributes(ioFile, tempFile)) {
+                try (OutputStream fileOut = java.nio.file.Files.newOutputStream(ioFile)) {
+                    java.nio.file.Files.copy(tempFile, fileOut);
+                }
+                return;
+            }
+            try {
+                java.nio.file.Files.move(tempFile, ioFile, REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                java.nio.file.Files.move(tempFile, ioFile, REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             String errorMessage = String.format("Unable set content of '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
             throw new ServerException(errorMessage);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    java.nio.file.Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    FileCleaner.addFile(tempFile.toFile());
+                }
+            }
+        }
+    }
+
+    /** Directory for files with new content of updated files, it is on the same file store as files of this filesystem. */
+    private java.nio.file.Path getTempContentDirectory() throws IOException {
+        return java.nio.file.Files.createDirectories(new File(ioRoot, TEMP_CONTENT_DIR).toPath());
+    }
+
+    /** Tells whether file has other hard links. Always {@code false} if file store doesn't report number of links. */
+    private boolean hasHardLinks(java.nio.file.Path file) throws IOException {
+        try {
+            return (Integer)java.nio.file.Files.getAttribute(file, "unix:nlink") > 1;
+        } catch (UnsupportedOperationException | IllegalArgumentException | NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Copies permissions, owner and group of source file to target file.
+     *
+     * @return {@code false} if owner or group of target file can't be changed, e.g. source file belongs to other user
+     */
+    private boolean copyPosixAttributes(java.nio.file.Path source, java.nio.file.Path target) throws IOException {
+        final PosixFileAttributeView sourceView = java.nio.file.Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        if (sourceView == null || !java.nio.file.Files.exists(source)) {
+            return true;
+        }
+        final PosixFileAttributes sourceAttributes = sourceView.readAttributes();
+        final PosixFileAttributeView targetView = java.nio.file.Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        final PosixFileAttributes targetAttributes = targetView.readAttributes();
+        try {
+            if (!sourceAttributes.owner().equals(targetAttributes.owner())) {
+                targetView.setOwner(sourceAttributes.owner());
+            }
+            if (!sourceAttributes.group().equals(targetAttributes.group())) {
+                targetView.setGroup(sourceAttributes.group());
+            }
+        } catch (FileSystemException e) {
+            return false;
         }
+        targetView.setPermissions(sourceAttributes.permissions());
+        return true;
     }
 
     void delete(LocalVirtualFile virtualFile, String lockToken) throws ForbiddenException, ServerException {
@@ -571,7 +730,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ForbiddenException(String.format("Unable delete file '%s'. File is locked", virtualFile.getPath()));
         }
 
-        cleanUpCaches();
+        cleanUpCaches(virtualFile.getPath());
 
         final File fileLockIoFile = getFileLockIoFile(virtualFile.getPath());
         if (fileLockIoFile.delete()) {
@@ -608,6 +767,22 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    void zip(LocalVirtualFile folder, OutputStream zipOutput, int compressionLevel) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            try {
+                archiverFactory.createZipArchiver(folder, compressionLevel).compress(zipOutput, dotGitFilter());
+            } catch (IOException e) {
+                throw new ServerException(e.getMessage(), e);
+            }
+        } else {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
+
     void unzip(LocalVirtualFile parent, InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -908,7 +1083,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        return new HashSumsCounter(virtualFile, Hashing.md5(), hashSumsPool, md5SumsCache).countHashSums();
     }
 
 
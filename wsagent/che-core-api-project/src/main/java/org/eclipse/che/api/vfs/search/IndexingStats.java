@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/**
+ * Progress and throughput of indexing a tree of files, e.g. of initial indexing of the whole virtual filesystem.
+ * Instances are snapshots, statistics of running indexing might be obtained many times while it is in progress.
+ */
+public class IndexingStats {
+    public static IndexingStatsBuilder anIndexingStats() {
+        return new IndexingStatsBuilder();
+    }
+
+    private final String  rootPath;
+    private final int     indexedFiles;
+    private final long    elapsedTimeMillis;
+    private final boolean completed;
+
+    private IndexingStats(String rootPath, int indexedFiles, long elapsedTimeMillis, boolean completed) {
+        this.rootPath = rootPath;
+        this.indexedFiles = indexedFiles;
+        this.elapsedTimeMillis = elapsedTimeMillis;
+        this.completed = completed;
+    }
+
+    /** Path of root of indexed tree. */
+    public String getRootPath() {
+        return rootPath;
+    }
+
+    /** Number of files that are already added to index. */
+    public int getIndexedFiles() {
+        return indexedFiles;
+    }
+
+    /** Time spent on indexing, if indexing is still in progress then time spent so far. */
+    public long getElapsedTimeMillis() {
+        return elapsedTimeMillis;
+    }
+
+    /** Tells whether indexing is finished. */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /** Average number of indexed files per second. */
+    public double getFilesPerSecond() {
+        if (elapsedTimeMillis <= 0) {
+            return indexedFiles;
+        }
+        return indexedFiles * 1000.0 / elapsedTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingStats{" +
+               "rootPath='" + rootPath + '\'' +
+               ", indexedFiles=" + indexedFiles +
+               ", elapsedTimeMillis=" + elapsedTimeMillis +
+               ", completed=" + completed +
+               '}';
+    }
+
+    public static class IndexingStatsBuilder {
+        private String  rootPath;
+        private int     indexedFiles;
+        private long    elapsedTimeMillis;
+        private boolean completed;
+
+        private IndexingStatsBuilder() {
+        }
+
+        public IndexingStatsBuilder withRootPath(String rootPath) {
+            this.rootPath = rootPath;
+            return this;
+        }
+
+        public IndexingStatsBuilder withIndexedFiles(int indexedFiles) {
+            this.indexedFiles = indexedFiles;
+            return this;
+        }
+
+        public IndexingStatsBuilder withElapsedTimeMillis(long elapsedTimeMillis) {
+            this.elapsedTimeMillis = elapsedTimeMillis;
+            return this;
+        }
+
+        public IndexingStatsBuilder withCompleted(boolean completed) {
+            this.completed = completed;
+            return this;
+        }
+
+        public IndexingStats build() {
+            return new IndexingStats(rootPath, indexedFiles, elapsedTimeMillis, completed);
+        }
+    }
+}
@@ -12,11 +12,15 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private String  substring;
+    private String  regex;
+    private int     skipCount;
+    private int     maxItems;
+    private String  pageToken;
+    private boolean includePositions;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +52,29 @@ public class QueryExpression {
         return this;
     }
 
+    /** Substring for searching in content of files, case of characters is ignored. */
+    public String getSubstring() {
+        return substring;
+    }
+
+    public QueryExpression setSubstring(String substring) {
+        this.substring = substring;
+        return this;
+    }
+
+    /**
+     * Regular expression for searching in content of files, syntax of expression is the same as for {@link java.util.regex.Pattern}.
+     * Content of a file matches if any part of it matches the expression.
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    public QueryExpression setRegex(String regex) {
+        this.regex = regex;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -68,14 +95,45 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Opaque token that points to the last item of previous page of search result. If the token is still valid then searching continues
+     * right after that item, otherwise {@link #getSkipCount()} is used for paging. Tokens are created by {@link Searcher} and may be
+     * obtained from {@link SearchResult#getNextPageQueryExpression()}.
+     */
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    public QueryExpression setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+        return this;
+    }
+
+    /**
+     * If {@code true} then each entry of search result contains line numbers, offsets and content of lines where searched text matches.
+     * Positions are available only when {@link #getText()}, {@link #getSubstring()} or {@link #getRegex()} is set.
+     */
+    public boolean isIncludePositions() {
+        return includePositions;
+    }
+
+    public QueryExpression setIncludePositions(boolean includePositions) {
+        this.includePositions = includePositions;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
+               ", substring='" + substring + '\'' +
+               ", regex='" + regex + '\'' +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", pageToken='" + pageToken + '\'' +
+               ", includePositions=" + includePositions +
                '}';
     }
 }
@@ -26,25 +26,52 @@ import static com.google.common.collect.Sets.newHashSet;
 
 @Singleton
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
-    private final File indexRootDirectory;
+    private final File    indexRootDirectory;
+    private final int     indexingThreads;
+    private final boolean plainAddOnFreshIndex;
 
     /**
+     * Creates provider of searchers which index files with number of threads equal to number of available processors.
+     *
      * @param indexRootDirectory
      *         root directory for creation index
      * @param excludePatterns
      *         set filter for files that should not be indexed
      * @see LuceneSearcher
      */
+    public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns) throws IOException {
+        this(indexRootDirectory, excludePatterns, 0, false);
+    }
+
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @param indexingThreads
+     *         number of threads that index files, if zero or negative then number of available processors is used
+     * @param plainAddOnFreshIndex
+     *         skip removing of documents with the same path when index is created from scratch
+     * @see LuceneSearcher#setIndexingThreads(int)
+     * @see LuceneSearcher#setPlainAddOnFreshIndex(boolean)
+     */
     @Inject
     public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns) throws IOException {
+                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                                    @Named("vfs.index.threads") int indexingThreads,
+                                    @Named("vfs.index.plain_add_on_fresh_index") boolean plainAddOnFreshIndex) throws IOException {
         super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
         this.indexRootDirectory = indexRootDirectory;
+        this.indexingThreads = indexingThreads > 0 ? indexingThreads : Runtime.getRuntime().availableProcessors();
+        this.plainAddOnFreshIndex = plainAddOnFreshIndex;
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback);
+        final LuceneSearcher searcher = new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback);
+        searcher.setIndexingThreads(indexingThreads);
+        searcher.setPlainAddOnFreshIndex(plainAddOnFreshIndex);
+        return searcher;
     }
 }
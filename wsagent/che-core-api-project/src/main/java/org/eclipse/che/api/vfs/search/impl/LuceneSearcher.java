@@ -10,17 +10,27 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.base.Optional;
+import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexableField;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiFields;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
@@ -31,17 +41,22 @@ import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherLifetimeManager;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStats;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
@@ -54,12 +69,29 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.vfs.search.IndexingStats.anIndexingStats;
 
 /**
  * Lucene based searcher.
@@ -69,15 +101,50 @@ import static com.google.common.collect.Lists.newArrayList;
 public abstract class LuceneSearcher implements Searcher {
     private static final Logger LOG = LoggerFactory.getLogger(LuceneSearcher.class);
 
-    private static final int RESULT_LIMIT = 1000;
+    private static final int RESULT_LIMIT             = 1000;
+    private static final int PAGE_TOKEN_TTL_SECONDS   = 600;
+    private static final int INDEXING_BATCH_SIZE      = 256;
+    private static final int INDEXING_BATCH_MAX_CHARS = 4 * 1024 * 1024;
+    /**
+     * Content of files that aren't bigger than this is stored in index to find positions of matches without reading of files.
+     * Stored fields are compressed by lucene in 16KB chunks with LZ4, for text of source trees such as Che itself (43MB in 8.5K
+     * files) it takes about one third of size of text, so index grows by about 30% of size of indexed files in addition to postings.
+     */
+    private static final int MAX_STORED_CONTENT_LENGTH = 1024 * 1024;
+    /** Number of candidates of regular expression or substring search that are loaded from index at once. */
+    private static final int CANDIDATES_BATCH_SIZE     = 100;
+
+    /** Version of structure of indexed documents. Documents with different version are re-indexed when existed index is synchronized. */
+    private static final int    SCHEMA_VERSION = 3;
+    /** Field with lower-cased trigrams of content, used for substring and regular expression searches. */
+    private static final String TRIGRAM_FIELD  = "text_trigram";
+    /**
+     * Tells whether trigrams of content are indexed. Trigrams are not indexed for files which are too big to be stored in index or too
+     * short to have any trigram, such files are always candidates for substring and regular expression searches.
+     */
+    private static final String TRIGRAMS_FIELD   = "trigrams";
+    private static final String TRIGRAMS_INDEXED = "indexed";
+    private static final String TRIGRAMS_SKIPPED = "skipped";
+
+    private static final Set<String> FINGERPRINT_FIELDS = newHashSet("path", "length", "modified", "schema");
+    private static final Set<String> PATH_FIELDS        = newHashSet("path");
+    private static final Set<String> CONTENT_FIELDS     = newHashSet("path", "text", TRIGRAMS_FIELD);
 
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
 
     private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    private SearcherManager         searcherManager;
+    private SearcherLifetimeManager searcherLifetimeManager;
+    private ExecutorService         indexingExecutor;
 
-    private boolean closed = true;
+    private boolean closed     = true;
+    private boolean freshIndex = false;
+
+    private volatile int               indexingThreads = Runtime.getRuntime().availableProcessors();
+    private volatile boolean           plainAddOnFreshIndex;
+    private volatile IndexingProgress  initialIndexingProgress;
+    private volatile VirtualFileSystem virtualFileSystem;
 
     protected LuceneSearcher() {
         this(new MediaTypeFilter(), null);
@@ -108,11 +175,38 @@ public abstract class LuceneSearcher implements Searcher {
         return indexFilters.remove(indexFilter);
     }
 
+    /**
+     * Sets number of threads that read content of files and add them to index when tree of files is indexed. Should be set before
+     * initialization of this searcher. By default number of available processors is used.
+     */
+    public void setIndexingThreads(int indexingThreads) {
+        if (indexingThreads < 1) {
+            throw new IllegalArgumentException("Number of indexing threads must be positive");
+        }
+        this.indexingThreads = indexingThreads;
+    }
+
+    /**
+     * If set to {@code true} then initial indexing of virtual filesystem adds documents to the index without removing documents with the
+     * same path, that is much cheaper than update. It is applied only when index is created from scratch. Files that are added or updated
+     * while initial indexing is in progress might appear in index twice, so this mode should be used only when virtual filesystem is not
+     * modified during initial indexing.
+     */
+    public void setPlainAddOnFreshIndex(boolean plainAddOnFreshIndex) {
+        this.plainAddOnFreshIndex = plainAddOnFreshIndex;
+    }
+
+    /** Statistics of initial indexing of virtual filesystem. Absent if initial indexing is not started yet. */
+    public Optional<IndexingStats> getInitialIndexingStats() {
+        final IndexingProgress progress = initialIndexingProgress;
+        return progress == null ? Optional.absent() : Optional.of(progress.toStats());
+    }
+
     protected Analyzer makeAnalyzer() {
         return new Analyzer() {
             @Override
             protected TokenStreamComponents createComponents(String fieldName) {
-                Tokenizer tokenizer = new WhitespaceTokenizer();
+                Tokenizer tokenizer = TRIGRAM_FIELD.equals(fieldName) ? new NGramTokenizer(3, 3) : new WhitespaceTokenizer();
                 TokenStream filter = new LowerCaseFilter(tokenizer);
                 return new TokenStreamComponents(tokenizer, filter);
             }
@@ -122,7 +216,9 @@ public abstract class LuceneSearcher implements Searcher {
     protected abstract Directory makeDirectory() throws ServerException;
 
     /**
-     * Init lucene index. Need call this method if index directory is clean. Scan all files in virtual filesystem and add to index.
+     * Init lucene index. If index directory is clean then scan all files in virtual filesystem and add to index. If index directory
+     * already contains index, e.g. created before restart, then only files that were added, modified or removed since the index was
+     * written are added, updated or removed in the index.
      *
      * @param virtualFileSystem
      *         VirtualFileSystem
@@ -130,16 +226,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        addInitialTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.addInitialTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -149,8 +247,15 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            final Directory directory = makeDirectory();
+            freshIndex = !DirectoryReader.indexExists(directory);
+            luceneIndexWriter = new IndexWriter(directory, new IndexWriterConfig(makeAnalyzer()));
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            searcherLifetimeManager = new SearcherLifetimeManager();
+            indexingExecutor = Executors.newFixedThreadPool(indexingThreads, new ThreadFactoryBuilder()
+                                                                                     .setDaemon(true)
+                                                                                     .setNameFormat("LuceneSearcherIndexer-%d")
+                                                                                     .build());
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
@@ -159,8 +264,9 @@ public abstract class LuceneSearcher implements Searcher {
 
     public final synchronized void close() {
         if (!closed) {
+            indexingExecutor.shutdown();
             try {
-                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+                IOUtils.close(searcherLifetimeManager, getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
             } catch (IOException e) {
                 LOG.error(e.getMessage(), e);
@@ -189,34 +295,76 @@ public abstract class LuceneSearcher implements Searcher {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
-            searcherManager.maybeRefresh();
-            luceneSearcher = searcherManager.acquire();
+            searcherLifetimeManager.prune(new SearcherLifetimeManager.PruneByAge(PAGE_TOKEN_TTL_SECONDS));
 
-            Query luceneQuery = createLuceneQuery(query);
+            final Query textQuery = query.getText() == null ? null : createTextQuery(query.getText());
+            final Pattern contentPattern = createContentPattern(query);
+            final Query luceneQuery = createLuceneQuery(query, textQuery);
 
             ScoreDoc after = null;
             final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
-                after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+            final PageToken pageToken = PageToken.parse(query.getPageToken());
+            if (pageToken != null) {
+                luceneSearcher = searcherLifetimeManager.acquire(pageToken.searcherVersion);
+                if (luceneSearcher != null) {
+                    after = pageToken.lastScoreDoc;
+                }
+            }
+            final boolean resumed = after != null;
+            if (luceneSearcher == null) {
+                searcherManager.maybeRefresh();
+                luceneSearcher = searcherManager.acquire();
+                if (numSkipDocs > 0 && contentPattern == null) {
+                    after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+                }
+            }
+            final long searcherVersion = searcherLifetimeManager.record(luceneSearcher);
+            if (contentPattern != null) {
+                return searchByContentPattern(luceneSearcher,
+                                              searcherVersion,
+                                              luceneQuery,
+                                              contentPattern,
+                                              query,
+                                              after,
+                                              resumed ? 0 : numSkipDocs,
+                                              startTime);
             }
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
             TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
             final int totalHitsNum = topDocs.totalHits;
 
+            SearchOccurrencesFinder occurrencesFinder = null;
+            if (query.isIncludePositions()) {
+                if (query.getSubstring() != null) {
+                    occurrencesFinder = new SearchOccurrencesFinder(substringPattern(query.getSubstring()));
+                } else if (textQuery != null) {
+                    occurrencesFinder = new SearchOccurrencesFinder(textQuery, makeAnalyzer());
+                }
+            }
+            final Set<String> fieldsToLoad = occurrencesFinder == null ? PATH_FIELDS : CONTENT_FIELDS;
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
-                String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+                final Document document = luceneSearcher.doc(scoreDoc.doc, fieldsToLoad);
+                final String filePath = document.get("path");
+                final String content = document.get("text");
+                if (occurrencesFinder != null && content != null) {
+                    results.add(new SearchResultEntry(filePath, occurrencesFinder.find(content)));
+                } else {
+                    results.add(new SearchResultEntry(filePath));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                final ScoreDoc lastScoreDoc = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                nextPageQueryExpression = createNextPageQuery(query,
+                                                              numSkipDocs + topDocs.scoreDocs.length,
+                                                              new PageToken(searcherVersion, lastScoreDoc).toString());
             }
 
             return SearchResult.aSearchResult()
@@ -236,28 +384,172 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
-    private Query createLuceneQuery(QueryExpression query) throws ServerException {
+    /**
+     * Returns pattern which content of candidates must be checked with. Regular expression is always checked. Substring is checked only
+     * if index contains files without trigrams, otherwise phrase of trigrams matches exactly files which contain the substring.
+     */
+    private Pattern createContentPattern(QueryExpression query) throws ServerException, IOException {
+        if (query.getRegex() != null) {
+            return compileRegex(query.getRegex());
+        }
+        if (query.getSubstring() != null && hasDocumentsWithoutTrigrams()) {
+            return substringPattern(query.getSubstring());
+        }
+        return null;
+    }
+
+    private boolean hasDocumentsWithoutTrigrams() throws IOException {
+        searcherManager.maybeRefresh();
+        final IndexSearcher luceneSearcher = searcherManager.acquire();
+        try {
+            return luceneSearcher.getIndexReader().docFreq(new Term(TRIGRAMS_FIELD, TRIGRAMS_SKIPPED)) > 0;
+        } finally {
+            searcherManager.release(luceneSearcher);
+        }
+    }
+
+    /**
+     * Checks with pattern content of documents that match the query, the query contains trigrams of literals which are required by
+     * the pattern, so only candidates which may match the pattern are checked. Content of big files is not stored in index, it is read
+     * from virtual filesystem.
+     * <p/>
+     * Candidates are checked in batches only until one match more than requested page is found, so total hits of result is the lower
+     * bound of number of matching files: number of files on this and previous pages plus one if there is the next page. Next page
+     * query contains token that lets continue checking of candidates after the last returned one instead of checking skipped
+     * candidates again.
+     */
+    private SearchResult searchByContentPattern(IndexSearcher luceneSearcher,
+                                                long searcherVersion,
+                                                Query luceneQuery,
+                                                Pattern contentPattern,
+                                                QueryExpression query,
+                                                ScoreDoc after,
+                                                int numSkipMatches,
+                                                long startTime) throws IOException {
+        final int numSkipDocs = Math.max(0, query.getSkipCount());
+        final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+        final SearchOccurrencesFinder occurrencesFinder = query.isIncludePositions() ? new SearchOccurrencesFinder(contentPattern) : null;
+        final List<SearchResultEntry> results = newArrayList();
+        int numMatches = 0;
+        boolean hasMoreToRetrieve = false;
+        ScoreDoc lastResultScoreDoc = null;
+
+        ScoreDoc lastCandidate = after;
+        candidates:
+        while (true) {
+            final TopDocs candidates = luceneSearcher.searchAfter(lastCandidate, luceneQuery, CANDIDATES_BATCH_SIZE);
+            if (candidates.scoreDocs.length == 0) {
+                break;
+            }
+            for (ScoreDoc scoreDoc : candidates.scoreDocs) {
+                lastCandidate = scoreDoc;
+                final Document document = luceneSearcher.doc(scoreDoc.doc, CONTENT_FIELDS);
+                final String content = readCandidateContent(document);
+                if (content == null || !contentPattern.matcher(content).find()) {
+                    continue;
+                }
+                if (numMatches == numSkipMatches + numDocs) {
+                    hasMoreToRetrieve = true;
+                    break candidates;
+                }
+                numMatches++;
+                if (numMatches > numSkipMatches) {
+                    final String filePath = document.get("path");
+                    if (occurrencesFinder != null) {
+                        results.add(new SearchResultEntry(filePath, occurrencesFinder.find(content)));
+                    } else {
+                        results.add(new SearchResultEntry(filePath));
+                    }
+                    lastResultScoreDoc = scoreDoc;
+                }
+            }
+        }
+
+        QueryExpression nextPageQueryExpression = null;
+        if (hasMoreToRetrieve) {
+            nextPageQueryExpression = createNextPageQuery(query,
+                                                          numSkipDocs + results.size(),
+                                                          new PageToken(searcherVersion, lastResultScoreDoc).toString());
+        }
+        return SearchResult.aSearchResult()
+                           .withResults(results)
+                           .withTotalHits(numSkipDocs + results.size() + (hasMoreToRetrieve ? 1 : 0))
+                           .withNextPageQueryExpression(nextPageQueryExpression)
+                           .withElapsedTimeMillis(System.currentTimeMillis() - startTime)
+                           .build();
+    }
+
+    /** Returns content stored in index or reads content of file which is too big to be stored. */
+    private String readCandidateContent(Document document) {
+        final String content = document.get("text");
+        final VirtualFileSystem fileSystem = virtualFileSystem;
+        if (content != null || fileSystem == null || !TRIGRAMS_SKIPPED.equals(document.get(TRIGRAMS_FIELD))) {
+            return content;
+        }
+        try {
+            final VirtualFile virtualFile = fileSystem.getRoot().getChild(Path.of(document.get("path")));
+            return virtualFile == null || !virtualFile.isFile() ? null : readContent(virtualFile);
+        } catch (IOException | ForbiddenException | ServerException e) {
+            LOG.warn("Unable read content of {}: {}", document.get("path"), e.getMessage());
+            return null;
+        }
+    }
+
+    private Pattern compileRegex(String regex) throws ServerException {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    private Pattern substringPattern(String substring) {
+        return Pattern.compile(Pattern.quote(substring), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    private Query createTextQuery(String text) throws ServerException {
+        QueryParser qParser = new QueryParser("text", makeAnalyzer());
+        try {
+            return qParser.parse(text);
+        } catch (ParseException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    private Query createLuceneQuery(QueryExpression query, Query textQuery) {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
         final String path = query.getPath();
-        final String text = query.getText();
         if (path != null) {
             luceneQuery.add(new PrefixQuery(new Term("path", path)), BooleanClause.Occur.MUST);
         }
         if (name != null) {
             luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
         }
-        if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
-            try {
-                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-            } catch (ParseException e) {
-                throw new ServerException(e.getMessage());
-            }
+        if (textQuery != null) {
+            luceneQuery.add(textQuery, BooleanClause.Occur.MUST);
+        }
+        if (query.getSubstring() != null) {
+            final Query candidatesQuery = TrigramQueries.substringQuery(TRIGRAM_FIELD, query.getSubstring());
+            luceneQuery.add(orWithoutTrigrams(candidatesQuery), BooleanClause.Occur.MUST);
+        }
+        if (query.getRegex() != null) {
+            final Query candidatesQuery = TrigramQueries.regexCandidatesQuery(TRIGRAM_FIELD, query.getRegex());
+            luceneQuery.add(orWithoutTrigrams(candidatesQuery == null ? new TermQuery(new Term(TRIGRAMS_FIELD, TRIGRAMS_INDEXED))
+                                                                      : candidatesQuery),
+                            BooleanClause.Occur.MUST);
         }
         return luceneQuery;
     }
 
+    /** Adds to candidates of trigram query files which content is indexed without trigrams. */
+    private Query orWithoutTrigrams(Query trigramQuery) {
+        final BooleanQuery candidatesQuery = new BooleanQuery();
+        candidatesQuery.add(trigramQuery, BooleanClause.Occur.SHOULD);
+        candidatesQuery.add(new TermQuery(new Term(TRIGRAMS_FIELD, TRIGRAMS_SKIPPED)), BooleanClause.Occur.SHOULD);
+        return candidatesQuery;
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
@@ -279,12 +571,16 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String pageToken) {
         return new QueryExpression().setText(originalQuery.getText())
+                                    .setSubstring(originalQuery.getSubstring())
+                                    .setRegex(originalQuery.getRegex())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setIncludePositions(originalQuery.isIncludePositions())
+                                    .setPageToken(pageToken);
     }
 
     @Override
@@ -300,43 +596,242 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /** Tells whether index was empty when this searcher was initialized. */
+    protected synchronized boolean isFreshIndex() {
+        return freshIndex;
+    }
+
+    private void addInitialTree(VirtualFile root) throws ServerException {
+        final IndexingProgress progress = new IndexingProgress(root.getPath().toString());
+        initialIndexingProgress = progress;
+        if (isFreshIndex()) {
+            addTree(root, plainAddOnFreshIndex, progress, null);
+        } else {
+            syncTree(root, progress);
+        }
+        final IndexingStats stats = progress.toStats();
+        LOG.info("Initial indexing of {} is done, {} files indexed in {} ms", stats.getRootPath(), stats.getIndexedFiles(),
+                 stats.getElapsedTimeMillis());
+    }
+
     protected void addTree(VirtualFile tree) throws ServerException {
-        final long start = System.currentTimeMillis();
+        addTree(tree, false, new IndexingProgress(tree.getPath().toString()), null);
+    }
+
+    /**
+     * Brings existed index in consistency with the tree. Fingerprints (length and modification date) of files stored in index are
+     * compared with the files in the tree and only files that don't match are re-indexed. Documents of files that don't exist in the tree
+     * any more are removed from index.
+     */
+    private void syncTree(VirtualFile tree, IndexingProgress progress) throws ServerException {
+        final Map<String, Fingerprint> indexed = readFingerprints();
+        addTree(tree, false, progress, virtualFile -> {
+            final Fingerprint fingerprint = indexed.remove(virtualFile.getPath().toString());
+            return fingerprint == null || !fingerprint.matches(virtualFile);
+        });
+        try {
+            final List<Term> deleted = new ArrayList<>(INDEXING_BATCH_SIZE);
+            for (String path : indexed.keySet()) {
+                deleted.add(new Term("path", path));
+                if (deleted.size() == INDEXING_BATCH_SIZE) {
+                    getIndexWriter().deleteDocuments(deleted.toArray(new Term[deleted.size()]));
+                    deleted.clear();
+                }
+            }
+            if (!deleted.isEmpty()) {
+                getIndexWriter().deleteDocuments(deleted.toArray(new Term[deleted.size()]));
+            }
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+        LOG.debug("Removed {} deleted files from index of {}", indexed.size(), tree.getPath());
+    }
+
+    private Map<String, Fingerprint> readFingerprints() throws ServerException {
+        final Map<String, Fingerprint> fingerprints = new HashMap<>();
+        IndexSearcher luceneSearcher = null;
+        try {
+            searcherManager.maybeRefresh();
+            luceneSearcher = searcherManager.acquire();
+            final IndexReader reader = luceneSearcher.getIndexReader();
+            final Bits liveDocs = MultiFields.getLiveDocs(reader);
+            for (int i = 0; i < reader.maxDoc(); i++) {
+                if (liveDocs != null && !liveDocs.get(i)) {
+                    continue;
+                }
+                final Document document = reader.document(i, FINGERPRINT_FIELDS);
+                fingerprints.put(document.get("path"), Fingerprint.of(document));
+            }
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            try {
+                searcherManager.release(luceneSearcher);
+            } catch (IOException e) {
+                LOG.error(e.getMessage());
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Walks the tree and hands files over to indexing threads in batches. Indexing threads read content of files and add them to index
+     * concurrently, number of batches that are not indexed yet is limited, so walking of big tree doesn't run far ahead of indexing.
+     */
+    private void addTree(VirtualFile tree,
+                         boolean plainAdd,
+                         IndexingProgress progress,
+                         Predicate<VirtualFile> needsIndexing) throws ServerException {
+        final Semaphore batchPermits = new Semaphore(indexingThreads * 2);
+        final List<Future<?>> batches = new LinkedList<>();
         final LinkedList<VirtualFile> q = new LinkedList<>();
         q.add(tree);
-        int indexedFiles = 0;
-        while (!q.isEmpty()) {
-            final VirtualFile folder = q.pop();
-            if (folder.exists()) {
-                for (VirtualFile child : folder.getChildren()) {
-                    if (child.isFolder()) {
-                        q.push(child);
-                    } else {
-                        addFile(child);
-                        indexedFiles++;
+        List<VirtualFile> batch = new ArrayList<>(INDEXING_BATCH_SIZE);
+        try {
+            while (!q.isEmpty()) {
+                final VirtualFile folder = q.pop();
+                if (folder.exists()) {
+                    for (VirtualFile child : folder.getChildren()) {
+                        if (child.isFolder()) {
+                            q.push(child);
+                        } else if (needsIndexing == null || needsIndexing.test(child)) {
+                            batch.add(child);
+                            if (batch.size() == INDEXING_BATCH_SIZE) {
+                                batches.add(submitBatch(batch, plainAdd, progress, batchPermits));
+                                batch = new ArrayList<>(INDEXING_BATCH_SIZE);
+                            }
+                        }
+                    }
+                }
+                checkCompletedBatches(batches);
+            }
+            if (!batch.isEmpty()) {
+                batches.add(submitBatch(batch, plainAdd, progress, batchPermits));
+            }
+            for (Future<?> future : batches) {
+                awaitBatch(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Indexing of " + tree.getPath() + " is interrupted");
+        } finally {
+            batches.forEach(future -> future.cancel(false));
+            progress.complete();
+        }
+        final IndexingStats stats = progress.toStats();
+        LOG.debug("Indexed {} files from {}, time: {} ms", stats.getIndexedFiles(), tree.getPath(), stats.getElapsedTimeMillis());
+    }
+
+    private Future<?> submitBatch(List<VirtualFile> batch,
+                                  boolean plainAdd,
+                                  IndexingProgress progress,
+                                  Semaphore batchPermits) throws InterruptedException, ServerException {
+        batchPermits.acquire();
+        try {
+            return getIndexingExecutor().submit(() -> {
+                try {
+                    addFiles(batch, plainAdd, progress);
+                } finally {
+                    batchPermits.release();
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            batchPermits.release();
+            throw new ServerException("Unable index files, searcher is closed");
+        }
+    }
+
+    /** Rethrows failure of any already indexed batch and removes indexed batches from the list. */
+    private void checkCompletedBatches(List<Future<?>> batches) throws ServerException, InterruptedException {
+        for (Iterator<Future<?>> iterator = batches.iterator(); iterator.hasNext(); ) {
+            final Future<?> future = iterator.next();
+            if (future.isDone()) {
+                iterator.remove();
+                awaitBatch(future);
+            }
+        }
+    }
+
+    private void awaitBatch(Future<?> future) throws ServerException, InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        }
+    }
+
+    private synchronized ExecutorService getIndexingExecutor() {
+        return indexingExecutor;
+    }
+
+    /**
+     * Reads content of files and adds them to index. Content of files is buffered and flushed to index writer in bulk, files which are
+     * too big to be buffered are streamed to index one by one.
+     */
+    private void addFiles(List<VirtualFile> files, boolean plainAdd, IndexingProgress progress) throws ServerException {
+        final List<Document> documents = new ArrayList<>(files.size());
+        int bufferedChars = 0;
+        try {
+            for (VirtualFile virtualFile : files) {
+                if (!virtualFile.exists()) {
+                    continue;
+                }
+                if (!shouldIndexContent(virtualFile)) {
+                    documents.add(createDocument(virtualFile, (Reader)null));
+                } else if (virtualFile.getLength() > MAX_STORED_CONTENT_LENGTH) {
+                    try (Reader fContentReader = new BufferedReader(new InputStreamReader(virtualFile.getContent()))) {
+                        writeDocuments(singletonList(createDocument(virtualFile, fContentReader)), plainAdd, progress);
+                    }
+                } else {
+                    final String content = readContent(virtualFile);
+                    documents.add(createDocument(virtualFile, content));
+                    bufferedChars += content.length();
+                    if (bufferedChars >= INDEXING_BATCH_MAX_CHARS) {
+                        writeDocuments(documents, plainAdd, progress);
+                        documents.clear();
+                        bufferedChars = 0;
                     }
                 }
             }
+            writeDocuments(documents, plainAdd, progress);
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    private void writeDocuments(List<Document> documents, boolean plainAdd, IndexingProgress progress) throws IOException {
+        if (documents.isEmpty()) {
+            return;
+        }
+        final IndexWriter indexWriter = getIndexWriter();
+        if (plainAdd) {
+            indexWriter.addDocuments(documents);
+        } else {
+            for (Document document : documents) {
+                indexWriter.updateDocument(new Term("path", document.get("path")), document);
+            }
         }
-        final long end = System.currentTimeMillis();
-        LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
+        progress.filesIndexed(documents.size());
     }
 
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
-                getIndexWriter()
-                        .updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile, fContentReader));
-            } catch (OutOfMemoryError oome) {
-                close();
-                throw oome;
-            } catch (IOException e) {
-                throw new ServerException(e.getMessage(), e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
-            }
+            doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
         }
     }
 
@@ -364,10 +859,16 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+        try {
+            if (shouldIndexContent(virtualFile) && virtualFile.getLength() <= MAX_STORED_CONTENT_LENGTH) {
+                getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, readContent(virtualFile)));
+            } else {
+                try (Reader fContentReader = shouldIndexContent(virtualFile)
+                                             ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
+                                             : null) {
+                    getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+                }
+            }
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
@@ -382,12 +883,37 @@ public abstract class LuceneSearcher implements Searcher {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
+        doc.add(new StoredField("length", virtualFile.getLength()));
+        doc.add(new StoredField("modified", virtualFile.getLastModificationDate()));
+        doc.add(new StoredField("schema", SCHEMA_VERSION));
         if (reader != null) {
             doc.add(new TextField("text", reader));
+            doc.add(new StringField(TRIGRAMS_FIELD, TRIGRAMS_SKIPPED, Field.Store.YES));
+        }
+        return doc;
+    }
+
+    /** Creates document that keeps content of file in index, stored content is used for finding positions of matches. */
+    protected Document createDocument(VirtualFile virtualFile, String content) throws ServerException {
+        final Document doc = createDocument(virtualFile, (Reader)null);
+        if (content != null) {
+            doc.add(new TextField("text", content, Field.Store.YES));
+            if (content.codePointCount(0, content.length()) < TrigramQueries.GRAM_SIZE) {
+                doc.add(new StringField(TRIGRAMS_FIELD, TRIGRAMS_SKIPPED, Field.Store.YES));
+            } else {
+                doc.add(new TextField(TRIGRAM_FIELD, content, Field.Store.NO));
+                doc.add(new StringField(TRIGRAMS_FIELD, TRIGRAMS_INDEXED, Field.Store.YES));
+            }
         }
         return doc;
     }
 
+    private String readContent(VirtualFile virtualFile) throws IOException, ForbiddenException, ServerException {
+        try (Reader fContentReader = new InputStreamReader(virtualFile.getContent())) {
+            return CharStreams.toString(fContentReader);
+        }
+    }
+
     private boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : indexFilters) {
             if (!indexFilter.accept(virtualFile)) {
@@ -396,4 +922,107 @@ public abstract class LuceneSearcher implements Searcher {
         }
         return true;
     }
+
+    /**
+     * Position of the last item of page of search result. Token is valid while the searcher, which produced the page, is kept by
+     * {@link SearcherLifetimeManager}, then paging falls back to skipping of items.
+     */
+    private static class PageToken {
+        static PageToken parse(String token) {
+            if (token == null) {
+                return null;
+            }
+            final String[] parts = token.split("\\.");
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                final long searcherVersion = Long.parseUnsignedLong(parts[0], 16);
+                final int doc = Integer.parseInt(parts[1], 16);
+                final float score = Float.intBitsToFloat(Integer.parseUnsignedInt(parts[2], 16));
+                return new PageToken(searcherVersion, new ScoreDoc(doc, score));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private final long     searcherVersion;
+        private final ScoreDoc lastScoreDoc;
+
+        PageToken(long searcherVersion, ScoreDoc lastScoreDoc) {
+            this.searcherVersion = searcherVersion;
+            this.lastScoreDoc = lastScoreDoc;
+        }
+
+        @Override
+        public String toString() {
+            return Long.toHexString(searcherVersion) + '.'
+                   + Integer.toHexString(lastScoreDoc.doc) + '.'
+                   + Integer.toHexString(Float.floatToIntBits(lastScoreDoc.score));
+        }
+    }
+
+    /**
+     * Length and modification date of file that are stored in index to detect files modified since they were indexed. Fingerprints of
+     * documents with outdated structure are never matched.
+     */
+    private static class Fingerprint {
+        static Fingerprint of(Document document) {
+            final IndexableField length = document.getField("length");
+            final IndexableField modified = document.getField("modified");
+            final IndexableField schema = document.getField("schema");
+            if (length == null || modified == null || schema == null || schema.numericValue().intValue() != SCHEMA_VERSION) {
+                return null;
+            }
+            return new Fingerprint(length.numericValue().longValue(), modified.numericValue().longValue());
+        }
+
+        private final long length;
+        private final long modified;
+
+        Fingerprint(long length, long modified) {
+            this.length = length;
+            this.modified = modified;
+        }
+
+        boolean matches(VirtualFile virtualFile) {
+            try {
+                return modified == virtualFile.getLastModificationDate() && length == virtualFile.getLength();
+            } catch (ServerException e) {
+                return false;
+            }
+        }
+    }
+
+    private static class IndexingProgress {
+        private final String        rootPath;
+        private final long          startTime;
+        private final AtomicInteger indexedFiles;
+
+        private volatile long endTime;
+
+        IndexingProgress(String rootPath) {
+            this.rootPath = rootPath;
+            this.startTime = System.currentTimeMillis();
+            this.indexedFiles = new AtomicInteger();
+        }
+
+        void filesIndexed(int count) {
+            indexedFiles.addAndGet(count);
+        }
+
+        void complete() {
+            endTime = System.currentTimeMillis();
+        }
+
+        IndexingStats toStats() {
+            final long end = endTime;
+            final boolean completed = end > 0;
+            return anIndexingStats().withRootPath(rootPath)
+                                    .withIndexedFiles(indexedFiles.get())
+                                    .withElapsedTimeMillis((completed ? end : System.currentTimeMillis()) - startTime)
+                                    .withCompleted(completed)
+                                    .build();
+        }
+    }
 }
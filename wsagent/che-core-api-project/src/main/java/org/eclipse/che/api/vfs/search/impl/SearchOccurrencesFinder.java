@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds positions of matches in content of file. For text query content is split in tokens with the same analyzer that is used for
+ * indexing and each token is checked against terms of query, so found positions are consistent with matching of documents in index.
+ * For substring and regular expression searches positions are found with {@link Pattern}.
+ */
+class SearchOccurrencesFinder {
+    private static final int MAX_OCCURRENCES         = 100;
+    private static final int MAX_LINE_CONTENT_LENGTH = 256;
+
+    private final List<Predicate<String>> termMatchers;
+    private final Analyzer                analyzer;
+    private final Pattern                 pattern;
+
+    SearchOccurrencesFinder(Query textQuery, Analyzer analyzer) {
+        this.analyzer = analyzer;
+        this.termMatchers = new ArrayList<>();
+        this.pattern = null;
+        collectTermMatchers(textQuery, termMatchers);
+    }
+
+    SearchOccurrencesFinder(Pattern pattern) {
+        this.analyzer = null;
+        this.termMatchers = null;
+        this.pattern = pattern;
+    }
+
+    /** Returns matches in the content, number of matches is limited. */
+    List<SearchOccurrence> find(String content) throws IOException {
+        final List<SearchOccurrence> occurrences = new ArrayList<>();
+        final Lines lines = new Lines(content);
+        if (pattern != null) {
+            final Matcher matcher = pattern.matcher(content);
+            while (occurrences.size() < MAX_OCCURRENCES && matcher.find()) {
+                if (matcher.end() > matcher.start()) {
+                    occurrences.add(lines.occurrence(matcher.start(), matcher.end()));
+                }
+            }
+            return occurrences;
+        }
+        if (termMatchers.isEmpty()) {
+            return occurrences;
+        }
+        try (TokenStream tokenStream = analyzer.tokenStream("text", content)) {
+            final CharTermAttribute termAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+            final OffsetAttribute offsetAttribute = tokenStream.addAttribute(OffsetAttribute.class);
+            tokenStream.reset();
+            while (occurrences.size() < MAX_OCCURRENCES && tokenStream.incrementToken()) {
+                if (matches(termAttribute.toString())) {
+                    occurrences.add(lines.occurrence(offsetAttribute.startOffset(), offsetAttribute.endOffset()));
+                }
+            }
+            tokenStream.end();
+        }
+        return occurrences;
+    }
+
+    private boolean matches(String term) {
+        for (Predicate<String> termMatcher : termMatchers) {
+            if (termMatcher.test(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectTermMatchers(Query query, List<Predicate<String>> termMatchers) {
+        if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (clause.getOccur() != BooleanClause.Occur.MUST_NOT) {
+                    collectTermMatchers(clause.getQuery(), termMatchers);
+                }
+            }
+        } else if (query instanceof TermQuery) {
+            final String text = ((TermQuery)query).getTerm().text();
+            termMatchers.add(text::equals);
+        } else if (query instanceof PhraseQuery) {
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                final String text = term.text();
+                termMatchers.add(text::equals);
+            }
+        } else if (query instanceof PrefixQuery) {
+            final String prefix = ((PrefixQuery)query).getPrefix().text();
+            termMatchers.add(term -> term.startsWith(prefix));
+        } else if (query instanceof WildcardQuery) {
+            final Pattern pattern = wildcardToPattern(((WildcardQuery)query).getTerm().text());
+            termMatchers.add(term -> pattern.matcher(term).matches());
+        }
+    }
+
+    private static Pattern wildcardToPattern(String wildcard) {
+        final StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < wildcard.length(); i++) {
+            final char c = wildcard.charAt(i);
+            if (c == WildcardQuery.WILDCARD_STRING) {
+                regex.append(".*");
+            } else if (c == WildcardQuery.WILDCARD_CHAR) {
+                regex.append('.');
+            } else if (c == WildcardQuery.WILDCARD_ESCAPE && i + 1 < wildcard.length()) {
+                regex.append(Pattern.quote(String.valueOf(wildcard.charAt(++i))));
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /** Tracks numbers of lines while offsets of matches grow. */
+    private static class Lines {
+        private final String content;
+
+        private int lineNumber = 1;
+        private int lineStart  = 0;
+        private int scanned    = 0;
+
+        Lines(String content) {
+            this.content = content;
+        }
+
+        SearchOccurrence occurrence(int startOffset, int endOffset) {
+            for (; scanned < startOffset; scanned++) {
+                if (content.charAt(scanned) == '\n') {
+                    lineNumber++;
+                    lineStart = scanned + 1;
+                }
+            }
+            return new SearchOccurrence(lineNumber, startOffset, endOffset, lineContent(startOffset, endOffset));
+        }
+
+        private String lineContent(int startOffset, int endOffset) {
+            int lineEnd = content.indexOf('\n', endOffset);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd - lineStart <= MAX_LINE_CONTENT_LENGTH) {
+                return content.substring(lineStart, lineEnd);
+            }
+            final int from = Math.max(lineStart, startOffset - MAX_LINE_CONTENT_LENGTH / 2);
+            return content.substring(from, Math.min(lineEnd, from + MAX_LINE_CONTENT_LENGTH));
+        }
+    }
+}
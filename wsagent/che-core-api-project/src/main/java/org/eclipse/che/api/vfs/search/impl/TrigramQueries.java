@@ -0,0 +1,239 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.WildcardQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Builds queries over field which is indexed as sequence of lower-cased trigrams of content. Trigrams are indexed at consecutive
+ * positions, so phrase of all trigrams of a string matches exactly documents which contain the string ignoring case.
+ */
+class TrigramQueries {
+    /** Length of grams which content is indexed with. */
+    static final int GRAM_SIZE = 3;
+
+    /** Embedded flags which enable comments mode, e.g. {@code (?x)} or {@code (?ix:...)}, whitespaces are ignored in this mode. */
+    private static final Pattern COMMENTS_FLAG = Pattern.compile("\\(\\?[a-zA-Z]*x[a-zA-Z]*(-[a-zA-Z]*)?[:)]");
+
+    /** Creates query that matches documents which contain specified substring ignoring case. */
+    static Query substringQuery(String field, String substring) {
+        final int[] codePoints = toLowerCaseCodePoints(substring);
+        if (codePoints.length < GRAM_SIZE) {
+            final StringBuilder wildcard = new StringBuilder().append(WildcardQuery.WILDCARD_STRING);
+            for (int codePoint : codePoints) {
+                if (codePoint == WildcardQuery.WILDCARD_STRING
+                    || codePoint == WildcardQuery.WILDCARD_CHAR
+                    || codePoint == WildcardQuery.WILDCARD_ESCAPE) {
+                    wildcard.append(WildcardQuery.WILDCARD_ESCAPE);
+                }
+                wildcard.appendCodePoint(codePoint);
+            }
+            return new WildcardQuery(new Term(field, wildcard.append(WildcardQuery.WILDCARD_STRING).toString()));
+        }
+        final PhraseQuery phraseQuery = new PhraseQuery();
+        for (int i = 0; i + GRAM_SIZE <= codePoints.length; i++) {
+            phraseQuery.add(new Term(field, new String(codePoints, i, GRAM_SIZE)), i);
+        }
+        return phraseQuery;
+    }
+
+    /**
+     * Creates query that matches candidates for specified regular expression. Every document that might match the expression is matched
+     * by the query but not every matched document matches the expression, so candidates must be checked with the expression.
+     *
+     * @return query or {@code null} if expression doesn't have required literals which are long enough, so any document is candidate
+     */
+    static Query regexCandidatesQuery(String field, String regex) {
+        final BooleanQuery candidatesQuery = new BooleanQuery();
+        for (String literal : requiredLiterals(regex)) {
+            if (literal.codePointCount(0, literal.length()) >= GRAM_SIZE) {
+                candidatesQuery.add(substringQuery(field, literal), BooleanClause.Occur.MUST);
+            }
+        }
+        if (candidatesQuery.clauses().isEmpty()) {
+            return null;
+        }
+        return candidatesQuery;
+    }
+
+    /**
+     * Finds literal strings that must be present in any text matched by regular expression. Analysis is conservative, parts of expression
+     * which are not trivial, e.g. groups, character classes, optional characters or escape sequences other than escaped punctuation, are
+     * skipped. Expression with alternation or with comments mode flag doesn't have required literals at all.
+     */
+    static List<String> requiredLiterals(String regex) {
+        final List<String> literals = new ArrayList<>();
+        if (regex.indexOf('|') >= 0 || COMMENTS_FLAG.matcher(regex).find()) {
+            return literals;
+        }
+        final StringBuilder literal = new StringBuilder();
+        int groupDepth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (i + 1 < regex.length() && groupDepth == 0 && isPunctuation(regex.charAt(i + 1))) {
+                        literal.append(regex.charAt(++i));
+                    } else {
+                        i = skipEscapeSequence(regex, i);
+                        flush(literal, literals);
+                    }
+                    break;
+                case '(':
+                    groupDepth++;
+                    flush(literal, literals);
+                    break;
+                case ')':
+                    groupDepth--;
+                    flush(literal, literals);
+                    break;
+                case '[':
+                    i = skipCharacterClass(regex, i);
+                    flush(literal, literals);
+                    break;
+                case '*':
+                case '?':
+                    dropLastChar(literal);
+                    flush(literal, literals);
+                    break;
+                case '{':
+                    if (i + 1 < regex.length() && regex.charAt(i + 1) == '0') {
+                        dropLastChar(literal);
+                    }
+                    final int end = regex.indexOf('}', i);
+                    i = end < 0 ? regex.length() : end;
+                    flush(literal, literals);
+                    break;
+                case '+':
+                case '.':
+                case '^':
+                case '$':
+                    flush(literal, literals);
+                    break;
+                default:
+                    if (groupDepth == 0) {
+                        literal.append(c);
+                    }
+            }
+        }
+        flush(literal, literals);
+        return literals;
+    }
+
+    private static boolean isPunctuation(char c) {
+        return c < 128 && !Character.isLetterOrDigit(c) && !Character.isWhitespace(c);
+    }
+
+    /** Returns index of the last character of escape sequence which starts with backslash at specified index. */
+    private static int skipEscapeSequence(String regex, int start) {
+        final int next = start + 1;
+        if (next >= regex.length()) {
+            return start;
+        }
+        switch (regex.charAt(next)) {
+            case 'Q':
+                final int quoteEnd = regex.indexOf("\\E", next + 1);
+                return quoteEnd < 0 ? regex.length() : quoteEnd + 1;
+            case 'x':
+                if (next + 1 < regex.length() && regex.charAt(next + 1) == '{') {
+                    return skipTo(regex, '}', next + 1);
+                }
+                return Math.min(next + 2, regex.length() - 1);
+            case 'u':
+                return Math.min(next + 4, regex.length() - 1);
+            case 'c':
+                return Math.min(next + 1, regex.length() - 1);
+            case '0':
+                int octalEnd = next;
+                while (octalEnd + 1 < regex.length() && octalEnd - next < 3 && isOctalDigit(regex.charAt(octalEnd + 1))) {
+                    octalEnd++;
+                }
+                return octalEnd;
+            case 'k':
+                return skipTo(regex, '>', next + 1);
+            case 'p':
+            case 'P':
+            case 'N':
+                if (next + 1 < regex.length() && regex.charAt(next + 1) == '{') {
+                    return skipTo(regex, '}', next + 1);
+                }
+                return Math.min(next + 1, regex.length() - 1);
+            default:
+                // back reference may have a few digits
+                int end = next;
+                if (Character.isDigit(regex.charAt(next))) {
+                    while (end + 1 < regex.length() && Character.isDigit(regex.charAt(end + 1))) {
+                        end++;
+                    }
+                }
+                return end;
+        }
+    }
+
+    private static int skipTo(String regex, char c, int start) {
+        final int end = regex.indexOf(c, start);
+        return end < 0 ? regex.length() : end;
+    }
+
+    private static boolean isOctalDigit(char c) {
+        return c >= '0' && c <= '7';
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            final char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+                    i++;
+                }
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+                    i++;
+                }
+            } else if (c == ']' && --depth == 0) {
+                return i;
+            }
+        }
+        return regex.length();
+    }
+
+    private static void dropLastChar(StringBuilder literal) {
+        if (literal.length() > 0) {
+            literal.setLength(literal.length() - 1);
+        }
+    }
+
+    private static void flush(StringBuilder literal, List<String> literals) {
+        if (literal.length() > 0) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+        }
+    }
+
+    private static int[] toLowerCaseCodePoints(String str) {
+        return str.codePoints().map(Character::toLowerCase).toArray();
+    }
+
+    private TrigramQueries() {
+    }
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server;
 
+import com.google.common.io.ByteStreams;
+
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -82,6 +84,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.nio.file.PathMatcher;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -102,6 +105,7 @@ import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import static java.util.Collections.singletonList;
@@ -111,6 +115,7 @@ import static javax.ws.rs.HttpMethod.POST;
 import static javax.ws.rs.HttpMethod.PUT;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+import static org.eclipse.che.api.project.shared.Constants.HEADER_NEXT_PAGE_TOKEN;
 import static org.eclipse.che.commons.lang.ws.rs.ExtMediaType.APPLICATION_ZIP;
 import static org.everrest.core.ApplicationContext.anApplicationContext;
 import static org.junit.Assert.assertTrue;
@@ -120,6 +125,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 
 /**
  * @author andrew00x
@@ -144,6 +150,8 @@ public class ProjectServiceTest {
     private static final String AND_OPERATOR = "AND";
     private static final String NOT_OPERATOR = "NOT";
 
+    private static final int MAX_TREE_NODES = 1000;
+
     private ProjectManager         pm;
     private ResourceLauncher       launcher;
     private ProjectHandlerRegistry phRegistry;
@@ -267,14 +275,9 @@ public class ProjectServiceTest {
         launcher = new ResourceLauncher(processor);
 
         processor.addApplication(new Application() {
-            @Override
-            public Set<Class<?>> getClasses() {
-                return java.util.Collections.<Class<?>>singleton(ProjectService.class);
-            }
-
             @Override
             public Set<Object> getSingletons() {
-                return new HashSet<>(Arrays.asList(new ApiExceptionMapper()));
+                return new HashSet<>(Arrays.asList(new ProjectService(pm, eventService, MAX_TREE_NODES), new ApiExceptionMapper()));
             }
         });
 
@@ -1451,6 +1454,34 @@ public class ProjectServiceTest {
         assertEquals(response.getContentType().toString(), ExtMediaType.APPLICATION_ZIP);
     }
 
+    @Test
+    public void testExportZipWithoutCompression() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes());
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/export/my_project?compressionLevel=0",
+                                                      "http://localhost:8080/api", null, null, writer, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(writer.getBody()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(ByteStreams.toByteArray(zip)));
+            }
+        }
+        assertEquals(entries.get("a/b/test.txt"), "hello");
+    }
+
+    @Test
+    public void testExportZipFailsWithInvalidCompressionLevel() throws Exception {
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/export/my_project?compressionLevel=10",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 400, "Error: " + response.getEntity());
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testGetChildren() throws Exception {
@@ -1648,6 +1679,77 @@ public class ProjectServiceTest {
         Assert.assertFalse(names.contains("x/test.txt"));
     }
 
+    @Test
+    public void testGetTreeStream() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("b/c");
+        a.createFolder("x").createFile("test.txt", "test".getBytes());
+        ByteArrayContainerResponseWriter writer = new ByteArrayContainerResponseWriter();
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/tree/my_project/a?depth=100&includeFiles=true&stream=true",
+                                                      "http://localhost:8080/api", null, null, writer, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        TreeElement tree = DtoFactory.getInstance().createDtoFromJson(new String(writer.getBody()), TreeElement.class);
+        ItemReference a_node = tree.getNode();
+        assertEquals(a_node.getName(), "a");
+        validateFolderLinks(a_node);
+        Set<String> names = new LinkedHashSet<>(4);
+        for (TreeElement subTree : tree.getChildren()) {
+            ItemReference _node = subTree.getNode();
+            validateFolderLinks(_node);
+            String name = _node.getName();
+            names.add(name);
+            for (TreeElement subSubTree : subTree.getChildren()) {
+                ItemReference __node = subSubTree.getNode();
+                if (__node.getType().equals("folder")) {
+                    validateFolderLinks(__node);
+                } else if (__node.getType().equals("file")) {
+                    validateFileLinks(__node);
+                }
+                names.add(name + "/" + __node.getName());
+            }
+        }
+        assertEquals(names.size(), 4);
+        Assert.assertTrue(names.contains("b"));
+        Assert.assertTrue(names.contains("x"));
+        Assert.assertTrue(names.contains("b/c"));
+        Assert.assertTrue(names.contains("x/test.txt"));
+    }
+
+    @Test
+    public void testGetTreeOfMissingFolder() throws Exception {
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/tree/my_project/missing",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 404, "Error: " + response.getEntity());
+    }
+
+    @Test
+    public void testGetTreeIsLimited() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        FolderEntry a = myProject.getBaseFolder().createFolder("a");
+        a.createFolder("b");
+        a.createFolder("c");
+        a.createFolder("d");
+        ProjectService service = new ProjectService(pm, new EventService(), 2);
+        EverrestProcessor processor = new EverrestProcessor(new EverrestConfiguration(),
+                                                            new DependencySupplierImpl(),
+                                                            new RequestHandlerImpl(new RequestDispatcher(new ResourceBinderImpl()),
+                                                                                   ProviderBinder.getInstance()),
+                                                            null);
+        processor.addApplication(new Application() {
+            @Override
+            public Set<Object> getSingletons() {
+                return new HashSet<>(Arrays.asList(service, new ApiExceptionMapper()));
+            }
+        });
+        ContainerResponse response = new ResourceLauncher(processor).service(GET,
+                                                                             "http://localhost:8080/api/project/tree/my_project/a",
+                                                                             "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 409, "Error: " + response.getEntity());
+    }
+
 
     @SuppressWarnings("unchecked")
     @Test
@@ -1671,6 +1773,38 @@ public class ProjectServiceTest {
         Assert.assertTrue(paths.contains("/my_project/x/y/test.txt"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchWithPageToken() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a").createFile("test.txt", "hello".getBytes());
+        myProject.getBaseFolder().createFolder("b").createFile("test.txt", "hello".getBytes());
+        myProject.getBaseFolder().createFolder("c").createFile("test.txt", "hello".getBytes());
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project?name=test.txt&maxItems=2",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> firstPage = (List<ItemReference>)response.getEntity();
+        assertEquals(firstPage.size(), 2);
+        String pageToken = (String)response.getHttpHeaders().getFirst(HEADER_NEXT_PAGE_TOKEN);
+        assertNotNull(pageToken);
+
+        response = launcher.service(GET,
+                                    "http://localhost:8080/api/project/search/my_project?name=test.txt&maxItems=2&skipCount=2&pageToken=" +
+                                    URLEncoder.encode(pageToken, "UTF-8"),
+                                    "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> secondPage = (List<ItemReference>)response.getEntity();
+        assertEquals(secondPage.size(), 1);
+        assertNull(response.getHttpHeaders().getFirst(HEADER_NEXT_PAGE_TOKEN));
+
+        Set<String> paths = new LinkedHashSet<>(3);
+        firstPage.forEach(item -> paths.add(item.getPath()));
+        secondPage.forEach(item -> paths.add(item.getPath()));
+        assertEquals(paths.size(), 3);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchByText() throws Exception {
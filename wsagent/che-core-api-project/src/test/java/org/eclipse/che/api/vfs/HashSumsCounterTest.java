@@ -19,7 +19,9 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.io.ByteArrayInputStream;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
@@ -27,6 +29,8 @@ import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HashSumsCounterTest {
@@ -45,6 +49,52 @@ public class HashSumsCounterTest {
         assertEquals(expected, hashSums);
     }
 
+    @Test
+    public void countsHashSumsInParallel() throws Exception {
+        VirtualFile fileAB = mockFile("/a/file", "file1".getBytes());
+        VirtualFile fileBA = mockFile("/a/b/file", "file2".getBytes());
+        VirtualFile folderB = mockFolder("/a/b", fileBA);
+        VirtualFile folderA = mockFolder("/a", folderB, fileAB);
+        List<Pair<String, String>> expected = newArrayList(Pair.of(countMd5Sum("file2".getBytes()), "b/file"),
+                                                           Pair.of(countMd5Sum("file1".getBytes()), "file"));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        List<Pair<String, String>> hashSums;
+        try {
+            hashSums = new HashSumsCounter(folderA, Hashing.md5(), pool, null).countHashSums();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(expected, hashSums);
+    }
+
+    @Test
+    public void doesNotReadContentOfFileThatIsNotChangedSinceItWasHashed() throws Exception {
+        VirtualFile file = mockFile("/a/file", "file1".getBytes());
+        VirtualFile folder = mockFolder("/a", file);
+        HashSumsCache cache = new HashSumsCache(100);
+
+        new HashSumsCounter(folder, Hashing.md5(), null, cache).countHashSums();
+        List<Pair<String, String>> hashSums = new HashSumsCounter(folder, Hashing.md5(), null, cache).countHashSums();
+
+        assertEquals(newArrayList(Pair.of(countMd5Sum("file1".getBytes()), "file")), hashSums);
+        verify(file, times(1)).getContent();
+    }
+
+    @Test
+    public void readsContentOfFileThatIsChangedSinceItWasHashed() throws Exception {
+        VirtualFile file = mockFile("/a/file", "file1".getBytes());
+        VirtualFile folder = mockFolder("/a", file);
+        HashSumsCache cache = new HashSumsCache(100);
+
+        new HashSumsCounter(folder, Hashing.md5(), null, cache).countHashSums();
+        when(file.getLastModificationDate()).thenReturn(1L);
+        new HashSumsCounter(folder, Hashing.md5(), null, cache).countHashSums();
+
+        verify(file, times(2)).getContent();
+    }
+
     private String countMd5Sum(byte[] bytes) throws Exception {
         return ByteSource.wrap(bytes).hash(Hashing.md5()).toString();
     }
@@ -54,7 +104,7 @@ public class HashSumsCounterTest {
         when(file.isFile()).thenReturn(true);
         when(file.getPath()).thenReturn(Path.of(path));
         when(file.toString()).thenReturn(path);
-        when(file.getContent()).thenReturn(new ByteArrayInputStream(content));
+        when(file.getContent()).thenAnswer(invocation -> new ByteArrayInputStream(content));
         accept(file);
         return file;
     }
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link PathLockFactory} under concurrent access to files of one project and of different projects. Benchmarks with prefix
+ * "baseline" run {@link SynchronizedPathLockFactory}, copy of the factory before striping of lock table, they don't depend on number of
+ * stripes.
+ * <p/>
+ * Run with:
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.eclipse.che.api.vfs.PathLockFactoryBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(8)
+public class PathLockFactoryBenchmark {
+    private static final int MAX_THREADS = 100;
+
+    @Param({"1", "32"})
+    public int stripes;
+
+    @Param({"1", "16"})
+    public int projects;
+
+    private PathLockFactory             pathLockFactory;
+    private SynchronizedPathLockFactory baselineFactory;
+    private Path[]                      paths;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pathLockFactory = new PathLockFactory(MAX_THREADS, stripes);
+        baselineFactory = new SynchronizedPathLockFactory(MAX_THREADS);
+        paths = new Path[projects * 8];
+        for (int i = 0; i < projects; i++) {
+            for (int j = 0; j < 8; j++) {
+                paths[i * 8 + j] = Path.of(String.format("/project%d/src/main/java/File%d.java", i, j));
+            }
+        }
+    }
+
+    @Benchmark
+    public void sharedLock() {
+        PathLockFactory.PathLock lock = pathLockFactory.getLock(randomPath(), false).acquire();
+        lock.release();
+    }
+
+    @Benchmark
+    public void exclusiveLock() {
+        PathLockFactory.PathLock lock = pathLockFactory.getLock(randomPath(), true).acquire();
+        lock.release();
+    }
+
+    @Benchmark
+    public void baselineSharedLock() {
+        Path path = randomPath();
+        baselineFactory.acquire(path, 1);
+        baselineFactory.release(path, 1);
+    }
+
+    @Benchmark
+    public void baselineExclusiveLock() {
+        Path path = randomPath();
+        baselineFactory.acquire(path, MAX_THREADS);
+        baselineFactory.release(path, MAX_THREADS);
+    }
+
+    private Path randomPath() {
+        return paths[ThreadLocalRandom.current().nextInt(paths.length)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PathLockFactoryBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /** Lock table of {@link PathLockFactory} before striping: list of locks of all paths guarded with monitor of factory. */
+    static class SynchronizedPathLockFactory {
+        private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+
+        private final int  maxThreads;
+        private final Node tail = new Node(null, 0, null);
+
+        SynchronizedPathLockFactory(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+
+        synchronized void acquire(Path path, int permits) {
+            while (!tryAcquire(path, permits)) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    notifyAll();
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        synchronized void release(Path path, int permits) {
+            Node node = tail;
+            while (node != null) {
+                Node prev = node.prev;
+                if (prev == null) {
+                    break;
+                }
+                if (prev.path.equals(path)) {
+                    if (prev.threadDeep == 1) {
+                        prev.permits += permits;
+                        if (prev.permits >= maxThreads) {
+                            node.prev = prev.prev;
+                            prev.prev = null;
+                        }
+                    } else {
+                        --prev.threadDeep;
+                    }
+                }
+                node = node.prev;
+            }
+            notifyAll();
+        }
+
+        private boolean tryAcquire(Path path, int permits) {
+            Node node = tail.prev;
+            final Thread current = Thread.currentThread();
+            while (node != null) {
+                if (node.path.equals(path)) {
+                    if (node.threadId == current.getId()) {
+                        if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
+                            throw new Error("Max number of recursive locks exceeded. ");
+                        }
+                        ++node.threadDeep;
+                        return true;
+                    }
+                    if (node.permits > permits) {
+                        node.permits -= permits;
+                        return true;
+                    }
+                    return false;
+                } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
+                    if (node.threadId != current.getId()) {
+                        return false;
+                    }
+                }
+                node = node.prev;
+            }
+            tail.prev = new Node(path, maxThreads - permits, tail.prev);
+            return true;
+        }
+
+        private static class Node {
+            final Path path;
+            final long threadId = Thread.currentThread().getId();
+            int  permits;
+            int  threadDeep;
+            Node prev;
+
+            Node(Path path, int permits, Node prev) {
+                this.path = path;
+                this.permits = permits;
+                this.prev = prev;
+                threadDeep = 1;
+            }
+        }
+    }
+}
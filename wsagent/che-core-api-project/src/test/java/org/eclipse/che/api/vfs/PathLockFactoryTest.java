@@ -236,4 +236,149 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testLocksInDifferentTreesDoNotBlockEachOther() throws Exception {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(Path.of("/x/y"), true).acquire();
+                locked.countDown();
+                try {
+                    done.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        locked.await();
+        try {
+            pathLockFactory.getLock(path, true).acquire(100).release();
+        } finally {
+            done.countDown();
+            t.join();
+        }
+        pathLockFactory.checkClean();
+    }
+
+    public void testLocksOfSiblingsDoNotBlockEachOther() throws Exception {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(Path.of("/a/b/d"), true).acquire();
+                locked.countDown();
+                try {
+                    done.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        locked.await();
+        try {
+            pathLockFactory.getLock(path, true).acquire(100).release();
+            pathLockFactory.getLock(path.getParent(), false).acquire(100);
+            fail("Lock must not be acquired while child is locked exclusively");
+        } catch (RuntimeException expected) {
+        } finally {
+            done.countDown();
+            t.join();
+        }
+        pathLockFactory.checkClean();
+    }
+
+    public void testLockOfParentBlocksLocksOfAllDescendants() throws Exception {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(Path.of("/a"), true).acquire();
+                locked.countDown();
+                try {
+                    done.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        locked.await();
+        try {
+            pathLockFactory.getLock(path.newPath("d"), false).acquire(100);
+            fail("Lock must not be acquired while parent is locked exclusively");
+        } catch (RuntimeException expected) {
+        } finally {
+            done.countDown();
+            t.join();
+        }
+        pathLockFactory.getLock(path.newPath("d"), true).acquire(1000).release();
+        pathLockFactory.checkClean();
+    }
+
+    public void testRootLockBlocksLocksInAllTrees() throws Exception {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(Path.ROOT, true).acquire();
+                locked.countDown();
+                try {
+                    done.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        locked.await();
+        try {
+            pathLockFactory.getLock(path, false).acquire(100);
+            fail("Lock must not be acquired while root is locked");
+        } catch (RuntimeException expected) {
+        } finally {
+            done.countDown();
+            t.join();
+        }
+        pathLockFactory.getLock(Path.of("/x/y"), true).acquire(1000).release();
+        pathLockFactory.getLock(Path.ROOT, true).acquire(1000).release();
+        pathLockFactory.checkClean();
+    }
+
+    public void testLockCanNotBeReleasedByThreadWhichDoesNotHoldIt() throws Exception {
+        final PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final AtomicBoolean stillLocked = new AtomicBoolean();
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    lock.release();
+                } catch (IllegalStateException expected) {
+                    failed.set(true);
+                }
+                try {
+                    pathLockFactory.getLock(path, true).acquire(100);
+                } catch (RuntimeException expected) {
+                    stillLocked.set(true);
+                }
+            }
+        };
+        t.start();
+        t.join();
+        assertTrue(failed.get());
+        assertTrue(stillLocked.get()); // lock must not be released by other thread
+        lock.release();
+        pathLockFactory.checkClean();
+    }
 }
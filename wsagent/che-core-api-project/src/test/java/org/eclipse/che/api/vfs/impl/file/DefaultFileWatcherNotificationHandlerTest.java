@@ -22,6 +22,7 @@ import java.io.File;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
@@ -91,4 +92,26 @@ public class DefaultFileWatcherNotificationHandlerTest {
         verify(notificationListener).shouldBeNotifiedFor(virtualFile);
         verify(notificationListener).onFileWatcherEvent(virtualFile, MODIFIED);
     }
+
+    @Test
+    public void invalidatesHashSumOfFileWhenFileIsModified() throws Exception {
+        notificationHandler.handleFileWatcherEvent(MODIFIED, testDirectory, "/a/b/c", false);
+
+        verify(virtualFileSystem).invalidateHashSums(virtualFilePath);
+        verify(notificationListener).onFileWatcherEvent(virtualFile, MODIFIED);
+    }
+
+    @Test
+    public void notifiesFileWatcherNotificationListenersWhenModifiedFileIsNotLocalVirtualFile() throws Exception {
+        Path otherPath = Path.of("/a/b/d");
+        VirtualFile otherFile = mock(VirtualFile.class);
+        when(otherFile.getPath()).thenReturn(otherPath);
+        when(virtualFileSystem.getRoot().getChild(otherPath)).thenReturn(otherFile);
+        when(notificationListener.shouldBeNotifiedFor(any(VirtualFile.class))).thenReturn(true);
+
+        notificationHandler.handleFileWatcherEvent(MODIFIED, testDirectory, "/a/b/d", false);
+
+        verify(virtualFileSystem).invalidateHashSums(otherPath);
+        verify(notificationListener).onFileWatcherEvent(otherFile, MODIFIED);
+    }
 }
@@ -45,11 +45,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
@@ -230,6 +234,24 @@ public class LocalVirtualFileTest {
         assertEquals(properties, file.getProperties());
     }
 
+    @Test
+    public void keepsCachedPropertiesOfOtherFilesWhenFileIsDeleted() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), "");
+        Map<String, String> properties = ImmutableMap.of("property1", "value1");
+        file.updateProperties(properties);
+        VirtualFile otherFile = root.createFile(generateFileName(), "");
+        otherFile.updateProperties(properties);
+
+        otherFile.delete();
+        long missCount = fileSystem.getMetadataCacheStats().missCount();
+        long hitCount = fileSystem.getMetadataCacheStats().hitCount();
+
+        assertEquals(properties, file.getProperties());
+        assertEquals(missCount, fileSystem.getMetadataCacheStats().missCount());
+        assertEquals(hitCount + 1, fileSystem.getMetadataCacheStats().hitCount());
+    }
+
     @Test
     public void getsProperty() throws Exception {
         VirtualFile root = getRoot();
@@ -341,6 +363,52 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, root.getChildren());
     }
 
+    @Test
+    public void getsChildrenConcurrently() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        VirtualFile file2 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        VirtualFile subFolder = folder.createFolder(generateFolderName());
+
+        List<VirtualFile> expectedResult = newArrayList(file1, file2, subFolder);
+        Collections.sort(expectedResult);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<VirtualFile>>> results = newArrayList();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> folder.getChildren()));
+            }
+            for (Future<List<VirtualFile>> result : results) {
+                List<VirtualFile> children = result.get();
+                assertEquals(expectedResult, children);
+                assertTrue(children.get(0).isFolder());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void checksTypeOfListedChildOnFileSystemAfterListing() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        VirtualFile listedFile = folder.getChildren().get(0);
+        assertTrue(listedFile.isFile());
+        file.delete();
+
+        assertFalse(listedFile.exists());
+        assertFalse(listedFile.isFile());
+        assertFalse(listedFile.isFolder());
+
+        new File(testDirectory, listedFile.getPath().toString()).mkdir();
+        assertTrue(listedFile.isFolder());
+        assertFalse(listedFile.isFile());
+    }
+
     @Test
     public void getsChildrenWithFilter() throws Exception {
         VirtualFile root = getRoot();
@@ -399,6 +467,50 @@ public class LocalVirtualFileTest {
         assertEquals(DEFAULT_CONTENT, new String(bytes));
     }
 
+    @Test
+    public void getsContentOfLargeFileAsStream() throws Exception {
+        byte[] largeContent = createLargeContent('a');
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), largeContent);
+
+        byte[] bytes;
+        try (InputStream content = file.getContent()) {
+            bytes = ByteStreams.toByteArray(content);
+        }
+
+        assertTrue(Arrays.equals(largeContent, bytes));
+    }
+
+    @Test
+    public void keepsReadingPreviousContentOfLargeFileWhenFileIsUpdated() throws Exception {
+        byte[] largeContent = createLargeContent('a');
+        byte[] updatedContent = createLargeContent('b');
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), largeContent);
+
+        byte[] bytes;
+        try (InputStream content = file.getContent()) {
+            file.updateContent(updatedContent);
+            bytes = ByteStreams.toByteArray(content);
+        }
+
+        assertTrue(Arrays.equals(largeContent, bytes));
+        assertionHelper.assertThatIoFileHasContent(file.getPath(), updatedContent);
+    }
+
+    @Test
+    public void updatesContentOfFileWithHardLinksInPlace() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+        java.nio.file.Path hardLink = new File(testDirectory, generateFileName()).toPath();
+        java.nio.file.Files.createLink(hardLink, file.toIoFile().toPath());
+
+        file.updateContent("updated content");
+
+        assertionHelper.assertThatIoFileHasContent(file.getPath(), "updated content".getBytes());
+        assertEquals("updated content", new String(java.nio.file.Files.readAllBytes(hardLink)));
+    }
+
     @Test
     public void getsContentAsBytes() throws Exception {
         VirtualFile root = getRoot();
@@ -1772,6 +1884,12 @@ public class LocalVirtualFileTest {
         return fileSystem.getRoot();
     }
 
+    private byte[] createLargeContent(char c) {
+        byte[] content = new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE + 1];
+        Arrays.fill(content, (byte)c);
+        return content;
+    }
+
     private String generateFileName() {
         return NameGenerator.generate("file-", 8);
     }
@@ -61,6 +61,13 @@ public class FSLuceneSearcherProviderTest {
         assertNotNull(fsLuceneSearcherProvider.getSearcher(virtualFileSystem, true));
     }
 
+    @Test
+    public void createsSearcherWhenNumberOfIndexingThreadsIsNotConfigured() throws Exception {
+        VirtualFileSystem virtualFileSystem = mockVirtualFileSystem();
+        fsLuceneSearcherProvider = new FSLuceneSearcherProvider(indexRootDirectory, newHashSet(mock(PathMatcher.class)), 0, true);
+        assertNotNull(fsLuceneSearcherProvider.getSearcher(virtualFileSystem, true));
+    }
+
     @Test
     public void returnsSameInstanceOfSearcherOnceItWasCreated() throws Exception {
         VirtualFileSystem virtualFileSystem = mockVirtualFileSystem();
@@ -11,13 +11,16 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
 
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStats;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
@@ -28,11 +31,15 @@ import org.mockito.ArgumentMatcher;
 
 import java.io.File;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
@@ -294,6 +301,230 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void indexesTreeOfFilesInSeveralThreads() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%02d/sub", i));
+            for (int j = 0; j < 60; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher.setIndexingThreads(3);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("mission"));
+        assertEquals(150, result.getTotalHits());
+
+        IndexingStats stats = searcher.getInitialIndexingStats().get();
+        assertTrue(stats.isCompleted());
+        assertEquals(600, stats.getIndexedFiles());
+        assertEquals("/", stats.getRootPath());
+    }
+
+    @Test
+    public void addsDocumentsWithoutUpdateWhenIndexIsFresh() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.setPlainAddOnFreshIndex(true);
+        searcher.init(virtualFileSystem);
+
+        assertTrue(searcher.isFreshIndex());
+        List<String> paths = searcher.search(new QueryExpression().setText("think")).getFilePaths();
+        assertEquals(newArrayList("/folder/zzz.txt"), paths);
+    }
+
+    @Test
+    public void reindexesOnlyChangedFilesWhenIndexAlreadyExists() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("unchanged.txt", TEST_CONTENT[0]);
+        VirtualFile modified = folder.createFile("modified.txt", TEST_CONTENT[2]);
+        VirtualFile deleted = folder.createFile("deleted.txt", TEST_CONTENT[3]);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        modified.updateContent(TEST_CONTENT[1]);
+        deleted.delete();
+        folder.createFile("added.txt", TEST_CONTENT[1]);
+
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback);
+        searcher.init(virtualFileSystem);
+
+        assertFalse(searcher.isFreshIndex());
+        assertEquals(2, searcher.getInitialIndexingStats().get().getIndexedFiles());
+        List<String> paths = searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths();
+        assertEquals(newArrayList("/folder/unchanged.txt"), paths);
+        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        assertEquals(newHashSet("/folder/added.txt", "/folder/modified.txt"), newHashSet(paths));
+        paths = searcher.search(new QueryExpression().setText("mission")).getFilePaths();
+        assertTrue(paths.isEmpty());
+    }
+
+    @Test
+    public void retrievesAllPagesOfSearchResultWithPageTokens() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        Set<String> paths = new HashSet<>();
+        SearchResult page = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(4));
+        paths.addAll(page.getFilePaths());
+        while (page.getNextPageQueryExpression().isPresent()) {
+            QueryExpression nextPageQueryExpression = page.getNextPageQueryExpression().get();
+            assertNotNull(nextPageQueryExpression.getPageToken());
+            page = searcher.search(nextPageQueryExpression);
+            paths.addAll(page.getFilePaths());
+        }
+
+        assertEquals(25, paths.size());
+    }
+
+    @Test
+    public void usesSkipCountWhenPageTokenIsInvalid() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+        SearchResult lastPage = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                     .setSkipCount(8)
+                                                                     .setPageToken("invalid"));
+
+        assertEquals(17, lastPage.getFilePaths().size());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
+    @Test
+    public void returnsPositionsOfMatchesWhenRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0] + "\n" + TEST_CONTENT[3] + "\n" + TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight").setIncludePositions(true));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        assertEquals(1, occurrences.get(0).getLineNumber());
+        assertEquals(TEST_CONTENT[0], occurrences.get(0).getLineContent());
+        assertEquals(TEST_CONTENT[0].indexOf("spaceflight"), occurrences.get(0).getStartOffset());
+        assertEquals(TEST_CONTENT[0].indexOf("spaceflight") + "spaceflight".length(), occurrences.get(0).getEndOffset());
+        assertEquals(3, occurrences.get(1).getLineNumber());
+    }
+
+    @Test
+    public void doesNotReturnPositionsOfMatchesWhenTheyAreNotRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight"));
+
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void searchesBySubstringIgnoringCase() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setSubstring("ACEFLIG")).getFilePaths();
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+        paths = searcher.search(new QueryExpression().setSubstring("ct asc")).getFilePaths();
+        assertEquals(newArrayList("/folder/yyy.txt"), paths);
+        paths = searcher.search(new QueryExpression().setSubstring("tw")).getFilePaths();
+        assertEquals(newArrayList("/folder/zzz.txt"), paths);
+    }
+
+    @Test
+    public void searchesByRegularExpression() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", "Apollo 11 was the spaceflight that landed the first two humans on the Moon");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setRegex("Apollo \\d+ was").setIncludePositions(true));
+        assertEquals(newArrayList("/folder/zzz.txt"), result.getFilePaths());
+        assertEquals(1, result.getTotalHits());
+        assertEquals(0, result.getResults().get(0).getOccurrences().get(0).getStartOffset());
+        assertEquals(13, result.getResults().get(0).getOccurrences().get(0).getEndOffset());
+
+        List<String> paths = searcher.search(new QueryExpression().setRegex("19[0-9]{2}")).getFilePaths();
+        assertEquals(newArrayList("/folder/yyy.txt"), paths);
+    }
+
+    @Test
+    public void checksCandidatesOfRegularExpressionOnlyUntilRequestedPageIsFound() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult page = searcher.search(new QueryExpression().setRegex("spacefl.ght").setMaxItems(4));
+        assertEquals(4, page.getFilePaths().size());
+        assertEquals(5, page.getTotalHits());
+
+        Set<String> paths = new HashSet<>(page.getFilePaths());
+        while (page.getNextPageQueryExpression().isPresent()) {
+            QueryExpression nextPageQueryExpression = page.getNextPageQueryExpression().get();
+            assertNotNull(nextPageQueryExpression.getPageToken());
+            page = searcher.search(nextPageQueryExpression);
+            paths.addAll(page.getFilePaths());
+        }
+        assertEquals(25, paths.size());
+        assertEquals(25, page.getTotalHits());
+
+        SearchResult lastPage = searcher.search(new QueryExpression().setRegex("spacefl.ght").setSkipCount(20).setMaxItems(10));
+        assertEquals(5, lastPage.getFilePaths().size());
+        assertEquals(25, lastPage.getTotalHits());
+        assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+    }
+
+    @Test
+    public void searchesBySubstringAndRegularExpressionInFilesWithoutTrigrams() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("big.txt", Strings.repeat("x", 1024 * 1024) + "\n" + TEST_CONTENT[0]);
+        folder.createFile("short.txt", "ab");
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setSubstring("SPACEFLIGHT")).getFilePaths();
+        assertEquals(newArrayList("/folder/big.txt"), paths);
+        paths = searcher.search(new QueryExpression().setRegex("human\\s+space")).getFilePaths();
+        assertEquals(newArrayList("/folder/big.txt"), paths);
+        paths = searcher.search(new QueryExpression().setSubstring("ab")).getFilePaths();
+        assertEquals(newArrayList("/folder/short.txt"), paths);
+    }
+
+    @Test
+    public void searchesByRegularExpressionWithoutRequiredLiterals() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", "ab");
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setRegex("\\d{4}|b$")).getFilePaths();
+        assertEquals(newHashSet("/folder/yyy.txt", "/folder/zzz.txt"), newHashSet(paths));
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
@@ -17,7 +17,9 @@ import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexingStats;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.junit.After;
 import org.junit.Before;
@@ -25,11 +27,14 @@ import org.junit.Test;
 import org.mockito.ArgumentMatcher;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
@@ -284,6 +289,145 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void indexesTreeOfFilesInSeveralThreads() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%02d/sub", i));
+            for (int j = 0; j < 60; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher.setIndexingThreads(3);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("mission"));
+        assertEquals(150, result.getTotalHits());
+
+        IndexingStats stats = searcher.getInitialIndexingStats().get();
+        assertTrue(stats.isCompleted());
+        assertEquals(600, stats.getIndexedFiles());
+        assertEquals("/", stats.getRootPath());
+    }
+
+    @Test
+    public void addsDocumentsWithoutUpdateWhenIndexIsFresh() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.setPlainAddOnFreshIndex(true);
+        searcher.init(virtualFileSystem);
+
+        assertTrue(searcher.isFreshIndex());
+        List<String> paths = searcher.search(new QueryExpression().setText("think")).getFilePaths();
+        assertEquals(newArrayList("/folder/zzz.txt"), paths);
+    }
+
+    @Test
+    public void retrievesAllPagesOfSearchResultWithPageTokens() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        Set<String> paths = new HashSet<>();
+        SearchResult page = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(4));
+        paths.addAll(page.getFilePaths());
+        while (page.getNextPageQueryExpression().isPresent()) {
+            QueryExpression nextPageQueryExpression = page.getNextPageQueryExpression().get();
+            assertNotNull(nextPageQueryExpression.getPageToken());
+            page = searcher.search(nextPageQueryExpression);
+            paths.addAll(page.getFilePaths());
+        }
+
+        assertEquals(25, paths.size());
+    }
+
+    @Test
+    public void usesSkipCountWhenPageTokenIsInvalid() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+        SearchResult lastPage = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                     .setSkipCount(8)
+                                                                     .setPageToken("invalid"));
+
+        assertEquals(17, lastPage.getFilePaths().size());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+    }
+
+    @Test
+    public void returnsPositionsOfMatchesWhenRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0] + "\n" + TEST_CONTENT[3] + "\n" + TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight").setIncludePositions(true));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(2, occurrences.size());
+        assertEquals(1, occurrences.get(0).getLineNumber());
+        assertEquals(TEST_CONTENT[0], occurrences.get(0).getLineContent());
+        assertEquals(TEST_CONTENT[0].indexOf("spaceflight"), occurrences.get(0).getStartOffset());
+        assertEquals(TEST_CONTENT[0].indexOf("spaceflight") + "spaceflight".length(), occurrences.get(0).getEndOffset());
+        assertEquals(3, occurrences.get(1).getLineNumber());
+    }
+
+    @Test
+    public void doesNotReturnPositionsOfMatchesWhenTheyAreNotRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("spaceflight"));
+
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void searchesBySubstringIgnoringCase() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", TEST_CONTENT[1]);
+        searcher.init(virtualFileSystem);
+
+        List<String> paths = searcher.search(new QueryExpression().setSubstring("ACEFLIG")).getFilePaths();
+        assertEquals(newArrayList("/folder/xxx.txt"), paths);
+        paths = searcher.search(new QueryExpression().setSubstring("ct asc")).getFilePaths();
+        assertEquals(newArrayList("/folder/yyy.txt"), paths);
+        paths = searcher.search(new QueryExpression().setSubstring("tw")).getFilePaths();
+        assertEquals(newArrayList("/folder/zzz.txt"), paths);
+    }
+
+    @Test
+    public void searchesByRegularExpression() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0]);
+        folder.createFile("yyy.txt", TEST_CONTENT[3]);
+        folder.createFile("zzz.txt", "Apollo 11 was the spaceflight that landed the first two humans on the Moon");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setRegex("Apollo \\d+ was").setIncludePositions(true));
+        assertEquals(newArrayList("/folder/zzz.txt"), result.getFilePaths());
+        assertEquals(1, result.getTotalHits());
+        assertEquals(0, result.getResults().get(0).getOccurrences().get(0).getStartOffset());
+        assertEquals(13, result.getResults().get(0).getOccurrences().get(0).getEndOffset());
+
+        List<String> paths = searcher.search(new QueryExpression().setRegex("19[0-9]{2}")).getFilePaths();
+        assertEquals(newArrayList("/folder/yyy.txt"), paths);
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
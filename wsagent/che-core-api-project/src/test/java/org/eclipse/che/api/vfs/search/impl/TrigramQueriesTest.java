@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TrigramQueriesTest {
+    @Test
+    public void findsLiteralsInRegularExpression() throws Exception {
+        assertEquals(newArrayList("public class ", "Service"), TrigramQueries.requiredLiterals("public class \\w+Service"));
+    }
+
+    @Test
+    public void skipsOptionalCharactersGroupsAndCharacterClasses() throws Exception {
+        assertEquals(newArrayList("colo", "r", "foo"), TrigramQueries.requiredLiterals("colou?r(bar)*[a-z]+foo"));
+        assertEquals(newArrayList("ab", "x"), TrigramQueries.requiredLiterals("abc{0,2}x"));
+    }
+
+    @Test
+    public void treatsEscapedCharactersAsLiterals() throws Exception {
+        assertEquals(newArrayList("a.b"), TrigramQueries.requiredLiterals("a\\.b"));
+    }
+
+    @Test
+    public void skipsHexadecimalEscapes() throws Exception {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\x41bar"));
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\x{1F600}bar"));
+    }
+
+    @Test
+    public void skipsUnicodeEscapes() throws Exception {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\u0041bar"));
+    }
+
+    @Test
+    public void skipsControlCharacterEscapes() throws Exception {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\cXbar"));
+    }
+
+    @Test
+    public void skipsNamedBackReferences() throws Exception {
+        assertEquals(newArrayList("bar"), TrigramQueries.requiredLiterals("(?<name>foo)\\k<name>bar"));
+    }
+
+    @Test
+    public void skipsNumberedBackReferences() throws Exception {
+        assertEquals(newArrayList("bar"), TrigramQueries.requiredLiterals("(foo)\\12bar"));
+    }
+
+    @Test
+    public void skipsOctalEscapes() throws Exception {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\0101bar"));
+        assertEquals(newArrayList("foo", "8bar"), TrigramQueries.requiredLiterals("foo\\018bar"));
+    }
+
+    @Test
+    public void skipsCharacterPropertyEscapes() throws Exception {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\p{Lu}bar"));
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\pLbar"));
+    }
+
+    @Test
+    public void skipsQuotedSequences() throws Exception {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\Q.*\\Ebar"));
+    }
+
+    @Test
+    public void skipsCharacterClassEscapes() throws Exception {
+        assertEquals(newArrayList("foo", "bar"), TrigramQueries.requiredLiterals("foo\\dbar"));
+    }
+
+    @Test
+    public void returnsNoLiteralsInCommentsMode() throws Exception {
+        assertEquals(Collections.emptyList(), TrigramQueries.requiredLiterals("(?x)foo bar # comment"));
+        assertEquals(Collections.emptyList(), TrigramQueries.requiredLiterals("(?ix:foo bar)"));
+    }
+
+    @Test
+    public void foundLiteralsMatchTextMatchedByExpression() throws Exception {
+        String[][] expressionsAndTexts = {{"foo\\x41bar", "fooAbar"},
+                                          {"foo\\u0041bar", "fooAbar"},
+                                          {"foo\\cJbar", "foo\nbar"},
+                                          {"(?<n>abc)\\k<n>xyz", "abcabcxyz"},
+                                          {"foo\\0101bar", "fooAbar"},
+                                          {"foo\\p{Lu}bar", "fooAbar"},
+                                          {"foo\\Qa+b\\Ebar", "fooa+bbar"},
+                                          {"(?x)foo bar", "foobar"}};
+        for (String[] expressionAndText : expressionsAndTexts) {
+            for (String literal : TrigramQueries.requiredLiterals(expressionAndText[0])) {
+                assertTrue(expressionAndText[0], expressionAndText[1].contains(literal));
+            }
+        }
+    }
+
+    @Test
+    public void returnsNoLiteralsForAlternation() throws Exception {
+        assertEquals(Collections.emptyList(), TrigramQueries.requiredLiterals("foo|bar"));
+    }
+}
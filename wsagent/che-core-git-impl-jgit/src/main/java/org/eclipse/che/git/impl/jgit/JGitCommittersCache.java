@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.api.git.shared.GitUser;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Keeps committers of repositories together with the HEAD commit they are collected for. When HEAD moves forward
+ * only commits added since previous call are walked, whole history is walked again only if the previous HEAD is not
+ * reachable from the new one any more, e.g. after reset or rebase.
+ */
+@Singleton
+public class JGitCommittersCache {
+    private static final int CACHE_MAX_SIZE = 100;
+
+    private final Cache<String, CommittersEntry> committers;
+
+    public JGitCommittersCache() {
+        committers = CacheBuilder.newBuilder().maximumSize(CACHE_MAX_SIZE).build();
+    }
+
+    /**
+     * Gets committers of all commits reachable from {@code head} in order of their first appearance in history
+     * starting from the newest commit.
+     */
+    List<GitUser> getCommitters(Repository repository, ObjectId head) throws IOException {
+        final CommittersEntry entry;
+        try {
+            entry = committers.get(repository.getDirectory().getAbsolutePath(), CommittersEntry::new);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+
+        final List<GitUser> result = new ArrayList<>();
+        synchronized (entry) {
+            if (!head.equals(entry.head)) {
+                entry.committers = collectCommitters(repository, head, entry);
+                entry.head = head.copy();
+            }
+            for (Committer committer : entry.committers) {
+                result.add(newDto(GitUser.class).withName(committer.name).withEmail(committer.email));
+            }
+        }
+        return result;
+    }
+
+    private Set<Committer> collectCommitters(Repository repository, ObjectId head, CommittersEntry entry) throws IOException {
+        try (RevWalk walk = new RevWalk(repository)) {
+            final RevCommit start = walk.parseCommit(head);
+            final boolean incremental = entry.head != null && isAncestor(walk, entry.head, start);
+            walk.reset();
+            walk.markStart(start);
+            if (incremental) {
+                walk.markUninteresting(walk.parseCommit(entry.head));
+            }
+
+            final Set<Committer> result = new LinkedHashSet<>();
+            for (RevCommit commit : walk) {
+                final PersonIdent committerIdentity = commit.getCommitterIdent();
+                result.add(new Committer(committerIdentity.getName(), committerIdentity.getEmailAddress()));
+            }
+            if (incremental) {
+                result.addAll(entry.committers);
+            }
+            return result;
+        }
+    }
+
+    private boolean isAncestor(RevWalk walk, ObjectId ancestor, RevCommit commit) throws IOException {
+        try {
+            return walk.isMergedInto(walk.parseCommit(ancestor), commit);
+        } catch (MissingObjectException e) {
+            // previous HEAD was removed from repository
+            return false;
+        }
+    }
+
+    private static class CommittersEntry {
+        ObjectId       head;
+        Set<Committer> committers;
+    }
+
+    private static class Committer {
+        final String name;
+        final String email;
+
+        Committer(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Committer)) {
+                return false;
+            }
+            final Committer other = (Committer)o;
+            return Objects.equals(name, other.name) && Objects.equals(email, other.email);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, email);
+        }
+    }
+}
@@ -250,16 +250,18 @@ class JGitConnection implements GitConnection {
 
     private final CredentialsLoader credentialsLoader;
     private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
-    private final Repository        repository;
+    private final GitUserResolver     userResolver;
+    private final JGitCommittersCache committersCache;
+    private final Repository          repository;
 
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
-                   GitUserResolver userResolver) {
+                   GitUserResolver userResolver, JGitCommittersCache committersCache) {
         this.repository = repository;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.committersCache = committersCache;
     }
 
     @Override
@@ -739,6 +741,13 @@ class JGitConnection implements GitConnection {
 
             request.getFileFilter().forEach(logCommand::addPath);
 
+            if (request.getSkip() > 0) {
+                logCommand.setSkip(request.getSkip());
+            }
+            if (request.getMaxCount() > 0) {
+                logCommand.setMaxCount(request.getMaxCount());
+            }
+
             Iterator<RevCommit> revIterator = logCommand.call().iterator();
             List<Revision> commits = new ArrayList<>();
 
@@ -779,22 +788,15 @@ class JGitConnection implements GitConnection {
 
     @Override
     public List<GitUser> getCommiters() throws GitException {
-        List<GitUser> gitUsers = new ArrayList<>();
         try {
-            LogCommand logCommand = getGit().log();
-            for (RevCommit commit : logCommand.call()) {
-                PersonIdent committerIdentity = commit.getCommitterIdent();
-                GitUser gitUser = newDto(GitUser.class).withName(committerIdentity.getName())
-                                                       .withEmail(committerIdentity.getEmailAddress());
-                if (!gitUsers.contains(gitUser)) {
-                    gitUsers.add(gitUser);
-                }
+            ObjectId head = repository.resolve(Constants.HEAD);
+            if (head == null) {
+                throw new GitException(ERROR_LOG_NO_HEAD_EXISTS, ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
             }
-        } catch (GitAPIException exception) {
+            return committersCache.getCommitters(repository, head);
+        } catch (IOException exception) {
             throw new GitException(exception.getMessage(), exception);
         }
-
-        return gitUsers;
     }
 
     @Override
@@ -41,15 +41,20 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     private static final String USER_AGENT = "git/2.1.0";
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private final CredentialsLoader   credentialsLoader;
+    private final SshKeyProvider      sshKeyProvider;
+    private final GitUserResolver     userResolver;
+    private final JGitCommittersCache committersCache;
 
     @Inject
-    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader,
+                                 SshKeyProvider sshKeyProvider,
+                                 GitUserResolver userResolver,
+                                 JGitCommittersCache committersCache) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.committersCache = committersCache;
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -79,7 +84,7 @@ public class JGitConnectionFactory extends GitConnectionFactory {
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
         Repository gitRepo = createRepository(workDir);
-        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver, committersCache);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
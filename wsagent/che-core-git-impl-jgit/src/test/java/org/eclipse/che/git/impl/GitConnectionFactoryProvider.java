@@ -16,6 +16,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.git.CredentialsLoader;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
+import org.eclipse.che.git.impl.jgit.JGitCommittersCache;
 import org.eclipse.che.git.impl.jgit.JGitConnectionFactory;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.testng.annotations.DataProvider;
@@ -37,7 +38,8 @@ public class GitConnectionFactoryProvider {
                         new JGitConnectionFactory(
                                 mock(CredentialsLoader.class),
                                 mock(SshKeyProvider.class),
-                                resolver
+                                resolver,
+                                new JGitCommittersCache()
                         )
                 }
         };
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.Map;
+
+/**
+ * Stopping of workspaces on application server shutdown.
+ * Progress describes the current shutdown, it is empty while shutdown is not started.
+ */
+@DTO
+public interface WorkspacesShutdownDto {
+
+    /** Number of workspaces that were running or starting when shutdown began. */
+    int getTotal();
+
+    void setTotal(int total);
+
+    WorkspacesShutdownDto withTotal(int total);
+
+    /** Number of workspaces that are stopped. */
+    int getStopped();
+
+    void setStopped(int stopped);
+
+    WorkspacesShutdownDto withStopped(int stopped);
+
+    /** Number of workspaces that failed to stop. */
+    int getFailed();
+
+    void setFailed(int failed);
+
+    WorkspacesShutdownDto withFailed(int failed);
+
+    /** Time spent on shutdown so far. */
+    long getElapsedTimeMillis();
+
+    void setElapsedTimeMillis(long elapsedTimeMillis);
+
+    WorkspacesShutdownDto withElapsedTimeMillis(long elapsedTimeMillis);
+
+    /** Tells whether shutdown is finished. */
+    boolean isCompleted();
+
+    void setCompleted(boolean completed);
+
+    WorkspacesShutdownDto withCompleted(boolean completed);
+
+    /** IDs of workspaces stopped by the previous shutdown mapped to names of their active environments. */
+    Map<String, String> getRunningBeforeShutdown();
+
+    void setRunningBeforeShutdown(Map<String, String> runningBeforeShutdown);
+
+    WorkspacesShutdownDto withRunningBeforeShutdown(Map<String, String> runningBeforeShutdown);
+}
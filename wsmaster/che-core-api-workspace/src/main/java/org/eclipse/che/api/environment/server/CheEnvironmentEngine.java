@@ -12,6 +12,7 @@ package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.core.ApiException;
@@ -52,13 +53,15 @@ import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
-import org.eclipse.che.api.workspace.server.StripedLocks;
+import org.eclipse.che.api.workspace.server.WorkspaceLocks;
+import org.eclipse.che.api.workspace.server.WorkspaceLocksStats;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 
 import javax.annotation.PostConstruct;
@@ -70,12 +73,24 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
@@ -97,7 +112,7 @@ public class CheEnvironmentEngine {
     private static final Logger LOG = getLogger(CheEnvironmentEngine.class);
 
     private final Map<String, EnvironmentHolder> environments;
-    private final StripedLocks                   stripedLocks;
+    private final WorkspaceLocks                 locks;
     private final File                           machineLogsDir;
     private final MachineInstanceProviders       machineInstanceProviders;
     private final long                           defaultMachineMemorySizeBytes;
@@ -110,6 +125,8 @@ public class CheEnvironmentEngine {
     private final RecipeDownloader             recipeDownloader;
     private final Pattern                      recipeApiPattern;
     private final ContainerNameGenerator       containerNameGenerator;
+    private final ExecutorService              machinesStartExecutor;
+    private final int                          maxParallelMachinesStart;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -125,7 +142,8 @@ public class CheEnvironmentEngine {
                                 AgentConfigApplier agentConfigApplier,
                                 @Named("api.endpoint") String apiEndpoint,
                                 RecipeDownloader recipeDownloader,
-                                ContainerNameGenerator containerNameGenerator) {
+                                ContainerNameGenerator containerNameGenerator,
+                                @Named("machine.start.max_parallel") int maxParallelMachinesStart) {
         this.snapshotDao = snapshotDao;
         this.eventService = eventService;
         this.environmentParser = environmentParser;
@@ -137,12 +155,16 @@ public class CheEnvironmentEngine {
         this.machineInstanceProviders = machineInstanceProviders;
         this.machineLogsDir = new File(machineLogsDir);
         this.defaultMachineMemorySizeBytes = Size.parseSize(defaultMachineMemorySizeMB + "MB");
-        // 16 - experimental value for stripes count, it comes from default hash map size
-        this.stripedLocks = new StripedLocks(16);
+        this.locks = new WorkspaceLocks();
         this.recipeApiPattern = Pattern.compile("^https?" +
                                                 apiEndpoint.substring(apiEndpoint.indexOf(":")) +
                                                 "/recipe/.*$");
         this.containerNameGenerator = containerNameGenerator;
+        this.maxParallelMachinesStart = maxParallelMachinesStart;
+        // not bounded, the same as pool of workspace starts, parallelism is limited per environment
+        this.machinesStartExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("MachineStarter-%d")
+                                                                                             .setDaemon(true)
+                                                                                             .build());
 
         eventService.subscribe(new MachineCleaner());
     }
@@ -158,7 +180,7 @@ public class CheEnvironmentEngine {
      */
     public List<Instance> getMachines(String workspaceId) throws EnvironmentNotRunningException {
         EnvironmentHolder environment;
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             environment = environments.get(workspaceId);
             if (environment == null) {
                 throw new EnvironmentNotRunningException("Environment with ID '" + workspaceId + "' is not found");
@@ -182,7 +204,7 @@ public class CheEnvironmentEngine {
      */
     public Instance getMachine(String workspaceId, String machineId) throws NotFoundException {
         EnvironmentHolder environment;
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             environment = environments.get(workspaceId);
         }
         if (environment == null) {
@@ -196,6 +218,13 @@ public class CheEnvironmentEngine {
                                                   machineId, workspaceId)));
     }
 
+    /**
+     * Returns contention statistics of environments locks.
+     */
+    public WorkspaceLocksStats getLocksStats() {
+        return locks.getStats();
+    }
+
     /**
      * Starts provided environment.
      * <p/>
@@ -245,7 +274,7 @@ public class CheEnvironmentEngine {
                               networkId,
                               recover);
 
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
             // possible only if environment was stopped during its start
             if (environmentHolder == null) {
@@ -271,7 +300,7 @@ public class CheEnvironmentEngine {
                                                 ServerException {
         List<Instance> machinesCopy = null;
         EnvironmentHolder environmentHolder;
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
             environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
                 throw new EnvironmentNotRunningException(
@@ -316,7 +345,7 @@ public class CheEnvironmentEngine {
 
         MachineConfig machineConfigCopy = new MachineConfigImpl(machineConfig);
         EnvironmentHolder environmentHolder;
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
                 throw new EnvironmentNotRunningException(format("Environment '%s' is not running", workspaceId));
@@ -411,7 +440,7 @@ public class CheEnvironmentEngine {
                                                                          ServerException,
                                                                          ConflictException {
         Instance targetMachine = null;
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
                 throw new EnvironmentNotRunningException(format("Environment '%s' is not running", workspaceId));
@@ -461,7 +490,7 @@ public class CheEnvironmentEngine {
         EnvironmentHolder environmentHolder;
         SnapshotImpl snapshot = null;
         Instance instance = null;
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
                 throw new EnvironmentNotRunningException(format("Environment '%s' is not running", workspaceId));
@@ -533,17 +562,20 @@ public class CheEnvironmentEngine {
                   environment);
 
         List<String> servicesOrder = startStrategy.order(environment);
+        // dependencies must be evaluated before volumes_from are replaced with containers names
+        Map<String, Set<String>> dependencies = startStrategy.dependencies(environment);
 
         normilizeVolumesFrom(environment);
 
         EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+                                                                    dependencies,
                                                                     environment,
                                                                     messageConsumer,
                                                                     EnvStatus.STARTING,
                                                                     envName,
                                                                     networkId);
 
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
             if (environments.putIfAbsent(workspaceId, environmentHolder) != null) {
                 throw new ConflictException(format("Environment of workspace '%s' already exists", workspaceId));
             }
@@ -643,6 +675,13 @@ public class CheEnvironmentEngine {
 
     /**
      * Starts all machine from machine queue of environment.
+     *
+     * <p>Machine is submitted for start as soon as all the machines it depends on are started,
+     * so machines which do not depend on each other are started concurrently.
+     * Number of machines of the environment which are started at the same time is limited
+     * by {@code machine.start.max_parallel}, environments of different workspaces don't limit each other.
+     * If start of any machine fails then no more machines are submitted for start,
+     * machines which are already starting are awaited and the whole environment is destroyed.
      */
     private void startEnvironmentQueue(String namespace,
                                        String workspaceId,
@@ -650,136 +689,98 @@ public class CheEnvironmentEngine {
                                        String networkId,
                                        boolean recover)
             throws ServerException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        List<String> machinesToStart;
+        Map<String, Set<String>> dependencies;
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null) {
                 throw new ServerException("Environment start is interrupted.");
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            machinesToStart = new LinkedList<>(environmentHolder.startQueue);
+            dependencies = environmentHolder.dependencies;
         }
 
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-                String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
-
-                CheServiceImpl service;
-                try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
-                    }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
-                }
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithCorrectSource = getServiceWithCorrectSource(service, machineSource);
-                    return machineProvider.startService(namespace,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithCorrectSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
+            // Environment start is failed when any machine start is failed, so if any error
+            // occurs during machine creation then environment start fail is reported and
+            // start resources such as queue and descriptor must be cleaned up
+            String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
+            long envStartTime = System.currentTimeMillis();
+
+            CompletionService<MachineStartTiming> completionService =
+                    new ExecutorCompletionService<>(machinesStartExecutor);
+            Map<String, MachineStartTiming> started = new HashMap<>();
+            Throwable startFailure = null;
+            int inProgress = 0;
+            while (true) {
+                if (startFailure == null) {
+                    for (Iterator<String> it = machinesToStart.iterator(); it.hasNext() && inProgress < maxParallelMachinesStart; ) {
+                        String machineName = it.next();
+                        if (started.keySet().containsAll(dependencies.get(machineName))) {
+                            it.remove();
+                            completionService.submit(ThreadLocalPropagateContext.wrap(
+                                    () -> startQueuedMachine(namespace,
+                                                             workspaceId,
+                                                             envName,
+                                                             envLogger,
+                                                             machineName,
+                                                             devMachineName.equals(machineName),
+                                                             networkId,
+                                                             recover,
+                                                             creator,
+                                                             envStartTime)));
+                            inProgress++;
                         }
                     }
                 }
-
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
+                if (inProgress == 0) {
+                    break;
+                }
+                try {
+                    MachineStartTiming timing = completionService.take().get();
+                    started.put(timing.machineName, timing);
+                } catch (ExecutionException e) {
+                    if (startFailure == null) {
+                        startFailure = e.getCause();
+                    } else {
+                        LOG.error(e.getCause().getLocalizedMessage(), e.getCause());
                     }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ServerException("Workspace '" + workspaceId + "' start interrupted");
                 }
+                inProgress--;
+            }
 
-                machineName = queuePeekOrFail(workspaceId);
+            if (startFailure instanceof ServerException) {
+                throw (ServerException)startFailure;
+            } else if (startFailure instanceof RuntimeException) {
+                throw (RuntimeException)startFailure;
+            } else if (startFailure != null) {
+                throw new ServerException(startFailure.getLocalizedMessage(), startFailure);
+            }
+            // should not happen, strategy doesn't allow circular dependencies
+            if (!machinesToStart.isEmpty()) {
+                LOG.error("Machines {} of workspace {} were not started, their dependencies are not satisfied",
+                          machinesToStart, workspaceId);
+                throw new ServerException(
+                        format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
             }
+
+            LOG.info("Environment '{}' of workspace '{}' started in {} ms, critical path: {}",
+                     envName,
+                     workspaceId,
+                     System.currentTimeMillis() - envStartTime,
+                     criticalPath(started, dependencies));
         } catch (RuntimeException | ServerException e) {
             EnvironmentHolder env;
-            try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
                 env = environments.remove(workspaceId);
             }
 
@@ -792,6 +793,153 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts machine from machine queue of environment and removes it from the queue.
+     *
+     * @return timing of the machine start
+     */
+    private MachineStartTiming startQueuedMachine(String namespace,
+                                                  String workspaceId,
+                                                  String envName,
+                                                  MessageConsumer<MachineLogMessage> envLogger,
+                                                  String machineName,
+                                                  boolean isDev,
+                                                  String networkId,
+                                                  boolean recover,
+                                                  String creator,
+                                                  long envStartTime) throws ServerException {
+        long startTime = System.currentTimeMillis();
+
+        CheServiceImpl service;
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null || environmentHolder.startQueue == null) {
+                throw new ServerException("Workspace " + workspaceId +
+                                          " start interrupted. Workspace was stopped before all its machines were started");
+            }
+            service = environmentHolder.environment.getServices().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithCorrectSource = getServiceWithCorrectSource(service, machineSource);
+            return machineProvider.startService(namespace,
+                                                workspaceId,
+                                                envName,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithCorrectSource,
+                                                machineLogger);
+        };
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // polled flag to true if the environment wasn't stopped.
+        // Also removes the proceeded machine from the queue
+        boolean queuePolled = false;
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder != null) {
+                final Queue<String> queue = environmentHolder.startQueue;
+                if (queue != null) {
+                    queue.remove(machineName);
+                    queuePolled = true;
+                }
+            }
+        }
+
+        // If machine is not removed from the queue
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!queuePolled) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+
+        MachineStartTiming timing = new MachineStartTiming(machineName,
+                                                           startTime - envStartTime,
+                                                           System.currentTimeMillis() - envStartTime);
+        LOG.info("Machine '{}' of workspace '{}' started in {} ms, {} ms after environment start was requested",
+                 machineName, workspaceId, timing.getDuration(), timing.endTime);
+        return timing;
+    }
+
+    /**
+     * Finds the chain of dependent machines which defined the time of environment start,
+     * it begins with machine which finished its start last and goes through the dependencies
+     * which finished their start last.
+     */
+    private static String criticalPath(Map<String, MachineStartTiming> started, Map<String, Set<String>> dependencies) {
+        Deque<String> path = new ArrayDeque<>();
+        Optional<MachineStartTiming> current = started.values()
+                                                      .stream()
+                                                      .max(Comparator.comparingLong(timing -> timing.endTime));
+        while (current.isPresent()) {
+            MachineStartTiming timing = current.get();
+            path.addFirst(timing.machineName + " (" + timing.getDuration() + " ms)");
+            current = dependencies.get(timing.machineName)
+                                  .stream()
+                                  .map(started::get)
+                                  .max(Comparator.comparingLong(dependency -> dependency.endTime));
+        }
+        return String.join(" -> ", path);
+    }
+
     private Instance startInstance(boolean recover,
                                    MessageConsumer<MachineLogMessage> environmentLogger,
                                    MachineImpl machine,
@@ -930,7 +1078,7 @@ public class CheEnvironmentEngine {
 
     private void addMachine(MachineImpl machine) throws ServerException {
         Instance instance = new NoOpMachineInstance(machine);
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(machine.getWorkspaceId())) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(machine.getWorkspaceId())) {
             ensurePreDestroyIsNotExecuted();
             EnvironmentHolder environmentHolder = environments.get(machine.getWorkspaceId());
             if (environmentHolder != null && environmentHolder.status != EnvStatus.STOPPING) {
@@ -949,7 +1097,7 @@ public class CheEnvironmentEngine {
 
     private void removeMachine(String workspaceId,
                                String machineId) {
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
             if (environmentHolder != null) {
                 for (Instance machine : environmentHolder.machines) {
@@ -963,7 +1111,7 @@ public class CheEnvironmentEngine {
     }
 
     private void replaceMachine(Instance machine) throws ServerException {
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(machine.getWorkspaceId())) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(machine.getWorkspaceId())) {
             ensurePreDestroyIsNotExecuted();
             EnvironmentHolder environmentHolder = environments.get(machine.getWorkspaceId());
             if (environmentHolder != null) {
@@ -987,33 +1135,6 @@ public class CheEnvironmentEngine {
                 machine.getId(), machine.getConfig().getName(), machine.getWorkspaceId()));
     }
 
-    /**
-     * Gets head config from the queue associated with the given {@code workspaceId}.
-     *
-     * <p>Note that this method won't actually poll the queue.
-     *
-     * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
-     *
-     * @return machine config which is in the queue head, or null
-     * if there are no machine configs left
-     * @throws ServerException
-     *         if queue doesn't exist which means that {@link #stop(String)} executed
-     *         before all the machines started
-     * @throws ServerException
-     *         if pre destroy has been invoked before peek config retrieved
-     */
-    private String queuePeekOrFail(String workspaceId) throws ServerException {
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
-            ensurePreDestroyIsNotExecuted();
-            EnvironmentHolder environmentHolder = environments.get(workspaceId);
-            if (environmentHolder == null || environmentHolder.startQueue == null) {
-                throw new ServerException("Workspace " + workspaceId +
-                                          " start interrupted. Workspace was stopped before all its machines were started");
-            }
-            return environmentHolder.startQueue.peek();
-        }
-    }
-
     /**
      * Destroys provided machines and associated network.
      */
@@ -1071,6 +1192,7 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        machinesStartExecutor.shutdownNow();
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1161,6 +1283,7 @@ public class CheEnvironmentEngine {
 
     private static class EnvironmentHolder {
         final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           dependencies;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1170,12 +1293,14 @@ public class CheEnvironmentEngine {
         EnvStatus      status;
 
         EnvironmentHolder(List<String> startQueue,
+                          Map<String, Set<String>> dependencies,
                           CheServicesEnvironmentImpl environment,
                           MessageConsumer<MachineLogMessage> envLogger,
                           EnvStatus envStatus,
                           String name,
                           String networkId) {
             this.startQueue = new ArrayDeque<>(startQueue);
+            this.dependencies = dependencies;
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -1186,6 +1311,7 @@ public class CheEnvironmentEngine {
 
         public EnvironmentHolder(EnvironmentHolder environmentHolder) {
             this.startQueue = environmentHolder.startQueue;
+            this.dependencies = environmentHolder.dependencies;
             this.machines = environmentHolder.machines;
             this.logger = environmentHolder.logger;
             this.status = environmentHolder.status;
@@ -1212,13 +1338,32 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Start timing of machine, times are relative to the moment when environment start was requested.
+     */
+    private static class MachineStartTiming {
+        final String machineName;
+        final long   startTime;
+        final long   endTime;
+
+        MachineStartTiming(String machineName, long startTime, long endTime) {
+            this.machineName = machineName;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        long getDuration() {
+            return endTime - startTime;
+        }
+    }
+
     // cleanup machine if event about instance failure comes
     private class MachineCleaner implements EventSubscriber<InstanceStateEvent> {
         @Override
         public void onEvent(InstanceStateEvent event) {
             if ((event.getType() == OOM) || (event.getType() == DIE)) {
                 EnvironmentHolder environmentHolder;
-                try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock("workspaceId")) {
+                try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(event.getWorkspaceId())) {
                     environmentHolder = environments.get(event.getWorkspaceId());
                 }
                 if (environmentHolder != null) {
@@ -32,6 +32,7 @@ import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceRuntimeDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspacesShutdownDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackComponentDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackSourceDto;
@@ -63,6 +64,16 @@ public final class DtoConverter {
                                          .withRuntime(asDto(workspace.getRuntime()));
     }
 
+    /** Converts shutdown progress and workspaces stopped by previous shutdown to {@link WorkspacesShutdownDto}. */
+    public static WorkspacesShutdownDto asDto(WorkspaceRuntimes.ShutdownProgress progress, Map<String, String> runningBeforeShutdown) {
+        return newDto(WorkspacesShutdownDto.class).withTotal(progress.getTotal())
+                                                  .withStopped(progress.getStopped())
+                                                  .withFailed(progress.getFailed())
+                                                  .withElapsedTimeMillis(progress.getElapsedTimeMillis())
+                                                  .withCompleted(progress.isCompleted())
+                                                  .withRunningBeforeShutdown(runningBeforeShutdown);
+    }
+
     /** Converts {@link WorkspaceConfig} to {@link WorkspaceConfigDto}. */
     public static WorkspaceConfigDto asDto(WorkspaceConfig workspace) {
         List<CommandDto> commands = workspace.getCommands()
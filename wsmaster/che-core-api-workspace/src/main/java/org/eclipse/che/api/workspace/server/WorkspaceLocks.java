@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import java.io.Closeable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Read/write locks for workspaces which can be used in try-with-resources construction.
+ * Each key, usually ID of workspace, gets its own lock, so operations on different
+ * workspaces never block each other. Lock of the key exists only while it is held or awaited
+ * by any thread, so the number of locks doesn't grow with the number of workspaces ever used.
+ * </p>
+ * Examples of usage:
+ * <pre class="code"><code class="java">
+ *     WorkspaceLocks locks = new WorkspaceLocks();
+ *     try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(myKey)) {
+ *         syncedObject.write();
+ *     }
+ *
+ *     try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(myKey)) {
+ *         syncedObject.read();
+ *     }
+ * </pre>
+ *
+ * @see #getStats()
+ */
+public class WorkspaceLocks {
+    /** Upper bounds of wait time histogram buckets in milliseconds, the last bucket counts longer waits. */
+    public static final long[] WAIT_TIME_BUCKETS_MILLIS = {1, 10, 100, 1000, 10000};
+
+    private final ConcurrentMap<String, KeyLock> locks;
+    private final WaitTimeHistogram              readWaits;
+    private final WaitTimeHistogram              writeWaits;
+
+    public WorkspaceLocks() {
+        locks = new ConcurrentHashMap<>();
+        readWaits = new WaitTimeHistogram();
+        writeWaits = new WaitTimeHistogram();
+    }
+
+    /**
+     * Acquire read lock for provided key.
+     */
+    public ReadLock acquireReadLock(String key) {
+        return new ReadLock(key);
+    }
+
+    /**
+     * Acquire write lock for provided key.
+     */
+    public WriteLock acquireWriteLock(String key) {
+        return new WriteLock(key);
+    }
+
+    /**
+     * Returns statistics of locks contention.
+     */
+    public WorkspaceLocksStats getStats() {
+        return new WorkspaceLocksStats(locks.size(),
+                                       readWaits.acquisitions(),
+                                       readWaits.contended(),
+                                       readWaits.histogram(),
+                                       writeWaits.acquisitions(),
+                                       writeWaits.contended(),
+                                       writeWaits.histogram());
+    }
+
+    private KeyLock retain(String key) {
+        return locks.compute(key, (k, keyLock) -> {
+            if (keyLock == null) {
+                keyLock = new KeyLock();
+            }
+            keyLock.references++;
+            return keyLock;
+        });
+    }
+
+    private void release(String key) {
+        locks.computeIfPresent(key, (k, keyLock) -> --keyLock.references == 0 ? null : keyLock);
+    }
+
+    private static void lock(Lock lock, WaitTimeHistogram waits) {
+        if (lock.tryLock()) {
+            waits.uncontended.increment();
+            return;
+        }
+        final long start = System.nanoTime();
+        lock.lock();
+        waits.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Represents read lock for the provided key.
+     * Can be used as {@link AutoCloseable} to release lock.
+     */
+    public class ReadLock implements Closeable {
+        private final String  key;
+        private final KeyLock keyLock;
+
+        private ReadLock(String key) {
+            this.key = key;
+            keyLock = retain(key);
+            lock(keyLock.lock.readLock(), readWaits);
+        }
+
+        @Override
+        public void close() {
+            keyLock.lock.readLock().unlock();
+            release(key);
+        }
+    }
+
+    /**
+     * Represents write lock for the provided key.
+     * Can be used as {@link AutoCloseable} to release lock.
+     */
+    public class WriteLock implements Closeable {
+        private final String  key;
+        private final KeyLock keyLock;
+
+        private WriteLock(String key) {
+            this.key = key;
+            keyLock = retain(key);
+            lock(keyLock.lock.writeLock(), writeWaits);
+        }
+
+        @Override
+        public void close() {
+            keyLock.lock.writeLock().unlock();
+            release(key);
+        }
+    }
+
+    /** Lock of single key, references are modified only atomically with mapping of the key. */
+    private static class KeyLock {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        int references;
+    }
+
+    private static class WaitTimeHistogram {
+        final LongAdder   uncontended = new LongAdder();
+        final LongAdder[] buckets     = new LongAdder[WAIT_TIME_BUCKETS_MILLIS.length + 1];
+
+        WaitTimeHistogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long waitNanos) {
+            final long waitMillis = NANOSECONDS.toMillis(waitNanos);
+            int i = 0;
+            while (i < WAIT_TIME_BUCKETS_MILLIS.length && waitMillis >= WAIT_TIME_BUCKETS_MILLIS[i]) {
+                i++;
+            }
+            buckets[i].increment();
+        }
+
+        long contended() {
+            long contended = 0;
+            for (LongAdder bucket : buckets) {
+                contended += bucket.sum();
+            }
+            return contended;
+        }
+
+        long acquisitions() {
+            return uncontended.sum() + contended();
+        }
+
+        long[] histogram() {
+            long[] histogram = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                histogram[i] = buckets[i].sum();
+            }
+            return histogram;
+        }
+    }
+}
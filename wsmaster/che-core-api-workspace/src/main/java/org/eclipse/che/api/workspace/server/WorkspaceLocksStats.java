@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import java.util.Arrays;
+
+/**
+ * Snapshot of contention statistics of {@link WorkspaceLocks}.
+ * Histograms contain waits of contended acquisitions only, bucket {@code i} counts waits shorter
+ * than {@code WAIT_TIME_BUCKETS_MILLIS[i]} milliseconds and the last bucket counts all the longer waits.
+ *
+ * @see WorkspaceLocks#WAIT_TIME_BUCKETS_MILLIS
+ */
+public class WorkspaceLocksStats {
+    private final int    locks;
+    private final long   readAcquisitions;
+    private final long   contendedReadAcquisitions;
+    private final long[] readWaitTimeHistogram;
+    private final long   writeAcquisitions;
+    private final long   contendedWriteAcquisitions;
+    private final long[] writeWaitTimeHistogram;
+
+    public WorkspaceLocksStats(int locks,
+                               long readAcquisitions,
+                               long contendedReadAcquisitions,
+                               long[] readWaitTimeHistogram,
+                               long writeAcquisitions,
+                               long contendedWriteAcquisitions,
+                               long[] writeWaitTimeHistogram) {
+        this.locks = locks;
+        this.readAcquisitions = readAcquisitions;
+        this.contendedReadAcquisitions = contendedReadAcquisitions;
+        this.readWaitTimeHistogram = readWaitTimeHistogram;
+        this.writeAcquisitions = writeAcquisitions;
+        this.contendedWriteAcquisitions = contendedWriteAcquisitions;
+        this.writeWaitTimeHistogram = writeWaitTimeHistogram;
+    }
+
+    /** Number of keys which locks are held or awaited at the moment. */
+    public int getLocks() {
+        return locks;
+    }
+
+    /** Number of acquired read locks. */
+    public long getReadAcquisitions() {
+        return readAcquisitions;
+    }
+
+    /** Number of read locks that were not acquired immediately. */
+    public long getContendedReadAcquisitions() {
+        return contendedReadAcquisitions;
+    }
+
+    /** Histogram of wait time of contended read locks. */
+    public long[] getReadWaitTimeHistogram() {
+        return readWaitTimeHistogram.clone();
+    }
+
+    /** Number of acquired write locks. */
+    public long getWriteAcquisitions() {
+        return writeAcquisitions;
+    }
+
+    /** Number of write locks that were not acquired immediately. */
+    public long getContendedWriteAcquisitions() {
+        return contendedWriteAcquisitions;
+    }
+
+    /** Histogram of wait time of contended write locks. */
+    public long[] getWriteWaitTimeHistogram() {
+        return writeWaitTimeHistogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "WorkspaceLocksStats{" +
+               "locks=" + locks +
+               ", readAcquisitions=" + readAcquisitions +
+               ", contendedReadAcquisitions=" + contendedReadAcquisitions +
+               ", readWaitTimeHistogram=" + Arrays.toString(readWaitTimeHistogram) +
+               ", writeAcquisitions=" + writeAcquisitions +
+               ", contendedWriteAcquisitions=" + contendedWriteAcquisitions +
+               ", writeWaitTimeHistogram=" + Arrays.toString(writeWaitTimeHistogram) +
+               '}';
+    }
+}
@@ -583,6 +583,25 @@ public class WorkspaceManager {
         return runtimes.getMachine(workspaceId, machineId);
     }
 
+    /**
+     * Returns progress of stopping workspaces on application server shutdown.
+     *
+     * @see WorkspaceRuntimes#getShutdownProgress()
+     */
+    public WorkspaceRuntimes.ShutdownProgress getShutdownProgress() {
+        return runtimes.getShutdownProgress();
+    }
+
+    /**
+     * Returns IDs of workspaces mapped to names of their active environments,
+     * these workspaces were stopped by the previous application server shutdown.
+     *
+     * @see WorkspaceRuntimes#getWorkspacesRunningBeforeShutdown()
+     */
+    public Map<String, String> getWorkspacesRunningBeforeShutdown() {
+        return runtimes.getWorkspacesRunningBeforeShutdown();
+    }
+
     /** Asynchronously starts given workspace. */
     @VisibleForTesting
     WorkspaceImpl performAsyncStart(WorkspaceImpl workspace,
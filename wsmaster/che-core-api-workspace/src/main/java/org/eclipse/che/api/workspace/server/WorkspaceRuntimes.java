@@ -46,23 +46,35 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.slf4j.Logger;
 
+import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.eclipse.che.api.machine.shared.Constants.ENVIRONMENT_OUTPUT_CHANNEL_TEMPLATE;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -75,7 +87,7 @@ import static org.slf4j.LoggerFactory.getLogger;
  * <p>All the operations performed by this component are synchronous.
  *
  * <p>The implementation is thread-safe and guarded by
- * eagerly initialized readwrite locks produced by {@link StripedLocks}.
+ * per-workspace readwrite locks produced by {@link WorkspaceLocks}.
  * The component doesn't expose any api for client-side locking.
  * All the instances produced by this component are copies of the real data.
  *
@@ -92,32 +104,49 @@ public class WorkspaceRuntimes {
 
     private static final Logger LOG = getLogger(WorkspaceRuntimes.class);
 
+    /**
+     * Shutdown gives up waiting for workspaces stop if none of
+     * the workspaces is stopped during this period of time.
+     */
+    private static final int SHUTDOWN_PROGRESS_TIMEOUT_SECONDS = 30;
+
     @VisibleForTesting
     final         Map<String, WorkspaceState> workspaces;
     @VisibleForTesting
     private final EventService                eventService;
-    private final StripedLocks                stripedLocks;
+    private final WorkspaceLocks              locks;
     private final CheEnvironmentEngine        environmentEngine;
     private final AgentSorter                 agentSorter;
     private final AgentLauncherFactory        launcherFactory;
     private final AgentRegistry               agentRegistry;
+    private final File                        runningWorkspacesFile;
+    private final Map<String, String>         workspacesRunningBeforeShutdown;
+    private final AtomicInteger               shutdownStopped;
+    private final AtomicInteger               shutdownFailed;
 
     private volatile boolean isPreDestroyInvoked;
+    private volatile int     shutdownTotal;
+    private volatile long    shutdownStartTime;
+    private volatile boolean shutdownCompleted;
 
     @Inject
     public WorkspaceRuntimes(EventService eventService,
                              CheEnvironmentEngine environmentEngine,
                              AgentSorter agentSorter,
                              AgentLauncherFactory launcherFactory,
-                             AgentRegistry agentRegistry) {
+                             AgentRegistry agentRegistry,
+                             @Nullable @Named("workspace.runtime.running_workspaces_file") String runningWorkspacesFile) {
         this.eventService = eventService;
         this.environmentEngine = environmentEngine;
         this.agentSorter = agentSorter;
         this.launcherFactory = launcherFactory;
         this.agentRegistry = agentRegistry;
-        this.workspaces = new HashMap<>();
-        // 16 - experimental value for stripes count, it comes from default hash map size
-        this.stripedLocks = new StripedLocks(16);
+        this.runningWorkspacesFile = runningWorkspacesFile == null ? null : new File(runningWorkspacesFile);
+        this.workspaces = new ConcurrentHashMap<>();
+        this.workspacesRunningBeforeShutdown = new ConcurrentHashMap<>();
+        this.shutdownStopped = new AtomicInteger();
+        this.shutdownFailed = new AtomicInteger();
+        this.locks = new WorkspaceLocks();
     }
 
     /**
@@ -141,7 +170,7 @@ public class WorkspaceRuntimes {
     public RuntimeDescriptor get(String workspaceId) throws NotFoundException,
                                                             ServerException {
         WorkspaceState workspaceState;
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             workspaceState = workspaces.get(workspaceId);
         }
         if (workspaceState == null) {
@@ -226,7 +255,7 @@ public class WorkspaceRuntimes {
         // The double check is required as it is still possible to get unlucky timing
         // between locking and starting workspace.
         ensurePreDestroyIsNotExecuted();
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
             ensurePreDestroyIsNotExecuted();
             WorkspaceState workspaceState = workspaces.get(workspaceId);
             if (workspaceState != null) {
@@ -250,7 +279,7 @@ public class WorkspaceRuntimes {
                                                               getEnvironmentLogger(workspaceId));
             launchAgents(environment, machines);
 
-            try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
                 WorkspaceState workspaceState = workspaces.get(workspaceId);
                 workspaceState.status = WorkspaceStatus.RUNNING;
             }
@@ -267,7 +296,7 @@ public class WorkspaceRuntimes {
             }
             String environmentStartError = "Start of environment " + envName +
                                            " failed. Error: " + e.getLocalizedMessage();
-            try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
                 workspaces.remove(workspaceId);
             }
             publishWorkspaceEvent(EventType.ERROR,
@@ -314,7 +343,7 @@ public class WorkspaceRuntimes {
         // The double check is required as it is still possible to get unlucky timing
         // between locking and stopping workspace.
         ensurePreDestroyIsNotExecuted();
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
             ensurePreDestroyIsNotExecuted();
             WorkspaceState workspaceState = workspaces.get(workspaceId);
             if (workspaceState == null) {
@@ -337,7 +366,7 @@ public class WorkspaceRuntimes {
         } catch (ServerException | RuntimeException e) {
             error = e.getLocalizedMessage();
         } finally {
-            try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
                 workspaces.remove(workspaceId);
             }
         }
@@ -375,7 +404,7 @@ public class WorkspaceRuntimes {
      * @return true if workspace is running, otherwise false
      */
     public boolean hasRuntime(String workspaceId) {
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             return workspaces.containsKey(workspaceId);
         }
     }
@@ -400,7 +429,7 @@ public class WorkspaceRuntimes {
                                                                      ConflictException,
                                                                      NotFoundException {
 
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             WorkspaceState workspaceState = workspaces.get(workspaceId);
             if (workspaceState == null || workspaceState.status != WorkspaceStatus.RUNNING) {
                 throw new ConflictException(format("Environment of workspace '%s' is not running", workspaceId));
@@ -411,7 +440,7 @@ public class WorkspaceRuntimes {
         Instance instance = environmentEngine.startMachine(workspaceId, machineConfig, agents);
         launchAgents(instance, agents);
 
-        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
             WorkspaceState workspaceState = workspaces.get(workspaceId);
             if (workspaceState == null || workspaceState.status != WorkspaceStatus.RUNNING) {
                 try {
@@ -445,7 +474,7 @@ public class WorkspaceRuntimes {
     public void stopMachine(String workspaceId, String machineId) throws NotFoundException,
                                                                          ServerException,
                                                                          ConflictException {
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             WorkspaceState workspaceState = workspaces.get(workspaceId);
             if (workspaceState == null || workspaceState.status != WorkspaceStatus.RUNNING) {
                 throw new ConflictException(format("Environment of workspace '%s' is not running", workspaceId));
@@ -477,7 +506,7 @@ public class WorkspaceRuntimes {
                                                              ServerException,
                                                              ConflictException {
 
-        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+        try (WorkspaceLocks.ReadLock lock = locks.acquireReadLock(workspaceId)) {
             WorkspaceState workspaceState = workspaces.get(workspaceId);
             if (workspaceState == null || workspaceState.status != WorkspaceStatus.RUNNING) {
                 throw new ConflictException(format("Environment of workspace '%s' is not running", workspaceId));
@@ -534,47 +563,174 @@ public class WorkspaceRuntimes {
     }
 
     /**
-     * Removes all workspaces from the in-memory storage, while
-     * {@link CheEnvironmentEngine} is responsible for environment destroying.
+     * Returns contention statistics of workspaces locks.
+     */
+    public WorkspaceLocksStats getLocksStats() {
+        return locks.getStats();
+    }
+
+    /**
+     * Returns progress of stopping workspaces performed by {@link #cleanup()}.
+     */
+    public ShutdownProgress getShutdownProgress() {
+        return new ShutdownProgress(shutdownTotal,
+                                    shutdownStopped.get(),
+                                    shutdownFailed.get(),
+                                    shutdownStartTime == 0 ? 0 : System.currentTimeMillis() - shutdownStartTime,
+                                    shutdownCompleted);
+    }
+
+    /**
+     * Returns IDs of workspaces mapped to names of their active environments,
+     * these workspaces were running when application server was stopped last time.
+     * They are reported until the next shutdown of application server.
+     */
+    public Map<String, String> getWorkspacesRunningBeforeShutdown() {
+        return new HashMap<>(workspacesRunningBeforeShutdown);
+    }
+
+    /**
+     * Reads workspaces which were stopped by the previous application server shutdown.
+     * The file is kept, it is overwritten or removed by the next shutdown,
+     * so workspaces are not lost if application server is stopped before they are consumed.
+     */
+    @PostConstruct
+    @VisibleForTesting
+    void readWorkspacesRunningBeforeShutdown() {
+        if (runningWorkspacesFile == null || !runningWorkspacesFile.exists()) {
+            return;
+        }
+        Properties runningWorkspaces = new Properties();
+        try (Reader reader = Files.newBufferedReader(runningWorkspacesFile.toPath(), UTF_8)) {
+            runningWorkspaces.load(reader);
+        } catch (IOException e) {
+            LOG.error(format("Unable to read workspaces running before shutdown from '%s'", runningWorkspacesFile), e);
+            return;
+        }
+        for (String workspaceId : runningWorkspaces.stringPropertyNames()) {
+            workspacesRunningBeforeShutdown.put(workspaceId, runningWorkspaces.getProperty(workspaceId));
+        }
+        if (!workspacesRunningBeforeShutdown.isEmpty()) {
+            LOG.info("Workspaces {} were running when application server was stopped",
+                     workspacesRunningBeforeShutdown.keySet());
+        }
+    }
+
+    /**
+     * Stops all the running and starting workspaces and removes them from the in-memory storage,
+     * while {@link CheEnvironmentEngine} is responsible for environment destroying.
+     *
+     * <p>No workspaces can be started after this method is invoked.
+     * Workspaces are stopped concurrently and each of them is locked separately,
+     * so the workspaces which are not being stopped at the moment are still available for reading.
+     * Workspaces which are stopped are persisted, so they can be reported by the next start of
+     * application server. This method waits while workspaces are being stopped and gives up
+     * only if none of them is stopped during {@value #SHUTDOWN_PROGRESS_TIMEOUT_SECONDS} seconds.
+     *
+     * @see #getShutdownProgress()
      */
     @PreDestroy
     @VisibleForTesting
     void cleanup() {
         isPreDestroyInvoked = true;
+        shutdownStartTime = System.currentTimeMillis();
 
-        final ExecutorService stopEnvExecutor =
-                Executors.newFixedThreadPool(2 * Runtime.getRuntime().availableProcessors(),
-                                             new ThreadFactoryBuilder().setNameFormat("StopEnvironment-%d")
-                                                                       .setDaemon(false)
-                                                                       .build());
-        try (StripedLocks.WriteAllLock lock = stripedLocks.acquireWriteAllLock()) {
-            for (Map.Entry<String, WorkspaceState> workspace : workspaces.entrySet()) {
-                if (workspace.getValue().status.equals(WorkspaceStatus.RUNNING) ||
-                    workspace.getValue().status.equals(WorkspaceStatus.STARTING)) {
-                    stopEnvExecutor.execute(() -> {
-                        try {
-                            environmentEngine.stop(workspace.getKey());
-                        } catch (ServerException | NotFoundException e) {
-                            LOG.error(e.getLocalizedMessage(), e);
-                        }
-                    });
+        Map<String, String> workspacesToStop = new HashMap<>();
+        for (String workspaceId : new ArrayList<>(workspaces.keySet())) {
+            try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
+                WorkspaceState workspaceState = workspaces.get(workspaceId);
+                if (workspaceState != null) {
+                    if (workspaceState.status == WorkspaceStatus.RUNNING) {
+                        workspaceState.status = WorkspaceStatus.STOPPING;
+                        workspacesToStop.put(workspaceId, workspaceState.activeEnv);
+                    } else if (workspaceState.status == WorkspaceStatus.STARTING) {
+                        workspacesToStop.put(workspaceId, workspaceState.activeEnv);
+                    }
                 }
             }
+        }
+        shutdownTotal = workspacesToStop.size();
+        persistRunningWorkspaces(workspacesToStop);
+
+        if (!workspacesToStop.isEmpty()) {
+            LOG.info("Stopping {} workspaces", workspacesToStop.size());
+            final ExecutorService stopEnvExecutor =
+                    Executors.newFixedThreadPool(Math.min(workspacesToStop.size(),
+                                                          2 * Runtime.getRuntime().availableProcessors()),
+                                                 new ThreadFactoryBuilder().setNameFormat("StopEnvironment-%d")
+                                                                           .setDaemon(false)
+                                                                           .build());
+            for (String workspaceId : workspacesToStop.keySet()) {
+                stopEnvExecutor.execute(() -> stopOnShutdown(workspaceId));
+            }
+            stopEnvExecutor.shutdown();
 
-            workspaces.clear();
+            try {
+                int processed = 0;
+                while (!stopEnvExecutor.awaitTermination(SHUTDOWN_PROGRESS_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    ShutdownProgress progress = getShutdownProgress();
+                    LOG.info("Stopped {} of {} workspaces, {} failed to stop",
+                             progress.getStopped(), progress.getTotal(), progress.getFailed());
+                    if (progress.getStopped() + progress.getFailed() == processed) {
+                        LOG.warn("None of the workspaces was stopped during {} seconds, {} workspaces are not stopped",
+                                 SHUTDOWN_PROGRESS_TIMEOUT_SECONDS, progress.getInProgress());
+                        stopEnvExecutor.shutdownNow();
+                        break;
+                    }
+                    processed = progress.getStopped() + progress.getFailed();
+                }
+            } catch (InterruptedException e) {
+                stopEnvExecutor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
 
-            stopEnvExecutor.shutdown();
+        workspaces.clear();
+        shutdownCompleted = true;
+        if (shutdownTotal != 0) {
+            LOG.info("Workspaces stopping finished: {}", getShutdownProgress());
         }
+    }
+
+    private void stopOnShutdown(String workspaceId) {
         try {
-            if (!stopEnvExecutor.awaitTermination(50, TimeUnit.SECONDS)) {
-                stopEnvExecutor.shutdownNow();
-                if (!stopEnvExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
-                    LOG.warn("Unable terminate destroy machines pool");
-                }
+            environmentEngine.stop(workspaceId);
+            shutdownStopped.incrementAndGet();
+        } catch (EnvironmentNotRunningException e) {
+            // environment has been already stopped, e.g. because of failed start
+            shutdownStopped.incrementAndGet();
+        } catch (ServerException | NotFoundException | RuntimeException e) {
+            shutdownFailed.incrementAndGet();
+            LOG.error(e.getLocalizedMessage(), e);
+        } finally {
+            try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock(workspaceId)) {
+                workspaces.remove(workspaceId);
+            }
+        }
+    }
+
+    private void persistRunningWorkspaces(Map<String, String> runningWorkspaces) {
+        if (runningWorkspacesFile == null) {
+            return;
+        }
+        if (runningWorkspaces.isEmpty()) {
+            // workspaces of the previous shutdown are not running any more
+            if (runningWorkspacesFile.exists() && !runningWorkspacesFile.delete()) {
+                LOG.warn("Unable to delete '{}'", runningWorkspacesFile);
             }
-        } catch (InterruptedException e) {
-            stopEnvExecutor.shutdownNow();
-            Thread.currentThread().interrupt();
+            return;
+        }
+        Properties properties = new Properties();
+        properties.putAll(runningWorkspaces);
+        File parent = runningWorkspacesFile.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            LOG.error("Unable to create directory '{}'", parent);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(runningWorkspacesFile.toPath(), UTF_8)) {
+            properties.store(writer, "Workspaces running when application server was stopped");
+        } catch (IOException e) {
+            LOG.error(format("Unable to persist workspaces running before shutdown to '%s'", runningWorkspacesFile), e);
         }
     }
 
@@ -650,6 +806,67 @@ public class WorkspaceRuntimes {
         }
     }
 
+    /**
+     * Progress of stopping workspaces on application server shutdown.
+     * Instances are snapshots, progress might be obtained many times while shutdown is in progress.
+     */
+    public static class ShutdownProgress {
+        private final int     total;
+        private final int     stopped;
+        private final int     failed;
+        private final long    elapsedTimeMillis;
+        private final boolean completed;
+
+        public ShutdownProgress(int total, int stopped, int failed, long elapsedTimeMillis, boolean completed) {
+            this.total = total;
+            this.stopped = stopped;
+            this.failed = failed;
+            this.elapsedTimeMillis = elapsedTimeMillis;
+            this.completed = completed;
+        }
+
+        /** Number of workspaces that were running or starting when shutdown began. */
+        public int getTotal() {
+            return total;
+        }
+
+        /** Number of workspaces that are already stopped. */
+        public int getStopped() {
+            return stopped;
+        }
+
+        /** Number of workspaces that failed to stop. */
+        public int getFailed() {
+            return failed;
+        }
+
+        /** Number of workspaces that are not processed yet. */
+        public int getInProgress() {
+            return total - stopped - failed;
+        }
+
+        /** Time spent on shutdown, if shutdown is still in progress then time spent so far. */
+        public long getElapsedTimeMillis() {
+            return elapsedTimeMillis;
+        }
+
+        /** Tells whether shutdown is finished. */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        @Override
+        public String toString() {
+            return "ShutdownProgress{" +
+                   "total=" + total +
+                   ", stopped=" + stopped +
+                   ", failed=" + failed +
+                   ", elapsedTimeMillis=" + elapsedTimeMillis +
+                   ", completed=" + completed +
+                   '}';
+        }
+    }
+
     /**
      * Wrapper for the {@link WorkspaceRuntime} instance.
      * Knows the state of the started workspace runtime,
@@ -37,6 +37,7 @@ import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspacesShutdownDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
 import javax.inject.Inject;
@@ -362,6 +363,18 @@ public class WorkspaceService extends Service {
         workspaceManager.createSnapshot(workspaceId);
     }
 
+    @GET
+    @Path("/runtimes/shutdown")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get progress of stopping workspaces on application server shutdown " +
+                          "and workspaces stopped by the previous shutdown",
+                  response = WorkspacesShutdownDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains shutdown progress"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public WorkspacesShutdownDto getShutdown() {
+        return asDto(workspaceManager.getShutdownProgress(), workspaceManager.getWorkspacesRunningBeforeShutdown());
+    }
+
     @GET
     @Path("/{id}/snapshot")
     @Produces(APPLICATION_JSON)
@@ -12,6 +12,7 @@ package org.eclipse.che.api.environment.server;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineLogMessage;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
@@ -57,6 +58,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -78,8 +85,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * @author Alexander Garagatyi
@@ -88,6 +97,7 @@ import static org.testng.Assert.assertTrue;
 public class CheEnvironmentEngineTest {
     private static final int    DEFAULT_MACHINE_MEM_LIMIT_MB = 256;
     private static final String API_ENDPOINT                 = "http://eclipse.che:8080/api";
+    private static final int    MAX_PARALLEL_MACHINES_START  = 4;
 
     @Mock
     MessageConsumer<MachineLogMessage> messageConsumer;
@@ -125,7 +135,8 @@ public class CheEnvironmentEngineTest {
                                               agentConfigApplier,
                                               API_ENDPOINT,
                                               recipeDownloader,
-                                              containerNameGenerator));
+                                              containerNameGenerator,
+                                              MAX_PARALLEL_MACHINES_START));
 
         when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
         when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -196,7 +207,7 @@ public class CheEnvironmentEngineTest {
         EnvironmentImpl env = createEnv();
         String envName = "env-1";
         String workspaceId = "wsId";
-        List<Instance> expectedMachines = new ArrayList<>();
+        List<Instance> expectedMachines = Collections.synchronizedList(new ArrayList<>());
         when(machineProvider.startService(anyString(),
                                           eq(workspaceId),
                                           eq(envName),
@@ -228,7 +239,236 @@ public class CheEnvironmentEngineTest {
                                                messageConsumer);
 
         // then
-        assertEquals(machines, expectedMachines);
+        assertEqualsNoOrder(machines.toArray(), expectedMachines.toArray());
+    }
+
+    @Test
+    public void shouldStartMachinesWhichDoNotDependOnEachOtherConcurrently() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        CountDownLatch allMachinesStarting = new CountDownLatch(2);
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    allMachinesStarting.countDown();
+                    if (!allMachinesStarting.await(10, TimeUnit.SECONDS)) {
+                        throw new MachineException("Machines are not started concurrently");
+                    }
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+
+        // when
+        List<Instance> machines = engine.start(workspaceId,
+                                               envName,
+                                               env,
+                                               false,
+                                               messageConsumer);
+
+        // then
+        assertEquals(machines.size(), 2);
+    }
+
+    @Test
+    public void shouldNotStartMoreMachinesOfEnvironmentConcurrentlyThanConfigured() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        StringBuilder additionalServices = new StringBuilder();
+        for (int i = 0; i < MAX_PARALLEL_MACHINES_START; i++) {
+            additionalServices.append("\n  machine-").append(i).append(":\n    image: codenvy/ubuntu_jdk8");
+        }
+        env.getRecipe().setContent(env.getRecipe().getContent() + additionalServices);
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        AtomicInteger starting = new AtomicInteger();
+        AtomicInteger maxStarting = new AtomicInteger();
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    maxStarting.accumulateAndGet(starting.incrementAndGet(), Math::max);
+                    Thread.sleep(50);
+                    starting.decrementAndGet();
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+
+        // when
+        List<Instance> machines = engine.start(workspaceId,
+                                               envName,
+                                               env,
+                                               false,
+                                               messageConsumer);
+
+        // then
+        assertEquals(machines.size(), MAX_PARALLEL_MACHINES_START + 2);
+        assertTrue(maxStarting.get() <= MAX_PARALLEL_MACHINES_START);
+    }
+
+    @Test
+    public void shouldNotLimitConcurrentStartsOfMachinesOfDifferentEnvironments() throws Exception {
+        // given
+        int workspaces = MAX_PARALLEL_MACHINES_START + 1;
+        String envName = "env-1";
+        CountDownLatch allMachinesStarting = new CountDownLatch(workspaces * 2);
+        when(machineProvider.startService(anyString(),
+                                          anyString(),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    allMachinesStarting.countDown();
+                    if (!allMachinesStarting.await(10, TimeUnit.SECONDS)) {
+                        throw new MachineException("Machines of different environments are not started concurrently");
+                    }
+                    return spy(new NoOpMachineInstance(createMachine((String)arguments[1],
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     (String)arguments[3],
+                                                                     (boolean)arguments[4])));
+                });
+        ExecutorService workspaceStarter = Executors.newFixedThreadPool(workspaces);
+
+        try {
+            // when
+            List<Future<List<Instance>>> starts = new ArrayList<>();
+            for (int i = 0; i < workspaces; i++) {
+                String workspaceId = "wsId" + i;
+                EnvironmentImpl env = createEnv();
+                starts.add(workspaceStarter.submit(() -> {
+                    EnvironmentContext.getCurrent().setSubject(new SubjectImpl("name", "id", "token", false));
+                    try {
+                        return engine.start(workspaceId, envName, env, false, messageConsumer);
+                    } finally {
+                        EnvironmentContext.reset();
+                    }
+                }));
+            }
+
+            // then
+            for (Future<List<Instance>> start : starts) {
+                assertEquals(start.get(20, TimeUnit.SECONDS).size(), 2);
+            }
+        } finally {
+            workspaceStarter.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldStartMachineOnlyAfterMachinesItDependsOnAreStarted() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String machineName = "dependentMachine";
+        String additionalServiceComposeFilePart = "\n  " + machineName + ":\n    image: codenvy/ubuntu_jdk8" +
+                                                  "\n    depends_on:\n      - dev-machine\n      - machine2";
+        env.getRecipe().setContent(env.getRecipe().getContent() + additionalServiceComposeFilePart);
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        List<String> startedMachines = Collections.synchronizedList(new ArrayList<>());
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    String name = (String)arguments[3];
+                    if (machineName.equals(name) && startedMachines.size() != 2) {
+                        throw new MachineException("Machine is started before its dependencies");
+                    }
+                    startedMachines.add(name);
+                    return spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                     envName,
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     name,
+                                                                     (boolean)arguments[4])));
+                });
+
+        // when
+        engine.start(workspaceId,
+                     envName,
+                     env,
+                     false,
+                     messageConsumer);
+
+        // then
+        assertEquals(startedMachines.size(), 3);
+        assertEquals(startedMachines.get(2), machineName);
+    }
+
+    @Test
+    public void shouldDestroyStartedMachinesIfStartOfAnyMachineFails() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        String envName = "env-1";
+        String workspaceId = "wsId";
+        List<Instance> startedMachines = Collections.synchronizedList(new ArrayList<>());
+        when(machineProvider.startService(anyString(),
+                                          eq(workspaceId),
+                                          eq(envName),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    if ("machine2".equals(arguments[3])) {
+                        throw new MachineException("test exception");
+                    }
+                    NoOpMachineInstance instance = spy(new NoOpMachineInstance(createMachine(workspaceId,
+                                                                                             envName,
+                                                                                             (CheServiceImpl)arguments[6],
+                                                                                             (String)arguments[3],
+                                                                                             (boolean)arguments[4])));
+                    startedMachines.add(instance);
+                    return instance;
+                });
+
+        // when
+        try {
+            engine.start(workspaceId,
+                         envName,
+                         env,
+                         false,
+                         messageConsumer);
+            fail("Environment start should fail");
+        } catch (ServerException e) {
+            assertEquals(e.getLocalizedMessage(), "test exception");
+        }
+
+        // then
+        assertEquals(startedMachines.size(), 1);
+        verify(startedMachines.get(0)).destroy();
+        verify(machineProvider).destroyNetwork(anyString());
     }
 
     @Test
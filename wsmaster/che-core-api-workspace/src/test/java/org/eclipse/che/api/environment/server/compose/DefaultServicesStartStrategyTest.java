@@ -15,10 +15,15 @@ import org.eclipse.che.api.environment.server.model.CheServiceImpl;
 import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 import org.testng.annotations.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
@@ -48,6 +53,27 @@ public class DefaultServicesStartStrategyTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void shouldReturnDependenciesOfServices() throws Exception {
+        // given
+        CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+        composeEnvironment.getServices().put("first", new CheServiceImpl());
+        composeEnvironment.getServices().put("second", new CheServiceImpl());
+        composeEnvironment.getServices().put("third", new CheServiceImpl().withDependsOn(singletonList("first"))
+                                                                          .withLinks(singletonList("second:alias")));
+        composeEnvironment.getServices().put("forth", new CheServiceImpl().withVolumesFrom(singletonList("third:ro")));
+
+        // when
+        Map<String, Set<String>> actual = strategy.dependencies(composeEnvironment);
+
+        // then
+        assertEquals(actual.size(), 4);
+        assertEquals(actual.get("first"), emptySet());
+        assertEquals(actual.get("second"), emptySet());
+        assertEquals(actual.get("third"), new HashSet<>(asList("first", "second")));
+        assertEquals(actual.get("forth"), singleton("third"));
+    }
+
     @Test
     public void testOrderingOfServicesWithoutDependencies() throws Exception {
         // given
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import com.google.common.util.concurrent.Striped;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Throughput of workspaces locks under a mix of workspace starts, stops and reads of workspace runtimes.
+ * Starts and stops hold write locks longer than reads hold read locks. Benchmark with {@code striped}
+ * locks reproduces 16 Guava stripes that were used before {@link WorkspaceLocks}, write lock of a key
+ * took read lock of its stripe there, so only the lock of all keys was exclusive. Benchmark with
+ * {@code stripedExclusive} locks shows the same stripes with exclusive write locks.
+ * <p/>
+ * Run with:
+ * <pre>
+ *     mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.eclipse.che.api.workspace.server.WorkspaceLocksBenchmark
+ * </pre>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WorkspaceLocksBenchmark {
+    private static final int WRITE_WORK_TOKENS = 2000;
+    private static final int READ_WORK_TOKENS  = 50;
+
+    @Param({"striped", "stripedExclusive", "perWorkspace"})
+    public String locks;
+
+    @Param({"200"})
+    public int workspaces;
+
+    private Locks    impl;
+    private String[] workspaceIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (locks) {
+            case "striped":
+                impl = new StripedLocks(false);
+                break;
+            case "stripedExclusive":
+                impl = new StripedLocks(true);
+                break;
+            default:
+                impl = new PerWorkspaceLocks();
+        }
+        workspaceIds = new String[workspaces];
+        for (int i = 0; i < workspaces; i++) {
+            workspaceIds[i] = "workspace" + i;
+        }
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(1)
+    public void start() throws Exception {
+        try (AutoCloseable lock = impl.write(randomWorkspace())) {
+            Blackhole.consumeCPU(WRITE_WORK_TOKENS);
+        }
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(1)
+    public void stop() throws Exception {
+        try (AutoCloseable lock = impl.write(randomWorkspace())) {
+            Blackhole.consumeCPU(WRITE_WORK_TOKENS);
+        }
+    }
+
+    @Benchmark
+    @Group("mix")
+    @GroupThreads(6)
+    public void get() throws Exception {
+        try (AutoCloseable lock = impl.read(randomWorkspace())) {
+            Blackhole.consumeCPU(READ_WORK_TOKENS);
+        }
+    }
+
+    private String randomWorkspace() {
+        return workspaceIds[ThreadLocalRandom.current().nextInt(workspaceIds.length)];
+    }
+
+    private interface Locks {
+        AutoCloseable read(String key);
+
+        AutoCloseable write(String key);
+    }
+
+    private static class StripedLocks implements Locks {
+        private final Striped<ReadWriteLock> striped = Striped.readWriteLock(16);
+        private final boolean                exclusiveWrite;
+
+        StripedLocks(boolean exclusiveWrite) {
+            this.exclusiveWrite = exclusiveWrite;
+        }
+
+        @Override
+        public AutoCloseable read(String key) {
+            ReadWriteLock lock = striped.get(key);
+            lock.readLock().lock();
+            return () -> lock.readLock().unlock();
+        }
+
+        @Override
+        public AutoCloseable write(String key) {
+            Lock lock = exclusiveWrite ? striped.get(key).writeLock() : striped.get(key).readLock();
+            lock.lock();
+            return lock::unlock;
+        }
+    }
+
+    private static class PerWorkspaceLocks implements Locks {
+        private final WorkspaceLocks workspaceLocks = new WorkspaceLocks();
+
+        @Override
+        public AutoCloseable read(String key) {
+            return workspaceLocks.acquireReadLock(key);
+        }
+
+        @Override
+        public AutoCloseable write(String key) {
+            return workspaceLocks.acquireWriteLock(key);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(WorkspaceLocksBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests for {@link WorkspaceLocks}.
+ */
+public class WorkspaceLocksTest {
+
+    private WorkspaceLocks  locks;
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void setUp() {
+        locks = new WorkspaceLocks();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldRemoveLockOfKeyWhenItIsReleased() throws Exception {
+        try (WorkspaceLocks.ReadLock lock1 = locks.acquireReadLock("ws1")) {
+            try (WorkspaceLocks.ReadLock lock2 = locks.acquireReadLock("ws1");
+                 WorkspaceLocks.WriteLock lock3 = locks.acquireWriteLock("ws2")) {
+                assertEquals(locks.getStats().getLocks(), 2);
+            }
+            assertEquals(locks.getStats().getLocks(), 1);
+        }
+
+        WorkspaceLocksStats stats = locks.getStats();
+        assertEquals(stats.getLocks(), 0);
+        assertEquals(stats.getReadAcquisitions(), 2);
+        assertEquals(stats.getWriteAcquisitions(), 1);
+    }
+
+    @Test
+    public void writeLockShouldBlockOnlyLocksOfTheSameKey() throws Exception {
+        Future<?> otherKeyRead;
+        Future<?> sameKeyRead;
+        try (WorkspaceLocks.WriteLock lock = locks.acquireWriteLock("ws1")) {
+            otherKeyRead = executor.submit(() -> locks.acquireReadLock("ws2").close());
+            otherKeyRead.get(5, TimeUnit.SECONDS);
+
+            sameKeyRead = executor.submit(() -> locks.acquireReadLock("ws1").close());
+            try {
+                sameKeyRead.get(200, TimeUnit.MILLISECONDS);
+                fail("Read lock must not be acquired while write lock of the same key is held");
+            } catch (TimeoutException ignored) {
+            }
+        }
+        sameKeyRead.get(5, TimeUnit.SECONDS);
+
+        WorkspaceLocksStats stats = locks.getStats();
+        assertEquals(stats.getContendedReadAcquisitions(), 1);
+        assertEquals(sum(stats.getReadWaitTimeHistogram()), 1);
+        assertEquals(stats.getContendedWriteAcquisitions(), 0);
+        assertEquals(stats.getLocks(), 0);
+    }
+
+    private static long sum(long[] histogram) {
+        long sum = 0;
+        for (long count : histogram) {
+            sum += count;
+        }
+        return sum;
+    }
+}
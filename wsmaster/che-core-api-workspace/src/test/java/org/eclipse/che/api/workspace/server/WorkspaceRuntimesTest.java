@@ -44,7 +44,9 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.io.File;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -59,6 +61,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -68,6 +71,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Yevhenii Voevodin
@@ -101,7 +105,8 @@ public class WorkspaceRuntimesTest {
                                              environmentEngine,
                                              agentSorter,
                                              launcherFactory,
-                                             agentRegistry));
+                                             agentRegistry,
+                                             null));
 
         List<Instance> machines = asList(createMachine(true), createMachine(false));
         when(environmentEngine.start(anyString(),
@@ -246,6 +251,85 @@ public class WorkspaceRuntimesTest {
         assertFalse(runtimes.hasRuntime(workspace.getId()));
     }
 
+    @Test
+    public void shouldPersistStoppedOnCleanupWorkspacesAndReportThemOnNextStart() throws Exception {
+        // given
+        File runningWorkspacesFile = new File(Files.createTempDirectory("runtimes").toFile(), "running_workspaces");
+        runtimes = new WorkspaceRuntimes(eventService,
+                                         environmentEngine,
+                                         agentSorter,
+                                         launcherFactory,
+                                         agentRegistry,
+                                         runningWorkspacesFile.getAbsolutePath());
+        WorkspaceImpl workspace = createWorkspace();
+        runtimes.start(workspace,
+                       workspace.getConfig().getDefaultEnv(),
+                       false);
+
+        // when
+        runtimes.cleanup();
+        WorkspaceRuntimes nextRuntimes = new WorkspaceRuntimes(eventService,
+                                                               environmentEngine,
+                                                               agentSorter,
+                                                               launcherFactory,
+                                                               agentRegistry,
+                                                               runningWorkspacesFile.getAbsolutePath());
+        nextRuntimes.readWorkspacesRunningBeforeShutdown();
+
+        // then
+        verify(environmentEngine).stop(workspace.getId());
+        WorkspaceRuntimes.ShutdownProgress progress = runtimes.getShutdownProgress();
+        assertEquals(progress.getTotal(), 1);
+        assertEquals(progress.getStopped(), 1);
+        assertEquals(progress.getFailed(), 0);
+        assertTrue(progress.isCompleted());
+        assertEquals(nextRuntimes.getWorkspacesRunningBeforeShutdown(),
+                     singletonMap(workspace.getId(), workspace.getConfig().getDefaultEnv()));
+        assertTrue(runningWorkspacesFile.exists());
+    }
+
+    @Test
+    public void shouldRemovePersistedWorkspacesWhenNoWorkspacesAreStoppedOnCleanup() throws Exception {
+        // given
+        File runningWorkspacesFile = new File(Files.createTempDirectory("runtimes").toFile(), "running_workspaces");
+        Files.write(runningWorkspacesFile.toPath(), "workspace123=default".getBytes());
+        runtimes = new WorkspaceRuntimes(eventService,
+                                         environmentEngine,
+                                         agentSorter,
+                                         launcherFactory,
+                                         agentRegistry,
+                                         runningWorkspacesFile.getAbsolutePath());
+        runtimes.readWorkspacesRunningBeforeShutdown();
+
+        // when
+        runtimes.cleanup();
+
+        // then
+        assertEquals(runtimes.getWorkspacesRunningBeforeShutdown(), singletonMap("workspace123", "default"));
+        assertFalse(runningWorkspacesFile.exists());
+    }
+
+    @Test
+    public void shouldReportWorkspacesWhichFailedToStopOnCleanup() throws Exception {
+        // given
+        WorkspaceImpl workspace = createWorkspace();
+        runtimes.start(workspace,
+                       workspace.getConfig().getDefaultEnv(),
+                       false);
+        doThrow(new ServerException("test exception")).when(environmentEngine).stop(workspace.getId());
+
+        // when
+        runtimes.cleanup();
+
+        // then
+        WorkspaceRuntimes.ShutdownProgress progress = runtimes.getShutdownProgress();
+        assertEquals(progress.getTotal(), 1);
+        assertEquals(progress.getStopped(), 0);
+        assertEquals(progress.getFailed(), 1);
+        assertTrue(progress.isCompleted());
+        assertFalse(runtimes.hasRuntime(workspace.getId()));
+    }
+
     @Test
     public void shouldStopRunningWorkspace() throws Exception {
         // given
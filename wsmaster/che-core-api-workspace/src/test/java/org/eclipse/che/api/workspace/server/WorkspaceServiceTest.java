@@ -48,6 +48,7 @@ import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspacesShutdownDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -109,6 +110,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
@@ -265,6 +267,26 @@ public class WorkspaceServiceTest {
         assertEquals(new WorkspaceImpl(unwrapDto(response, WorkspaceDto.class), TEST_ACCOUNT), workspace);
     }
 
+    @Test
+    public void shouldGetShutdownOfWorkspaces() throws Exception {
+        when(wsManager.getShutdownProgress()).thenReturn(new WorkspaceRuntimes.ShutdownProgress(3, 1, 1, 2000, false));
+        when(wsManager.getWorkspacesRunningBeforeShutdown()).thenReturn(singletonMap("workspace123", "default"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/runtimes/shutdown");
+
+        assertEquals(response.getStatusCode(), 200);
+        final WorkspacesShutdownDto shutdown = unwrapDto(response, WorkspacesShutdownDto.class);
+        assertEquals(shutdown.getTotal(), 3);
+        assertEquals(shutdown.getStopped(), 1);
+        assertEquals(shutdown.getFailed(), 1);
+        assertEquals(shutdown.getElapsedTimeMillis(), 2000);
+        assertFalse(shutdown.isCompleted());
+        assertEquals(shutdown.getRunningBeforeShutdown(), singletonMap("workspace123", "default"));
+    }
+
     @Test
     public void shouldGetWorkspaces() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());